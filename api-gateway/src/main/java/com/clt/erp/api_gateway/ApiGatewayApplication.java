@@ -4,12 +4,17 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
+import com.clt.erp.common.lifecycle.StartupReport;
+
 @SpringBootApplication
 @EnableDiscoveryClient
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ApiGatewayApplication.class, args);
+		SpringApplication application = new SpringApplication(ApiGatewayApplication.class);
+		// startup steps for the startup report (config.StartupConfig)
+		application.setApplicationStartup(StartupReport.recording());
+		application.run(args);
 	}
 
 }
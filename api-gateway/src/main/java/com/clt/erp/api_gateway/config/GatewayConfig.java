@@ -1,58 +1,111 @@
 package com.clt.erp.api_gateway.config;
 
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
+import java.util.Set;
+
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 
+/**
+ * Route definitions for API Gateway.
+ * Each downstream service is wrapped in its own circuit breaker, time limiter and bulkhead
+ * (named after the service), so a slow or failing service only affects its own routes.
+ * Limits are configured per service under resilience4j.* in application.properties.
+ */
 @Configuration
 public class GatewayConfig {
 
+    public static final String AUTH_SERVICE = "auth-service";
+    public static final String HRM_SERVICE = "hrm-service";
+    public static final String OTHER_SERVICE = "other-service";
+
+    /**
+     * Downstream statuses counted as failures by the circuit breakers
+     * (in addition to connection errors, timeouts and rejected calls).
+     */
+    private static final Set<String> FAILURE_STATUS_CODES = Set.of(
+            HttpStatus.BAD_GATEWAY.name(),
+            HttpStatus.SERVICE_UNAVAILABLE.name(),
+            HttpStatus.GATEWAY_TIMEOUT.name()
+    );
+
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
                 // OAuth2 endpoints to auth-service (using service discovery)
                 .route("oauth2-authorize", r -> r
                         .path("/oauth2/authorize")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-token", r -> r
                         .path("/oauth2/token")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-login", r -> r
                         .path("/login")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-logout", r -> r
                         .path("/logout")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-jwks", r -> r
                         .path("/.well-known/jwks.json")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-oidc", r -> r
                         .path("/.well-known/openid-configuration")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
                 .route("oauth2-userinfo", r -> r
                         .path("/userinfo")
+                        .filters(f -> isolate(f, AUTH_SERVICE))
                         .uri("lb://auth-service"))
-                
+
+                // Employee change stream (Server-Sent Events, open for up to 30 minutes): no circuit breaker,
+                // whose time limiter would cut it off and whose bulkhead would hold a slot per open stream,
+                // and no response timeout; hrm-service sends heartbeats while nothing changes
+                .route("hrm-employees-stream", r -> r
+                        .path("/api/hrm/employees/stream")
+                        .metadata(RESPONSE_TIMEOUT_ATTR, -1)
+                        .uri("lb://hrm-service"))
+
                 // HRM Service - forwards Authorization header
                 // Note: HRM service has context-path=/api/hrm, so we forward the full path
                 .route("hrm-service", r -> r
                         .path("/api/hrm/**")
                         // Token is automatically forwarded in Authorization header
+                        .filters(f -> isolate(f, HRM_SERVICE))
                         .uri("lb://hrm-service")) // Using service discovery
-                
+
                 // Other services follow the same pattern
                 .route("other-service", r -> r
                         .path("/api/other/**")
-                        .filters(f -> f.rewritePath("/api/other/(?<segment>.*)", "/${segment}"))
+                        .filters(f -> isolate(f.rewritePath("/api/other/(?<segment>.*)", "/${segment}"), OTHER_SERVICE))
                         .uri("lb://other-service"))
-                
+
                 .build();
     }
+
+    /**
+     * Wraps a route in the circuit breaker / time limiter / bulkhead of the given service.
+     * When the call is rejected or fails, the request is forwarded to FallbackController.
+     */
+    private GatewayFilterSpec isolate(GatewayFilterSpec filters, String serviceId) {
+        return filters.circuitBreaker(cb -> cb
+                .setName(serviceId)
+                .setFallbackUri("forward:/fallback/" + serviceId)
+                .setStatusCodes(FAILURE_STATUS_CODES));
+    }
 }
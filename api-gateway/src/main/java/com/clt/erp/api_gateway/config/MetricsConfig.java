@@ -0,0 +1,50 @@
+package com.clt.erp.api_gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.metrics.DiscoveryMetrics;
+import com.clt.erp.common.metrics.TenantRequestMetrics;
+import com.clt.erp.common.metrics.TenantRequestMetricsWebFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service-specific metrics from common-libs (com.clt.erp.common.metrics).
+ * Request latency (http.server.requests, spring.cloud.gateway.requests) and JWT decode time
+ * are configured in application.properties and SecurityConfig.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Requests per tenant (co_id claim). Unordered, so it runs after the security WebFilter
+     * and sees the authenticated principal.
+     */
+    @Bean
+    public TenantRequestMetricsWebFilter tenantRequestMetricsWebFilter(MeterRegistry meterRegistry,
+            @Value("${erp.metrics.max-tenants:100}") int maxTenants) {
+        return new TenantRequestMetricsWebFilter(new TenantRequestMetrics(meterRegistry, maxTenants));
+    }
+
+    /**
+     * Registry age and instance churn as the gateway sees them: the gateway is the only service that
+     * routes through Eureka, so its copy of the registry decides how fast traffic leaves a dead instance.
+     */
+    @Bean
+    public DiscoveryMetrics discoveryMetrics(DiscoveryClient discoveryClient, MeterRegistry meterRegistry) {
+        return new DiscoveryMetrics(discoveryClient, meterRegistry);
+    }
+
+    /**
+     * One HeartbeatEvent per registry fetch (eureka.client.registry-fetch-interval-seconds).
+     */
+    @Bean
+    public ApplicationListener<HeartbeatEvent> discoveryMetricsListener(DiscoveryMetrics discoveryMetrics) {
+        return event -> discoveryMetrics.refreshed();
+    }
+}
@@ -1,5 +1,7 @@
 package com.clt.erp.api_gateway.config;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +11,8 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
@@ -18,6 +22,15 @@ import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 import org.springframework.http.HttpStatus;
 
+import com.clt.erp.common.metrics.TimedReactiveJwtDecoder;
+import com.clt.erp.common.security.ClientCredentialsToken;
+import com.clt.erp.common.security.JwtRevocationValidator;
+import com.clt.erp.common.security.RevocationFeedClient;
+import com.clt.erp.common.security.RevocationList;
+import com.clt.erp.common.security.ServiceScopes;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Security configuration for API Gateway.
  * Configures OAuth2 Resource Server to validate JWT tokens from auth-service.
@@ -31,14 +44,43 @@ public class SecurityConfig {
     private String issuerUri;
 
     @Bean
-    public ReactiveJwtDecoder jwtDecoder() {
+    public ReactiveJwtDecoder jwtDecoder(RevocationList revocationList, MeterRegistry meterRegistry) {
         // Use issuer-uri to automatically discover JWK Set URI
         // Spring will fetch from issuer-uri/.well-known/openid-configuration
-        return NimbusReactiveJwtDecoder.withIssuerLocation(issuerUri).build();
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withIssuerLocation(issuerUri).build();
+        // Revoked tokens (auth-service revocation feed) are rejected like expired ones
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefaultWithIssuer(issuerUri),
+                new JwtRevocationValidator(revocationList)));
+        // Decode time is recorded as erp.jwt.decode
+        return new TimedReactiveJwtDecoder(decoder, meterRegistry);
+    }
+
+    /**
+     * Token revocations, checked locally on every request (bloom filter, then exact set).
+     */
+    @Bean
+    public RevocationList revocationList(@Value("${erp.revocation.expected-entries:1000}") int expectedEntries) {
+        return new RevocationList(expectedEntries);
+    }
+
+    /**
+     * Follows auth-service's revocation feed, authenticated as the erp-revocation-feed client; the first poll runs
+     * before the gateway serves requests.
+     */
+    @Bean(initMethod = "start")
+    public RevocationFeedClient revocationFeedClient(RevocationList revocationList,
+            @Value("${erp.revocation.feed-uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}/revocations}") URI feedUri,
+            @Value("${erp.revocation.poll-interval:2s}") Duration pollInterval,
+            @Value("${erp.revocation.token-uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}/oauth2/token}") URI tokenUri,
+            @Value("${erp.revocation.client-id:erp-revocation-feed}") String clientId,
+            @Value("${erp.revocation.client-secret}") String clientSecret, MeterRegistry meterRegistry) {
+        ClientCredentialsToken token = new ClientCredentialsToken(tokenUri, clientId, clientSecret,
+                ServiceScopes.REVOCATIONS_READ);
+        return new RevocationFeedClient(feedUri, pollInterval, revocationList, token, meterRegistry);
     }
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         // Configure CORS with explicit configuration
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeExchange(exchanges -> exchanges
@@ -54,6 +96,15 @@ public class SecurityConfig {
                     "/webjars/**",
                     "/error"
                 ).permitAll()
+                // Probes and read-only resilience state (circuit breakers, bulkheads) for operations
+                .pathMatchers(org.springframework.http.HttpMethod.GET,
+                    "/actuator/health/**",
+                    "/actuator/circuitbreakers/**",
+                    "/actuator/bulkheads/**"
+                ).permitAll()
+                // Prometheus scrape, metrics, circuit breaker events (per-tenant tags, failure details):
+                // bearer token with the actuator.read scope (auth-service's erp-monitoring client)
+                .pathMatchers("/actuator/**").hasAuthority(ServiceScopes.authority(ServiceScopes.ACTUATOR_READ))
                 // Allow OPTIONS requests for CORS preflight
                 .pathMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                 // /userinfo requires authentication (Bearer token)
@@ -62,7 +113,7 @@ public class SecurityConfig {
             )
             // Configure OAuth2 Resource Server with JWT
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.jwtDecoder(jwtDecoder()))
+                .jwt(jwt -> jwt.jwtDecoder(jwtDecoder))
             )
             // Disable CSRF for stateless API (JWT tokens are used)
             .csrf(csrf -> csrf.disable())
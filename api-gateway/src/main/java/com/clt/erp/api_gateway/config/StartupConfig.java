@@ -0,0 +1,26 @@
+package com.clt.erp.api_gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.lifecycle.EagerInitFilter;
+import com.clt.erp.common.lifecycle.StartupReport;
+
+/**
+ * Startup: beans are created lazily (spring.main.lazy-initialization) except those with an init method, and
+ * once ready the slowest bean instantiations are logged (erp.startup.report-beans, 0 = off).
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static EagerInitFilter eagerInitFilter() {
+        return new EagerInitFilter();
+    }
+
+    @Bean
+    public StartupReport startupReport(@Value("${erp.startup.report-beans:10}") int beans) {
+        return new StartupReport(beans);
+    }
+}
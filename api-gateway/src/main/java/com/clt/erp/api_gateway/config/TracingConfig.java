@@ -0,0 +1,27 @@
+package com.clt.erp.api_gateway.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.tracing.SpanFileExporter;
+
+/**
+ * Tracing: W3C traceparent propagation and OTLP export are configured in application.properties
+ * (Micrometer Tracing with the OpenTelemetry bridge); this adds an optional span file.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Finished spans as JSON lines in erp.tracing.file, for per-hop latency analysis without a collector.
+     */
+    @Bean
+    @ConditionalOnProperty("erp.tracing.file")
+    public SpanFileExporter spanFileExporter(@Value("${erp.tracing.file}") Path file) {
+        return new SpanFileExporter(file);
+    }
+}
@@ -0,0 +1,40 @@
+package com.clt.erp.api_gateway.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Replaces the gateway's default HttpClientFactory with UpstreamHttpClientFactory (tuned upstream
+ * connection pools, one per configured service) and its routing filter with UpstreamRoutingFilter,
+ * which sends each route through the client of its service.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamPoolProperties.class)
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public UpstreamHttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+            ServerProperties serverProperties, List<HttpClientCustomizer> customizers,
+            HttpClientSslConfigurer sslConfigurer, UpstreamPoolProperties upstreamPoolProperties) {
+        return new UpstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+                upstreamPoolProperties);
+    }
+
+    @Bean
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters, HttpClientProperties properties,
+            UpstreamHttpClientFactory clients) {
+        return new UpstreamRoutingFilter(httpClient, headersFilters, properties, clients);
+    }
+}
@@ -0,0 +1,152 @@
+package com.clt.erp.api_gateway.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Gateway HttpClient factory that applies the upstream pool profile (UpstreamPoolProperties)
+ * on top of the standard gateway httpclient properties:
+ * - bounded pending-acquire queue per destination
+ * - one HttpClient and pool per configured service (UpstreamRoutingFilter picks it by the route's
+ *   lb:// service id), with the service's protocols (h2c only where the service enables HTTP/2) and limits
+ * - background eviction of idle connections and of pools for instances that left Eureka
+ * - pool and client metrics (including pending-acquire time) with bounded URI tags
+ */
+@Slf4j
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    private final UpstreamPoolProperties upstream;
+    private volatile Map<String, HttpClient> serviceClients = Map.of();
+    /** Service whose client createInstance() is building; null for the default client */
+    private String building;
+
+    public UpstreamHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+            HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+            UpstreamPoolProperties upstream) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstream = upstream;
+    }
+
+    /**
+     * The default client, for routes to services without their own settings; the per-service clients are
+     * built along with it.
+     */
+    @Override
+    protected HttpClient createInstance() {
+        Map<String, HttpClient> clients = new LinkedHashMap<>();
+        for (String serviceId : upstream.getServices().keySet()) {
+            clients.put(serviceId, create(serviceId));
+        }
+        serviceClients = Map.copyOf(clients);
+        return create(null);
+    }
+
+    /**
+     * @return the client of the service (by lb:// service id), or null when it uses the default client
+     */
+    public HttpClient getServiceClient(String serviceId) {
+        return serviceClients.get(serviceId);
+    }
+
+    private HttpClient create(String serviceId) {
+        building = serviceId;
+        try {
+            List<HttpProtocol> protocols = upstream.protocols(service(serviceId));
+            HttpClient httpClient = super.createInstance().protocol(protocols.toArray(HttpProtocol[]::new));
+            if (properties.getPool().isMetrics()) {
+                httpClient = httpClient.metrics(true, UpstreamHttpClientFactory::uriTag);
+            }
+            log.info("Upstream HttpClient protocols for {}: {}", serviceId != null ? serviceId : "other services",
+                    protocols);
+            return httpClient;
+        } finally {
+            building = null;
+        }
+    }
+
+    private UpstreamPoolProperties.Service service(String serviceId) {
+        return serviceId != null ? upstream.getServices().get(serviceId) : null;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() != HttpClientProperties.Pool.PoolType.FIXED) {
+            return super.buildConnectionProvider(properties);
+        }
+
+        UpstreamPoolProperties.Service service = service(building);
+        int maxConnections = service != null && service.getMaxConnections() != null ? service.getMaxConnections()
+                : pool.getMaxConnections() != null ? pool.getMaxConnections()
+                : ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+        int pendingAcquireMaxCount = service != null && service.getPendingAcquireMaxCount() != null
+                ? service.getPendingAcquireMaxCount() : upstream.getPendingAcquireMaxCount();
+        // pool metrics are tagged with the name: upstream (default client), upstream-hrm-service, ...
+        ConnectionProvider.Builder builder = ConnectionProvider
+                .builder(building != null ? pool.getName() + "-" + building : pool.getName())
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .metrics(pool.isMetrics())
+                .disposeInactivePoolsInBackground(upstream.getInactivePoolDisposeInterval(),
+                        upstream.getInactivePoolDisposeInterval());
+        if (pool.getAcquireTimeout() != null) {
+            builder.pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        }
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if (pool.getEvictionInterval() != null) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        if (pool.getLeasingStrategy() == HttpClientProperties.Pool.LeasingStrategy.LIFO) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+        if (upstream.protocols(service).contains(HttpProtocol.H2C)) {
+            builder.allocationStrategy(http2Allocation(maxConnections));
+        }
+        return builder.build();
+    }
+
+    private Http2AllocationStrategy http2Allocation(int maxConnections) {
+        return Http2AllocationStrategy.builder()
+                .maxConnections(maxConnections)
+                .minConnections(1)
+                .maxConcurrentStreams(upstream.getMaxConcurrentStreams())
+                .build();
+    }
+
+    /**
+     * Keeps only the first two path segments (e.g. /api/hrm, /oauth2/token) so that
+     * client metrics have a bounded number of URI tags.
+     */
+    static String uriTag(String uri) {
+        int end = uri.indexOf('?');
+        String path = end >= 0 ? uri.substring(0, end) : uri;
+        int slashes = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/' && ++slashes == 3) {
+                return path.substring(0, i);
+            }
+        }
+        return path.isEmpty() ? "/" : path;
+    }
+}
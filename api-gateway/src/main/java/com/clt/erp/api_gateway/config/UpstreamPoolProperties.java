@@ -0,0 +1,78 @@
+package com.clt.erp.api_gateway.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Upstream connection-pool profile for the gateway's Netty HttpClient.
+ * Complements spring.cloud.gateway.server.webflux.httpclient.pool.* (max connections,
+ * idle/life time, eviction, metrics) with the settings the gateway properties do not expose.
+ *
+ * Netty keeps one pool per destination (host:port of a service instance), so every
+ * limit here applies per instance, not across the whole gateway.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamPoolProperties {
+
+    /**
+     * Protocols offered to upstream services without their own setting under services.
+     */
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+
+    /**
+     * Max requests waiting for a connection per destination before new requests
+     * are rejected (-1 = 2 x max-connections, the Netty default).
+     */
+    private int pendingAcquireMaxCount = -1;
+
+    /**
+     * Max concurrent HTTP/2 streams per upstream connection (only used with H2C).
+     */
+    private long maxConcurrentStreams = 100;
+
+    /**
+     * Pools of instances that left the registry are disposed after being inactive this long.
+     */
+    private Duration inactivePoolDisposeInterval = Duration.ofMinutes(1);
+
+    /**
+     * Per-service settings, keyed by the service id of lb:// route URIs (lower case); the service's
+     * routes get their own HttpClient and pool (e.g. gateway.upstream.services.hrm-service.protocols=H2C,HTTP11).
+     */
+    private Map<String, Service> services = new LinkedHashMap<>();
+
+    @Data
+    public static class Service {
+
+        /**
+         * Protocols offered to the service. H2C multiplexes requests over one cleartext
+         * connection per instance; HTTP11 is kept as the fallback. Defaults to gateway.upstream.protocols.
+         */
+        private List<HttpProtocol> protocols;
+
+        /**
+         * Max connections per instance of the service (defaults to the pool's max-connections).
+         */
+        private Integer maxConnections;
+
+        /**
+         * Max requests waiting for a connection per instance (defaults to pending-acquire-max-count).
+         */
+        private Integer pendingAcquireMaxCount;
+    }
+
+    /**
+     * Protocols offered to the service: its own, or the default ones.
+     */
+    public List<HttpProtocol> protocols(Service service) {
+        return service != null && service.getProtocols() != null ? service.getProtocols() : protocols;
+    }
+}
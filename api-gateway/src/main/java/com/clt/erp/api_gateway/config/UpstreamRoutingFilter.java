@@ -0,0 +1,46 @@
+package com.clt.erp.api_gateway.config;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * The gateway's routing filter, sending each lb:// route through the HttpClient of its service
+ * (UpstreamHttpClientFactory.getServiceClient) and every other route through the default client.
+ * Replaces NettyRoutingFilter (spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled=false).
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClientFactory clients;
+
+    public UpstreamRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+            HttpClientProperties properties, UpstreamHttpClientFactory clients) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.clients = clients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        URI uri = route.getUri();
+        HttpClient client = "lb".equals(uri.getScheme()) ? clients.getServiceClient(uri.getHost()) : null;
+        if (client == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        // the service client already has the global connect timeout; a route's own one still wins
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        return connectTimeout != null
+                ? client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.valueOf(connectTimeout.toString()))
+                : client;
+    }
+}
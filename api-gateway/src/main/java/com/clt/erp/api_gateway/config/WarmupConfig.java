@@ -0,0 +1,34 @@
+package com.clt.erp.api_gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.lifecycle.Warmup;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+
+/**
+ * Warmup before the gateway takes traffic (common-libs com.clt.erp.common.lifecycle.Warmup): registered in
+ * Eureka as STARTING (eureka.instance.initial-status), it sends requests with an unverifiable token through the
+ * security and JWT decode path, and public requests through an auth-service route (load balancer, circuit
+ * breaker, upstream connection pool), then goes UP. The hrm-service routes take a valid token; they share the
+ * rest of the path. Settings in application.properties.
+ */
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public Warmup warmup(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+            @Value("${erp.warmup.timeout:30s}") Duration timeout,
+            @Value("${erp.warmup.requests:1000}") int requests,
+            @Value("${erp.warmup.route-requests:100}") int routeRequests) {
+        return new Warmup(timeout, () -> applicationInfoManager.ifAvailable(
+                        manager -> manager.setInstanceStatus(InstanceStatus.UP)))
+                .request("jwt", requests, "/api/hrm/employees", Warmup.unverifiableToken())
+                .request("auth-route", routeRequests, "/.well-known/openid-configuration", null);
+    }
+}
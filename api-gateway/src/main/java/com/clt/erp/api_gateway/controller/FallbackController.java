@@ -0,0 +1,61 @@
+package com.clt.erp.api_gateway.controller;
+
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.clt.erp.common.dto.ErrorResponseDto;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fallback responses for routes protected by a circuit breaker (see GatewayConfig).
+ * Requests are forwarded here when the downstream service times out, fails,
+ * its circuit is open or its bulkhead is full. The caller gets a fast error
+ * instead of holding a gateway connection while the service recovers.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @RequestMapping("/{serviceId}")
+    public ResponseEntity<ErrorResponseDto> fallback(@PathVariable String serviceId, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        HttpStatus status;
+        String errorCode;
+        if (cause instanceof TimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            errorCode = "UPSTREAM_TIMEOUT";
+        } else if (cause instanceof CallNotPermittedException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            errorCode = "CIRCUIT_OPEN";
+        } else if (cause instanceof BulkheadFullException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            errorCode = "BULKHEAD_FULL";
+        } else {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            errorCode = "SERVICE_UNAVAILABLE";
+        }
+
+        // the cause stays in the log: exception classes and messages describe internals, not the caller's request
+        log.warn("[FALLBACK][{}] {} {}: {}", serviceId, exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath(),
+                cause != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage() : null);
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(new ErrorResponseDto(errorCode, serviceId + " is temporarily unavailable.", null));
+    }
+}
@@ -0,0 +1,52 @@
+package com.clt.erp.api_gateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+class UpstreamHttpClientFactoryTests {
+
+	@Test
+	void uriTagKeepsTheFirstTwoPathSegments() {
+		assertEquals("/api/hrm", UpstreamHttpClientFactory.uriTag("/api/hrm/employees/42"));
+		assertEquals("/api/hrm", UpstreamHttpClientFactory.uriTag("/api/hrm/employees?fields=id,firstName"));
+		assertEquals("/oauth2/token", UpstreamHttpClientFactory.uriTag("/oauth2/token"));
+		assertEquals("/userinfo", UpstreamHttpClientFactory.uriTag("/userinfo?x=1"));
+		assertEquals("/", UpstreamHttpClientFactory.uriTag(""));
+		assertEquals("/", UpstreamHttpClientFactory.uriTag("?x=1"));
+	}
+
+	@Test
+	void h2cIsOfferedToConfiguredServicesOnly() throws Exception {
+		UpstreamPoolProperties upstream = new UpstreamPoolProperties();
+		UpstreamPoolProperties.Service hrm = new UpstreamPoolProperties.Service();
+		hrm.setProtocols(List.of(HttpProtocol.H2C, HttpProtocol.HTTP11));
+		hrm.setMaxConnections(10);
+		upstream.getServices().put("hrm-service", hrm);
+		HttpClientProperties properties = new HttpClientProperties();
+		properties.getPool().setType(HttpClientProperties.Pool.PoolType.FIXED);
+		properties.getPool().setName("upstream");
+		ServerProperties serverProperties = new ServerProperties();
+		UpstreamHttpClientFactory factory = new UpstreamHttpClientFactory(properties, serverProperties,
+				new HttpClientSslConfigurer(properties.getSsl(), serverProperties, null), List.of(), upstream);
+		factory.afterPropertiesSet();
+
+		HttpClient other = factory.getObject();
+		HttpClient hrmClient = factory.getServiceClient("hrm-service");
+
+		assertArrayEquals(new HttpProtocol[] {HttpProtocol.HTTP11}, other.configuration().protocols());
+		assertArrayEquals(new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11},
+				hrmClient.configuration().protocols());
+		assertNull(factory.getServiceClient("other-service"));
+	}
+}
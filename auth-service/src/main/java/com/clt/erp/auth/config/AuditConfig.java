@@ -0,0 +1,59 @@
+package com.clt.erp.auth.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.clt.erp.common.audit.AuditInterceptor;
+import com.clt.erp.common.audit.AuditWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Audit trail (common-libs com.clt.erp.common.audit): changes made through the mappers (e.g. token revocations)
+ * are recorded in ADM_AUDIT_LOG with the user and tenant of the caller (CO_ID::USR_ID). Settings in
+ * application.properties.
+ */
+@Configuration
+public class AuditConfig {
+
+    private static final String AUDIT_TABLE = "ADM_AUDIT_LOG";
+
+    @Bean
+    public AuditWriter auditWriter(DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${erp.audit.mode:async}") AuditWriter.Mode mode,
+            @Value("${erp.audit.queue-capacity:10000}") int capacity,
+            @Value("${erp.audit.batch-size:500}") int batchSize,
+            @Value("${erp.audit.offer-timeout:200ms}") Duration offerTimeout) {
+        return new AuditWriter(dataSource, AUDIT_TABLE, mode, capacity, batchSize, offerTimeout, meterRegistry);
+    }
+
+    /**
+     * Picked up by the MyBatis auto-configuration as a plugin.
+     */
+    @Bean
+    public AuditInterceptor auditInterceptor(AuditWriter auditWriter, ObjectMapper objectMapper) {
+        return new AuditInterceptor(auditWriter::record, () -> subject(0), () -> subject(1),
+                objectMapper::writeValueAsString);
+    }
+
+    /**
+     * Part of the caller's name (CO_ID::USR_ID): 0 the company, 1 the user; null without an authenticated caller
+     */
+    private static String subject(int part) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        String[] parts = authentication.getName().split("::", 2);
+        return parts.length == 2 ? parts[part] : null;
+    }
+}
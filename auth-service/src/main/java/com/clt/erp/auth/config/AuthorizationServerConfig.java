@@ -2,28 +2,48 @@ package com.clt.erp.auth.config;
 
 import com.clt.erp.auth.service.KeyPairService;
 import com.clt.erp.auth.service.OidcUserInfoService;
+import com.clt.erp.auth.service.SessionUserService;
+import com.clt.erp.auth.service.UserClaimsCache;
+import com.clt.erp.common.metrics.TimedJwtDecoder;
+import com.clt.erp.common.security.JwtRevocationValidator;
+import com.clt.erp.common.security.Permission;
+import com.clt.erp.common.security.RevocationList;
+import com.clt.erp.common.security.ServiceScopes;
+import com.clt.erp.common.tracing.TracingPasswordEncoder;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.oidc.OidcScopes;
 import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
@@ -58,14 +78,19 @@ import java.util.UUID;
  * Configuration for OAuth2 Authorization Server.
  * Handles security filter chains, OAuth2 client registration, JWT configuration, and CORS setup.
  */
+@Slf4j
 @Configuration
 public class AuthorizationServerConfig {
 
     private final KeyPairService keyPairService;
     private final OidcUserInfoService oidcUserInfoService;
 
-    @Value("${oauth2.token.access-token-expiration-hours:1}")
-    private int accessTokenExpirationHours;
+    @Value("${oauth2.token.access-token-expiration-minutes:15}")
+    private int accessTokenExpirationMinutes;
+
+    /** Former setting, in hours: still honoured so existing overrides keep their lifetime */
+    @Value("${oauth2.token.access-token-expiration-hours:#{null}}")
+    private Integer accessTokenExpirationHours;
 
     @Value("${oauth2.token.refresh-token-expiration-days:7}")
     private int refreshTokenExpirationDays;
@@ -79,16 +104,74 @@ public class AuthorizationServerConfig {
         this.oidcUserInfoService = oidcUserInfoService;
     }
 
+    @PostConstruct
+    void applyDeprecatedAccessTokenExpiration() {
+        if (accessTokenExpirationHours != null) {
+            log.warn("oauth2.token.access-token-expiration-hours is deprecated, use "
+                    + "oauth2.token.access-token-expiration-minutes={} instead", accessTokenExpirationHours * 60);
+            accessTokenExpirationMinutes = accessTokenExpirationHours * 60;
+        }
+    }
+
     // ============================================================================
     // Security Filter Chains
     // ============================================================================
 
+    /**
+     * Security filter chain for the revocation endpoints: the feed takes a bearer token with the revocations.read
+     * scope (erp-revocation-feed client of the gateway and the services), recording a revocation takes a bearer
+     * token with ADM_TOKEN_REVOKE. Neither is routed through the gateway: GatewayConfig defines no route to
+     * /revocations.
+     */
+    @Bean
+    @Order(0)
+    @Profile("!migrate")
+    public SecurityFilterChain revocationSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/revocations/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/revocations")
+                                .hasAuthority(ServiceScopes.authority(ServiceScopes.REVOCATIONS_READ))
+                        .requestMatchers(HttpMethod.POST, "/revocations").access((authentication, context) ->
+                                new AuthorizationDecision(authentication.get() instanceof JwtAuthenticationToken jwt
+                                        && jwt.getToken().getClaim(Permission.CLAIM) instanceof Number mask
+                                        && Permission.ADM_TOKEN_REVOKE.isGrantedIn(mask.longValue())))
+                        .anyRequest().denyAll()
+                )
+                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(Customizer.withDefaults()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    /**
+     * Security filter chain for the actuator: health is public (probes), everything else (Prometheus scrape,
+     * metrics, info) takes a bearer token with the actuator.read scope (erp-monitoring client).
+     */
+    @Bean
+    @Order(1)
+    @Profile("!migrate")
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/actuator/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        .anyRequest().hasAuthority(ServiceScopes.authority(ServiceScopes.ACTUATOR_READ))
+                )
+                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(Customizer.withDefaults()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
     /**
      * Security filter chain for OAuth2 authorization server endpoints.
      * Handles /oauth2/** endpoints with CORS support and OIDC user info mapping.
+     * Filter chains need a web application, so the "migrate" profile (no web server) skips them.
      */
     @Bean
-    @Order(1)
+    @Order(2)
+    @Profile("!migrate")
     public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http) throws Exception {
         OAuth2AuthorizationServerConfigurer authorizationServerConfigurer = new OAuth2AuthorizationServerConfigurer();
         RequestMatcher endpointsMatcher = authorizationServerConfigurer.getEndpointsMatcher();
@@ -121,7 +204,8 @@ public class AuthorizationServerConfig {
      * Handles login page and static resources.
      */
     @Bean
-    @Order(2)
+    @Order(3)
+    @Profile("!migrate")
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
@@ -143,12 +227,22 @@ public class AuthorizationServerConfig {
 
     /**
      * Registered client repository for OAuth2 clients.
-     * Configures a public client for the React frontend with PKCE support.
+     * Configures a public client for the React frontend with PKCE support, and the client_credentials
+     * clients of the other services.
+     *
+     * @param monitoringSecret     secret of erp-monitoring (erp.clients.monitoring.secret), hashed here
+     * @param revocationFeedSecret secret of erp-revocation-feed (erp.clients.revocation-feed.secret), hashed here
      */
     @Bean
-    public RegisteredClientRepository registeredClientRepository() {
+    public RegisteredClientRepository registeredClientRepository(PasswordEncoder passwordEncoder,
+            @Value("${erp.clients.monitoring.secret}") String monitoringSecret,
+            @Value("${erp.clients.revocation-feed.secret}") String revocationFeedSecret) {
         RegisteredClient publicClient = createFrontendClient();
-        return new InMemoryRegisteredClientRepository(publicClient);
+        RegisteredClient monitoringClient = createServiceClient("erp-monitoring",
+                passwordEncoder.encode(monitoringSecret), ServiceScopes.ACTUATOR_READ);
+        RegisteredClient revocationFeedClient = createServiceClient("erp-revocation-feed",
+                passwordEncoder.encode(revocationFeedSecret), ServiceScopes.REVOCATIONS_READ);
+        return new InMemoryRegisteredClientRepository(publicClient, monitoringClient, revocationFeedClient);
     }
 
     /**
@@ -170,12 +264,29 @@ public class AuthorizationServerConfig {
                         .requireProofKey(true)
                         .build())
                 .tokenSettings(TokenSettings.builder()
-                        .accessTokenTimeToLive(Duration.ofHours(accessTokenExpirationHours))
+                        .accessTokenTimeToLive(Duration.ofMinutes(accessTokenExpirationMinutes))
                         .refreshTokenTimeToLive(Duration.ofDays(refreshTokenExpirationDays))
                         .build())
                 .build();
     }
 
+    /**
+     * Creates a client_credentials client for service-to-service calls, limited to the given scope.
+     * Its tokens carry no user claims (OidcTokenCustomizer only customizes user grants).
+     */
+    private RegisteredClient createServiceClient(String clientId, String encodedSecret, String scope) {
+        return RegisteredClient.withId(UUID.randomUUID().toString())
+                .clientId(clientId)
+                .clientSecret(encodedSecret)
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .scope(scope)
+                .tokenSettings(TokenSettings.builder()
+                        .accessTokenTimeToLive(Duration.ofMinutes(accessTokenExpirationMinutes))
+                        .build())
+                .build();
+    }
+
     // ============================================================================
     // JWT Configuration
     // ============================================================================
@@ -204,9 +315,27 @@ public class AuthorizationServerConfig {
         return new NimbusJwtEncoder(jwkSource);
     }
 
+    /**
+     * JWT decoder for bearer tokens on the authorization server (e.g. /userinfo, POST /revocations).
+     * Revoked tokens are rejected; decode time is recorded as erp.jwt.decode.
+     */
     @Bean
-    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, RevocationList revocationList,
+            MeterRegistry meterRegistry) {
+        JwtDecoder decoder = OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+        if (decoder instanceof NimbusJwtDecoder nimbus) {
+            nimbus.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(),
+                    new JwtRevocationValidator(revocationList)));
+        }
+        return new TimedJwtDecoder(decoder, meterRegistry);
+    }
+
+    /**
+     * Token revocations known to this instance (kept current by RevocationService).
+     */
+    @Bean
+    public RevocationList revocationList(@Value("${erp.revocation.expected-entries:1000}") int expectedEntries) {
+        return new RevocationList(expectedEntries);
     }
 
     /**
@@ -223,17 +352,21 @@ public class AuthorizationServerConfig {
      * OAuth2 token customizer to add OIDC user claims to JWT tokens.
      */
     @Bean
-    public OAuth2TokenCustomizer<JwtEncodingContext> oidcTokenCustomizer() {
-        return new OidcTokenCustomizer();
+    public OAuth2TokenCustomizer<JwtEncodingContext> oidcTokenCustomizer(UserClaimsCache userClaimsCache,
+            RevocationList revocationList, SessionUserService sessionUserService) {
+        return new OidcTokenCustomizer(userClaimsCache, revocationList, sessionUserService);
     }
 
     // ============================================================================
     // Password Encoding
     // ============================================================================
 
+    /**
+     * BCrypt, traced so hashing shows up as its own span in login traces.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(Tracer tracer) {
+        return new TracingPasswordEncoder(new BCryptPasswordEncoder(), tracer);
     }
 
     // ============================================================================
@@ -0,0 +1,57 @@
+package com.clt.erp.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.clt.erp.common.metrics.MybatisMetricsInterceptor;
+import com.clt.erp.common.metrics.SlowQueryInterceptor;
+import com.clt.erp.common.metrics.StatementScopeFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service-specific metrics from common-libs (com.clt.erp.common.metrics).
+ * Request latency histograms are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Statement time and row counts per mapper method (erp.mybatis.statement, erp.mybatis.rows).
+     * Picked up by the MyBatis auto-configuration as a plugin.
+     */
+    @Bean
+    public MybatisMetricsInterceptor mybatisMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new MybatisMetricsInterceptor(meterRegistry);
+    }
+
+    /**
+     * Slow statements logged with their SQL shape and (PostgreSQL) EXPLAIN plan (erp.mybatis.slow).
+     */
+    @Bean
+    public SlowQueryInterceptor slowQueryInterceptor(MeterRegistry meterRegistry,
+            @Value("${erp.mybatis.slow-query-threshold:200ms}") Duration threshold,
+            @Value("${erp.mybatis.explain-slow-queries:false}") boolean explain,
+            @Value("${erp.mybatis.explain-interval:10m}") Duration explainInterval) {
+        return new SlowQueryInterceptor(meterRegistry, threshold, explain, explainInterval);
+    }
+
+    /**
+     * Per-request statement counts for N+1 detection (erp.mybatis.repeated, erp.mybatis.statements.per.request).
+     * Ordered first so statements run inside the security filter chain (login) are counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<StatementScopeFilter> statementScopeFilter(MeterRegistry meterRegistry,
+            @Value("${erp.mybatis.repeat-threshold:5}") int repeatThreshold,
+            @Value("${erp.mybatis.statements-per-request-threshold:10}") int totalThreshold) {
+        FilterRegistrationBean<StatementScopeFilter> registration = new FilterRegistrationBean<>(
+                new StatementScopeFilter(meterRegistry, repeatThreshold, totalThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
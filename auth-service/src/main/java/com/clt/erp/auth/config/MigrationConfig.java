@@ -0,0 +1,35 @@
+package com.clt.erp.auth.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.clt.erp.common.migration.FlywayMigrations;
+
+/**
+ * Schema migrations (Flyway, db/migration), applied while the context starts (common-libs
+ * com.clt.erp.common.migration.FlywayMigrations); settings in application.properties.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${erp.migration.retry-failed:false}") boolean retryFailed) {
+        return flyway -> FlywayMigrations.migrate(flyway, retryFailed);
+    }
+
+    /**
+     * "migrate" profile (./gradlew migrate, or java -jar ... --spring.profiles.active=migrate).
+     */
+    @Bean
+    @Profile("migrate")
+    public ApplicationRunner exitAfterMigration(ConfigurableApplicationContext context, Flyway flyway) {
+        return FlywayMigrations.exitAfterMigration(context, flyway);
+    }
+}
@@ -1,27 +1,53 @@
 package com.clt.erp.auth.config;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
-import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
 
+import com.clt.erp.auth.model.UserClaims;
 import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.service.SessionUserService;
+import com.clt.erp.auth.service.UserClaimsCache;
+import com.clt.erp.common.exception.BizException;
+import com.clt.erp.common.security.RevocationList;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Customizes JWT tokens to include OIDC user claims and custom claims.
  * This ensures that access tokens contain user information when OIDC scopes are requested.
+ * The claims come from the user's cached claims projection (UserClaims): standard claims are filtered by
+ * the scope mask of the authorized scopes, custom claims and authorities are always included.
+ * Sessions whose subject was revoked after the login get no new tokens: the grant fails with invalid_grant.
+ * The principal was loaded at login, so its current state is checked through SessionUserService (version stamp,
+ * full reload only after a change, no check right after the login); a user or company deactivated since then gets
+ * invalid_grant as well.
  */
 @Slf4j
 public class OidcTokenCustomizer implements OAuth2TokenCustomizer<JwtEncodingContext> {
 
+    private static final OAuth2Error SESSION_REVOKED = new OAuth2Error(OAuth2ErrorCodes.INVALID_GRANT,
+            "The session has been revoked", null);
+
+    private final UserClaimsCache userClaimsCache;
+    private final RevocationList revocations;
+    private final SessionUserService sessionUserService;
+
+    public OidcTokenCustomizer(UserClaimsCache userClaimsCache, RevocationList revocations,
+            SessionUserService sessionUserService) {
+        this.userClaimsCache = userClaimsCache;
+        this.revocations = revocations;
+        this.sessionUserService = sessionUserService;
+    }
+
     @Override
     public void customize(JwtEncodingContext context) {
         // Only customize access tokens
@@ -43,60 +69,22 @@ public class OidcTokenCustomizer implements OAuth2TokenCustomizer<JwtEncodingCon
             return;
         }
 
-        UserInfo userInfo = (UserInfo) authentication.getPrincipal();
-        Set<String> requestedScopes = context.getAuthorizedScopes();
-
-        // Add standard OIDC claims when openid scope is requested
-        if (requestedScopes.contains(OidcScopes.OPENID)) {
-            // Subject claim (sub) - use username (coId::usrId format) for uniqueness
-            context.getClaims().claim("sub", userInfo.getUsername());
-
-            // Name claim - when profile scope is requested
-            if (requestedScopes.contains(OidcScopes.PROFILE) && userInfo.getUsrNm() != null) {
-                context.getClaims().claim("name", userInfo.getUsrNm());
-            }
-
-            // Email claim - when email scope is requested
-            if (requestedScopes.contains(OidcScopes.EMAIL) && userInfo.getUsrEml() != null) {
-                context.getClaims().claim("email", userInfo.getUsrEml());
-                // Email verified - set to true (can be enhanced based on business logic)
-                context.getClaims().claim("email_verified", true);
-            }
-        }
-
-        // Add custom claims (always included when user is authenticated)
-        if (userInfo.getCoId() != null) {
-            context.getClaims().claim("co_id", userInfo.getCoId());
+        UserInfo principal = (UserInfo) authentication.getPrincipal();
+        if (revocations.isRevoked(null, principal.getUsername(), principal.getAuthenticatedAt())) {
+            log.info("Refusing tokens for revoked session of user: {}", principal.getUsername());
+            throw new OAuth2AuthenticationException(SESSION_REVOKED);
         }
-        if (userInfo.getUsrId() != null) {
-            context.getClaims().claim("usr_id", userInfo.getUsrId());
-        }
-        if (userInfo.getRoleId() != null) {
-            context.getClaims().claim("role_id", userInfo.getRoleId());
-        }
-        if (userInfo.getLangVal() != null) {
-            context.getClaims().claim("lang_val", userInfo.getLangVal());
-        }
-        if (userInfo.getSysModVal() != null) {
-            context.getClaims().claim("sys_mod_val", userInfo.getSysModVal());
-        }
-        if (userInfo.getDtFmtVal() != null) {
-            context.getClaims().claim("dt_fmt_val", userInfo.getDtFmtVal());
-        }
-        if (userInfo.getSysColrVal() != null) {
-            context.getClaims().claim("sys_colr_val", userInfo.getSysColrVal());
-        }
-        if (userInfo.getCoTmz() != null) {
-            context.getClaims().claim("co_tmz", userInfo.getCoTmz());
-        }
-
-        // Add authorities as a claim (optional, useful for authorization)
-        if (userInfo.getAuthorities() != null && !userInfo.getAuthorities().isEmpty()) {
-            Set<String> authorities = userInfo.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toSet());
-            context.getClaims().claim("authorities", authorities);
+        UserInfo userInfo;
+        try {
+            userInfo = sessionUserService.current(principal);
+        } catch (UsernameNotFoundException | BizException e) {
+            log.info("Refusing tokens for user: {} ({})", principal.getUsername(), e.getClass().getSimpleName());
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAuth2ErrorCodes.INVALID_GRANT,
+                    "The user is no longer active", null));
         }
+        Map<String, Object> claims = userClaimsCache.get(userInfo)
+                .tokenClaims(UserClaims.scopeMask(context.getAuthorizedScopes()));
+        context.getClaims().claims(existing -> existing.putAll(claims));
 
         log.debug("Customized JWT token for user: {}", userInfo.getUsername());
     }
@@ -0,0 +1,40 @@
+package com.clt.erp.auth.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.tracing.SpanFileExporter;
+import com.clt.erp.common.tracing.TracingMybatisInterceptor;
+
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Tracing: W3C traceparent propagation and OTLP export are configured in application.properties
+ * (Micrometer Tracing with the OpenTelemetry bridge); this adds MyBatis statement spans and an optional
+ * span file. Password hashing spans are added in AuthorizationServerConfig.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Finished spans as JSON lines in erp.tracing.file, for per-hop latency analysis without a collector.
+     */
+    @Bean
+    @ConditionalOnProperty("erp.tracing.file")
+    public SpanFileExporter spanFileExporter(@Value("${erp.tracing.file}") Path file) {
+        return new SpanFileExporter(file);
+    }
+
+    /**
+     * Child span per mapped statement ("mybatis Mapper.method").
+     * Picked up by the MyBatis auto-configuration as a plugin.
+     */
+    @Bean
+    public TracingMybatisInterceptor tracingMybatisInterceptor(Tracer tracer) {
+        return new TracingMybatisInterceptor(tracer);
+    }
+}
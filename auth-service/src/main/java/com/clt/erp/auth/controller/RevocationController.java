@@ -0,0 +1,69 @@
+package com.clt.erp.auth.controller;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clt.erp.auth.dto.RevokeTokenRequestDto;
+import com.clt.erp.auth.service.RevocationService;
+import com.clt.erp.common.dto.ErrorResponseDto;
+import com.clt.erp.common.security.RevocationFeed;
+import com.clt.erp.common.security.RevocationList.Revocation;
+
+/**
+ * Token revocation: recording revocations (administrators) and the feed the resource servers poll.
+ */
+@RestController
+@RequestMapping("/revocations")
+public class RevocationController {
+
+    private final RevocationService revocationService;
+
+    public RevocationController(RevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    /**
+     * Active revocations after a cursor, oldest first (RevocationFeed format). Read by the gateway and the
+     * services directly, not routed through the gateway; requires the revocations.read scope.
+     *
+     * @param since Cursor returned by the previous call; 0 for every active revocation
+     * @param limit Page size, 1 to 1000
+     */
+    @GetMapping(produces = RevocationFeed.MEDIA_TYPE)
+    public ResponseEntity<String> getRevocations(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > RevocationService.MAX_FEED_PAGE) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body("limit must be between 1 and " + RevocationService.MAX_FEED_PAGE);
+        }
+        return ResponseEntity.ok(revocationService.feed(since, limit));
+    }
+
+    /**
+     * Revokes one access token ("jti") or every token and session of a user ("sub"); requires ADM_TOKEN_REVOKE.
+     *
+     * @return 201 with the recorded revocation, 400 when type or value is missing or invalid
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> revoke(@RequestBody RevokeTokenRequestDto request, JwtAuthenticationToken authentication) {
+        try {
+            Revocation.Type type = Revocation.Type.valueOf(String.valueOf(request.getType()).toUpperCase(Locale.ROOT));
+            return ResponseEntity.status(HttpStatus.CREATED).body(revocationService.revoke(type, request.getValue(),
+                    request.getReason(), authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("INVALID_REVOCATION",
+                    "type must be jti or sub, and value is required", e.getMessage()));
+        }
+    }
+}
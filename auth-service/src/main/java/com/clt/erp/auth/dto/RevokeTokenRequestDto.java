@@ -0,0 +1,13 @@
+package com.clt.erp.auth.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class RevokeTokenRequestDto {
+	/** "jti" (one access token) or "sub" (every token and session of a user, CO_ID::USR_ID) */
+	String type;
+	String value;
+	String reason;
+}
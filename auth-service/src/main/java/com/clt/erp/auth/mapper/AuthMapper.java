@@ -1,11 +1,15 @@
 package com.clt.erp.auth.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.model.UserVersion;
 
 @Mapper
 public interface AuthMapper {
 	UserInfo loadUserByUsername(String username);
-	String isActiveCompany(String companyId);
-	String isActiveUser(String username);
+	UserVersion selectUserVersion(String username);
+	List<String> selectRolePermissions(@Param("coId") String coId, @Param("roleId") String roleId);
 }
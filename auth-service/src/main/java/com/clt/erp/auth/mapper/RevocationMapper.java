@@ -0,0 +1,15 @@
+package com.clt.erp.auth.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import com.clt.erp.auth.model.TokenRevocation;
+
+@Mapper
+public interface RevocationMapper {
+	int insertRevocation(TokenRevocation revocation);
+	List<TokenRevocation> selectRevocationsSince(@Param("since") long since,
+			@Param("settleSeconds") int settleSeconds, @Param("limit") int limit);
+	int deleteExpiredRevocations();
+}
@@ -0,0 +1,20 @@
+package com.clt.erp.auth.model;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * ADM_TOKEN_REVOC row: a revoked access token ("jti") or subject ("sub").
+ */
+@Data
+public class TokenRevocation {
+	private Long revocId;
+	/** "jti" or "sub" */
+	private String revocTp;
+	private String revocVal;
+	private String revocRsn;
+	private Instant revocDt;
+	private Instant expDt;
+	private String creUsrId;
+}
@@ -0,0 +1,180 @@
+package com.clt.erp.auth.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+
+import com.clt.erp.common.security.Permission;
+
+/**
+ * Immutable claims projection of one version of a user (UserInfo as loaded at login), shared by the access
+ * token customizer and the userinfo endpoint. Each claim carries the mask of scopes it requires, so a token
+ * mint looks up the ready-made claim map for its scope combination instead of testing fields and scopes.
+ * Access tokens also carry the role's permissions as a bitmask (claim "perms", see Permission).
+ */
+public final class UserClaims {
+
+    public static final int OPENID = 1;
+    public static final int PROFILE = 1 << 1;
+    public static final int EMAIL = 1 << 2;
+    private static final int ALWAYS = 0;
+    private static final int SCOPE_COMBINATIONS = 1 << 3;
+
+    private final String username;
+    private final Instant updDt;
+    private final String roleId;
+    private final Instant roleUpdDt;
+    private final String coTmz;
+    private final long permissions;
+    private final String usrNm;
+    private final String usrEml;
+    private final String langVal;
+    private final String sysModVal;
+    private final String dtFmtVal;
+    private final String sysColrVal;
+    private final List<Claim> tokenClaims;
+    private final Map<String, Object> userInfoClaims;
+    /** Token claims per scope mask, filled on first use; the maps are immutable, so a racy fill is harmless */
+    private final Map<String, Object>[] tokenClaimsByScopes;
+
+    @SuppressWarnings("unchecked")
+    private UserClaims(UserInfo userInfo) {
+        this.username = userInfo.getUsername();
+        this.updDt = userInfo.getUpdDt();
+        this.roleId = userInfo.getRoleId();
+        this.roleUpdDt = userInfo.getRoleUpdDt();
+        this.coTmz = userInfo.getCoTmz();
+        this.permissions = userInfo.getPermissions();
+        this.usrNm = userInfo.getUsrNm();
+        this.usrEml = userInfo.getUsrEml();
+        this.langVal = userInfo.getLangVal();
+        this.sysModVal = userInfo.getSysModVal();
+        this.dtFmtVal = userInfo.getDtFmtVal();
+        this.sysColrVal = userInfo.getSysColrVal();
+
+        List<Claim> standard = new ArrayList<>();
+        add(standard, "sub", userInfo.getUsername(), OPENID);
+        add(standard, "name", userInfo.getUsrNm(), OPENID | PROFILE);
+        if (userInfo.getUsrEml() != null) {
+            add(standard, "email", userInfo.getUsrEml(), OPENID | EMAIL);
+            add(standard, "email_verified", true, OPENID | EMAIL);
+        }
+        List<Claim> custom = new ArrayList<>();
+        add(custom, "co_id", userInfo.getCoId(), ALWAYS);
+        add(custom, "usr_id", userInfo.getUsrId(), ALWAYS);
+        add(custom, "role_id", userInfo.getRoleId(), ALWAYS);
+        add(custom, "lang_val", userInfo.getLangVal(), ALWAYS);
+        add(custom, "sys_mod_val", userInfo.getSysModVal(), ALWAYS);
+        add(custom, "dt_fmt_val", userInfo.getDtFmtVal(), ALWAYS);
+        add(custom, "sys_colr_val", userInfo.getSysColrVal(), ALWAYS);
+        add(custom, "co_tmz", userInfo.getCoTmz(), ALWAYS);
+
+        // userinfo endpoint: every standard and custom claim, whatever the scopes, but no authorities
+        Map<String, Object> userInfoMap = new LinkedHashMap<>();
+        standard.forEach(claim -> userInfoMap.put(claim.name, claim.value));
+        custom.forEach(claim -> userInfoMap.put(claim.name, claim.value));
+        this.userInfoClaims = Map.copyOf(userInfoMap);
+
+        List<Claim> token = new ArrayList<>(standard);
+        token.addAll(custom);
+        if (userInfo.getAuthorities() != null && !userInfo.getAuthorities().isEmpty()) {
+            Set<String> authorities = userInfo.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toUnmodifiableSet());
+            token.add(new Claim("authorities", authorities, ALWAYS));
+        }
+        token.add(new Claim(Permission.CLAIM, permissions, ALWAYS));
+        this.tokenClaims = List.copyOf(token);
+        this.tokenClaimsByScopes = new Map[SCOPE_COMBINATIONS];
+    }
+
+    public static UserClaims of(UserInfo userInfo) {
+        return new UserClaims(userInfo);
+    }
+
+    /**
+     * Mask of the OIDC scopes (openid, profile, email) in the authorized scopes.
+     */
+    public static int scopeMask(Set<String> scopes) {
+        int mask = 0;
+        if (scopes.contains(OidcScopes.OPENID)) {
+            mask |= OPENID;
+        }
+        if (scopes.contains(OidcScopes.PROFILE)) {
+            mask |= PROFILE;
+        }
+        if (scopes.contains(OidcScopes.EMAIL)) {
+            mask |= EMAIL;
+        }
+        return mask;
+    }
+
+    /**
+     * Access token claims for a scope mask (see scopeMask): standard OIDC claims whose scopes were all
+     * granted, plus the custom claims and authorities, which are always included.
+     */
+    public Map<String, Object> tokenClaims(int scopeMask) {
+        Map<String, Object> claims = tokenClaimsByScopes[scopeMask];
+        if (claims == null) {
+            Map<String, Object> granted = new LinkedHashMap<>();
+            for (Claim claim : tokenClaims) {
+                if ((claim.scopes & scopeMask) == claim.scopes) {
+                    granted.put(claim.name, claim.value);
+                }
+            }
+            claims = Map.copyOf(granted);
+            tokenClaimsByScopes[scopeMask] = claims;
+        }
+        return claims;
+    }
+
+    /**
+     * Claims returned by the OIDC userinfo endpoint.
+     */
+    public Map<String, Object> userInfoClaims() {
+        return userInfoClaims;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Whether this projection was built from the same inputs as the user's claims: the same version stamp as
+     * UserVersion (ADM_USR.UPD_DT, role, role version, company time zone), the same role permissions, and the same
+     * profile and preference values, compared as well since a user whose UPD_DT was never set has no other stamp.
+     */
+    public boolean isVersionOf(UserInfo userInfo) {
+        return Objects.equals(updDt, userInfo.getUpdDt()) && Objects.equals(roleId, userInfo.getRoleId())
+                && Objects.equals(roleUpdDt, userInfo.getRoleUpdDt()) && permissions == userInfo.getPermissions()
+                && Objects.equals(coTmz, userInfo.getCoTmz())
+                && Objects.equals(usrNm, userInfo.getUsrNm()) && Objects.equals(usrEml, userInfo.getUsrEml())
+                && Objects.equals(langVal, userInfo.getLangVal()) && Objects.equals(sysModVal, userInfo.getSysModVal())
+                && Objects.equals(dtFmtVal, userInfo.getDtFmtVal())
+                && Objects.equals(sysColrVal, userInfo.getSysColrVal());
+    }
+
+    /**
+     * Whether this projection is of a later version than the user (a principal loaded before the last update).
+     */
+    public boolean isNewerThan(UserInfo userInfo) {
+        return updDt != null && userInfo.getUpdDt() != null && updDt.isAfter(userInfo.getUpdDt());
+    }
+
+    private static void add(List<Claim> claims, String name, Object value, int scopes) {
+        if (value != null) {
+            claims.add(new Claim(name, value, scopes));
+        }
+    }
+
+    private record Claim(String name, Object value, int scopes) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.clt.erp.auth.model;
 
+import java.time.Instant;
 import java.util.Collection;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,13 +19,21 @@ public class UserInfo implements UserDetails {
 	private String usrNm;
 	private String usrEml;
 	private String useFlg;
+	/** ADM_COMPANY.USE_FLG of the user's company */
+	private String coUseFlg;
 	private String usrPwd;
 	private String roleId;
 	private String langVal;
 	private String sysModVal;
 	private String dtFmtVal;
 	private String sysColrVal;
-	private long creDt;
-	private long updDt;
+	private Instant creDt;
+	private Instant updDt;
+	/** ADM_ROLE.UPD_DT: version of the role's permissions */
+	private Instant roleUpdDt;
+	/** Granted permissions of the role (com.clt.erp.common.security.Permission bits) */
+	private long permissions;
+	/** When the user was loaded for login: start of the session, checked against "sub" revocations */
+	private Instant authenticatedAt;
 	private Collection<? extends GrantedAuthority> authorities;
 }
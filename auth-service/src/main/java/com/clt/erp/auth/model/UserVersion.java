@@ -0,0 +1,38 @@
+package com.clt.erp.auth.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import lombok.Data;
+
+/**
+ * Version stamp of a user: what a token's claims depend on, read in one single-row statement. A principal
+ * loaded at login is still current while its stamp matches.
+ */
+@Data
+public class UserVersion {
+	/** ADM_USR.UPD_DT */
+	private Instant updDt;
+	/** ADM_USR.ROLE_ID: a role change need not bump the user's UPD_DT */
+	private String roleId;
+	/** ADM_ROLE.UPD_DT, bumped on every permission change of the role */
+	private Instant roleUpdDt;
+	private String coTmz;
+	private String useFlg;
+	private String coUseFlg;
+
+	public boolean isActive() {
+		return "Y".equals(useFlg) && "Y".equals(coUseFlg);
+	}
+
+	/**
+	 * Whether the principal was loaded from this version. A user whose ADM_USR.UPD_DT was never set matches while
+	 * it is still unset.
+	 */
+	public boolean isVersionOf(UserInfo userInfo) {
+		return Objects.equals(updDt, userInfo.getUpdDt())
+				&& Objects.equals(roleId, userInfo.getRoleId())
+				&& Objects.equals(roleUpdDt, userInfo.getRoleUpdDt())
+				&& Objects.equals(coTmz, userInfo.getCoTmz());
+	}
+}
@@ -1,5 +1,6 @@
 package com.clt.erp.auth.service;
 
+import java.time.Instant;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,20 +19,26 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthService implements UserDetailsService {
 	@Autowired
 	private AuthMapper authMapper;
+	@Autowired
+	private RolePermissionCache rolePermissionCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        String companyId = username.split("::")[0];
 		UserInfo userInfo = authMapper.loadUserByUsername(username);
 		if (userInfo == null) {
 			throw new UsernameNotFoundException("User not found");
 		}
-        if (authMapper.isActiveCompany(companyId) == null) {
+        if (!"Y".equals(userInfo.getCoUseFlg())) {
 			throw new BizException("INACTIVE_COMPANY", null, "Company is not active");
 		}
-		if (authMapper.isActiveUser(username) == null) {
+		if (!"Y".equals(userInfo.getUseFlg())) {
 			throw new BizException("INACTIVE_USER", null, "User is not active");
 		}
+		RolePermissionCache.CompiledRole role = rolePermissionCache.get(userInfo.getCoId(), userInfo.getRoleId(),
+				userInfo.getRoleUpdDt());
+		userInfo.setPermissions(role.permissions());
+		userInfo.setAuthorities(role.authorities());
+		userInfo.setAuthenticatedAt(Instant.now());
 		return userInfo;
 	}	
 }
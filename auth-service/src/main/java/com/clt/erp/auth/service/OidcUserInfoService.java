@@ -1,8 +1,5 @@
 package com.clt.erp.auth.service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
 import org.springframework.stereotype.Service;
@@ -22,6 +19,12 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class OidcUserInfoService {
 
+    private final UserClaimsCache userClaimsCache;
+
+    public OidcUserInfoService(UserClaimsCache userClaimsCache) {
+        this.userClaimsCache = userClaimsCache;
+    }
+
     /**
      * Builds OidcUserInfo from the authenticated principal.
      * Includes both standard OIDC claims and custom claims.
@@ -41,50 +44,10 @@ public class OidcUserInfoService {
 
     /**
      * Builds OidcUserInfo from UserInfo model.
-     * Includes both standard OIDC claims and custom claims.
+     * Includes both standard OIDC claims and custom claims, taken from the user's cached claims projection.
      */
     private OidcUserInfo buildUserInfo(UserInfo userInfo) {
-        Map<String, Object> claims = new HashMap<>();
-
-        // Standard OIDC claims
-        claims.put("sub", userInfo.getUsername()); // Subject identifier
-
-        if (userInfo.getUsrNm() != null) {
-            claims.put("name", userInfo.getUsrNm());
-        }
-
-        if (userInfo.getUsrEml() != null) {
-            claims.put("email", userInfo.getUsrEml());
-            claims.put("email_verified", true); // Can be enhanced based on business logic
-        }
-
-        // Custom claims
-        if (userInfo.getCoId() != null) {
-            claims.put("co_id", userInfo.getCoId());
-        }
-        if (userInfo.getUsrId() != null) {
-            claims.put("usr_id", userInfo.getUsrId());
-        }
-        if (userInfo.getRoleId() != null) {
-            claims.put("role_id", userInfo.getRoleId());
-        }
-        if (userInfo.getLangVal() != null) {
-            claims.put("lang_val", userInfo.getLangVal());
-        }
-        if (userInfo.getSysModVal() != null) {
-            claims.put("sys_mod_val", userInfo.getSysModVal());
-        }
-        if (userInfo.getDtFmtVal() != null) {
-            claims.put("dt_fmt_val", userInfo.getDtFmtVal());
-        }
-        if (userInfo.getSysColrVal() != null) {
-            claims.put("sys_colr_val", userInfo.getSysColrVal());
-        }
-        if (userInfo.getCoTmz() != null) {
-            claims.put("co_tmz", userInfo.getCoTmz());
-        }
-
         log.debug("Built OidcUserInfo for user: {}", userInfo.getUsername());
-        return new OidcUserInfo(claims);
+        return new OidcUserInfo(userClaimsCache.get(userInfo).userInfoClaims());
     }
 }
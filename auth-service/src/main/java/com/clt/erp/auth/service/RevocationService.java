@@ -0,0 +1,142 @@
+package com.clt.erp.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.clt.erp.auth.mapper.RevocationMapper;
+import com.clt.erp.auth.model.TokenRevocation;
+import com.clt.erp.common.security.RevocationFeed;
+import com.clt.erp.common.security.RevocationList;
+import com.clt.erp.common.security.RevocationList.Revocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token revocations (ADM_TOKEN_REVOC) and the feed the resource servers follow (GET /revocations).
+ *
+ * A "jti" revocation lasts as long as an access token; a "sub" revocation as long as a refresh token, because
+ * auth-service also refuses to mint new tokens for sessions that started before it (see OidcTokenCustomizer).
+ * Every instance keeps its own RevocationList bean for that check, polled from the table like the resource
+ * servers poll the feed, so a revocation recorded by any instance is enforced by all of them within one poll interval.
+ */
+@Slf4j
+@Service
+public class RevocationService implements SmartLifecycle {
+
+    /** Age a row must reach before the feed returns it (see RevocationMapper.xml) */
+    static final int SETTLE_SECONDS = 1;
+    public static final int MAX_FEED_PAGE = 1000;
+
+    private final RevocationMapper revocationMapper;
+    private final RevocationList revocations;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Duration pollInterval;
+    private long cursor;
+    private ScheduledExecutorService scheduler;
+
+    public RevocationService(RevocationMapper revocationMapper, RevocationList revocations,
+            @Value("${oauth2.token.access-token-expiration-minutes:15}") int accessTokenExpirationMinutes,
+            @Value("${oauth2.token.refresh-token-expiration-days:7}") int refreshTokenExpirationDays,
+            @Value("${erp.revocation.poll-interval:2s}") Duration pollInterval) {
+        this.revocationMapper = revocationMapper;
+        this.revocations = revocations;
+        this.accessTokenTtl = Duration.ofMinutes(accessTokenExpirationMinutes);
+        this.refreshTokenTtl = Duration.ofDays(refreshTokenExpirationDays);
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Records a revocation; it reaches this instance's list at once and every other service with its next poll.
+     *
+     * @param type JTI (one access token) or SUB (all tokens and sessions of the subject so far)
+     * @throws IllegalArgumentException if the value is blank
+     */
+    public TokenRevocation revoke(Revocation.Type type, String value, String reason, String revokedBy) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("value is required");
+        }
+        // "iat" has second precision: tokens issued in the second of the revocation are revoked too
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setRevocTp(type.name().toLowerCase(Locale.ROOT));
+        revocation.setRevocVal(value.trim());
+        revocation.setRevocRsn(reason);
+        revocation.setRevocDt(now);
+        revocation.setExpDt(now.plus(type == Revocation.Type.JTI ? accessTokenTtl : refreshTokenTtl));
+        revocation.setCreUsrId(revokedBy);
+        revocationMapper.deleteExpiredRevocations();
+        revocationMapper.insertRevocation(revocation);
+        revocations.apply(List.of(toRevocation(revocation)), now);
+        log.info("Revoked {} {} by {} ({})", revocation.getRevocTp(), revocation.getRevocVal(), revokedBy, reason);
+        return revocation;
+    }
+
+    /**
+     * Feed page after a cursor, in the RevocationFeed format.
+     */
+    public String feed(long since, int limit) {
+        List<TokenRevocation> rows = revocationMapper.selectRevocationsSince(since, SETTLE_SECONDS, limit);
+        List<Revocation> page = new ArrayList<>(rows.size());
+        for (TokenRevocation row : rows) {
+            page.add(toRevocation(row));
+        }
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).getRevocId();
+        return RevocationFeed.format(next, page);
+    }
+
+    void poll() {
+        try {
+            List<TokenRevocation> rows;
+            do {
+                rows = revocationMapper.selectRevocationsSince(cursor, SETTLE_SECONDS, MAX_FEED_PAGE);
+                List<Revocation> page = new ArrayList<>(rows.size());
+                for (TokenRevocation row : rows) {
+                    page.add(toRevocation(row));
+                    cursor = row.getRevocId();
+                }
+                revocations.apply(page, Instant.now());
+            } while (rows.size() == MAX_FEED_PAGE);
+        } catch (RuntimeException e) {
+            log.warn("Reading token revocations failed: {}", e.toString());
+        }
+    }
+
+    private static Revocation toRevocation(TokenRevocation row) {
+        return new Revocation(Revocation.Type.valueOf(row.getRevocTp().toUpperCase(Locale.ROOT)), row.getRevocVal(),
+                row.getRevocDt(), row.getExpDt());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("revocation-poller").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
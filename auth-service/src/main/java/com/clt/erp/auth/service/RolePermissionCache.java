@@ -0,0 +1,63 @@
+package com.clt.erp.auth.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.clt.erp.auth.mapper.AuthMapper;
+import com.clt.erp.common.metrics.CacheMetrics;
+import com.clt.erp.common.security.Permission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiled permissions per role (CO_ID, ROLE_ID): the Permission bitmask of its ADM_ROLE_PERM rows and its
+ * granted authorities. An entry is valid for one ADM_ROLE.UPD_DT, which the login query already returns and
+ * which the ADM_ROLE_PERM trigger bumps on every permission change: an edited role is recompiled by the first
+ * login after the edit, with no extra statement for unchanged roles. State is per auth-service instance.
+ *
+ * Metrics: erp.cache.gets and erp.cache.hit.ratio (tag cache=role-permissions).
+ */
+@Slf4j
+@Service
+public class RolePermissionCache {
+
+    private final AuthMapper authMapper;
+    private final Map<String, CompiledRole> roles = new ConcurrentHashMap<>();
+    private final CacheMetrics metrics;
+
+    public RolePermissionCache(AuthMapper authMapper, MeterRegistry meterRegistry) {
+        this.authMapper = authMapper;
+        this.metrics = new CacheMetrics(meterRegistry, "role-permissions");
+    }
+
+    public CompiledRole get(String coId, String roleId, Instant roleUpdDt) {
+        String key = coId + "::" + roleId;
+        CompiledRole cached = roles.get(key);
+        if (cached != null && roleUpdDt != null && roleUpdDt.equals(cached.updDt())) {
+            metrics.hit();
+            return cached;
+        }
+        metrics.miss();
+        List<String> codes = authMapper.selectRolePermissions(coId, roleId);
+        CompiledRole compiled = new CompiledRole(roleUpdDt, Permission.maskOf(codes),
+                List.of(new SimpleGrantedAuthority("ROLE_" + roleId)));
+        if (Long.bitCount(compiled.permissions()) < codes.size()) {
+            log.debug("Role {} has permission codes unknown to this version: {}", key, codes);
+        }
+        roles.put(key, compiled);
+        return compiled;
+    }
+
+    /**
+     * Permissions of a role as of one ADM_ROLE.UPD_DT.
+     */
+    public record CompiledRole(Instant updDt, long permissions, List<GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.clt.erp.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.clt.erp.auth.mapper.AuthMapper;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.model.UserVersion;
+import com.clt.erp.common.exception.BizException;
+import com.clt.erp.common.metrics.CacheMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Current state of the user behind a session whose tokens are renewed (refresh token grant, or silent renewal
+ * through /oauth2/authorize with the login session). Both reuse the principal loaded at login, so without a
+ * check a renewed token would carry login-time permissions and keep working for a deactivated user.
+ *
+ * A principal loaded less than fresh-for ago (authenticatedAt) is current by definition: the token mints of the
+ * login itself (authorization code exchange) run no statement.
+ *
+ * Each renewal reads the user's version stamp (one single-row statement). While it matches the principal -
+ * nearly always - the principal is used as is; after a change the user is loaded again (AuthService), once per
+ * new version: reloaded principals are kept per username, bounded like the claims cache.
+ *
+ * Metrics: erp.cache.gets and erp.cache.hit.ratio (tag cache=session-user; miss = full reload).
+ */
+@Service
+public class SessionUserService {
+
+    private final AuthMapper authMapper;
+    private final UserDetailsService userDetailsService;
+    private final int maxEntries;
+    private final Duration freshFor;
+    private final Map<String, UserInfo> reloaded = new ConcurrentHashMap<>();
+    private final CacheMetrics metrics;
+
+    public SessionUserService(AuthMapper authMapper, UserDetailsService userDetailsService,
+            @Value("${erp.auth.claims-cache.max-entries:10000}") int maxEntries,
+            @Value("${erp.auth.session-user.fresh-for:1m}") Duration freshFor, MeterRegistry meterRegistry) {
+        this.authMapper = authMapper;
+        this.userDetailsService = userDetailsService;
+        this.maxEntries = maxEntries;
+        this.freshFor = freshFor;
+        this.metrics = new CacheMetrics(meterRegistry, "session-user");
+    }
+
+    /**
+     * @return the principal itself while it is current, otherwise the user as it is now
+     * @throws UsernameNotFoundException if the user no longer exists
+     * @throws BizException if the user or the company is no longer active
+     */
+    public UserInfo current(UserInfo principal) {
+        Instant authenticatedAt = principal.getAuthenticatedAt();
+        if (authenticatedAt != null && authenticatedAt.plus(freshFor).isAfter(Instant.now())) {
+            return principal;
+        }
+        String username = principal.getUsername();
+        UserVersion version = authMapper.selectUserVersion(username);
+        if (version == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        if (!version.isActive()) {
+            throw new BizException("INACTIVE_USER", null, "User or company is not active");
+        }
+        if (version.isVersionOf(principal)) {
+            metrics.hit();
+            return principal;
+        }
+        UserInfo cached = reloaded.get(username);
+        if (cached != null && version.isVersionOf(cached)) {
+            metrics.hit();
+            return cached;
+        }
+        metrics.miss();
+        UserInfo current = (UserInfo) userDetailsService.loadUserByUsername(username);
+        if (cached == null && reloaded.size() >= maxEntries) {
+            reloaded.clear();
+        }
+        reloaded.put(username, current);
+        return current;
+    }
+}
@@ -0,0 +1,59 @@
+package com.clt.erp.auth.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.clt.erp.auth.model.UserClaims;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.common.metrics.CacheMetrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Latest claims projection (UserClaims) per user, so token mints and refreshes of the same user version
+ * reuse one immutable template. A principal of another version (the user was updated, or the company time
+ * zone changed) gets a projection of its own; it replaces the cached one unless it is older.
+ *
+ * Bounded by erp.auth.claims-cache.max-entries: when full, the cache is emptied and refills with the users
+ * that are still active. State is per auth-service instance.
+ *
+ * Metrics: erp.cache.gets and erp.cache.hit.ratio (tag cache=user-claims), erp.auth.claims.cache.size.
+ */
+@Service
+public class UserClaimsCache {
+
+    private final int maxEntries;
+    private final Map<String, UserClaims> claims = new ConcurrentHashMap<>();
+    private final CacheMetrics metrics;
+
+    public UserClaimsCache(@Value("${erp.auth.claims-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        Gauge.builder("erp.auth.claims.cache.size", claims, Map::size)
+                .description("Users with a cached claims projection")
+                .register(meterRegistry);
+        this.metrics = new CacheMetrics(meterRegistry, "user-claims");
+    }
+
+    public UserClaims get(UserInfo userInfo) {
+        String username = userInfo.getUsername();
+        UserClaims cached = username != null ? claims.get(username) : null;
+        if (cached != null && cached.isVersionOf(userInfo)) {
+            metrics.hit();
+            return cached;
+        }
+        metrics.miss();
+        UserClaims built = UserClaims.of(userInfo);
+        if (username != null && (cached == null || !cached.isNewerThan(userInfo))) {
+            if (cached == null && claims.size() >= maxEntries) {
+                claims.clear();
+            }
+            claims.put(username, built);
+        }
+        return built;
+    }
+}
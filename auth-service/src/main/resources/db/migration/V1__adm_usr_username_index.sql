@@ -0,0 +1,10 @@
+-- Login lookups (AuthMapper loadUserByUsername / isActiveUser) match the whole username "CO_ID::USR_ID":
+--     WHERE usr.CO_ID || '::' || usr.USR_ID = ?
+-- The (CO_ID, USR_ID) primary key cannot serve that predicate, so each login scanned ADM_USR.
+-- This expression index matches the mapper's expression exactly.
+--
+-- Built CONCURRENTLY so logins keep working during the build (Flyway runs it outside a transaction,
+-- see the .conf file). A failed concurrent build leaves an INVALID index behind; dropping it first makes
+-- the migration safe to re-run after lock_timeout or a cancelled deploy.
+DROP INDEX CONCURRENTLY IF EXISTS ADM_USR_IX1;
+CREATE INDEX CONCURRENTLY ADM_USR_IX1 ON ADM_USR ((CO_ID || '::' || USR_ID));
@@ -0,0 +1,36 @@
+-- Permissions per role (codes of com.clt.erp.common.security.Permission). auth-service compiles them into the
+-- bitmask of the JWT "perms" claim and caches the mask per role, keyed by ADM_ROLE.UPD_DT; the trigger below
+-- bumps UPD_DT on every permission change, so a role edit reaches the next login without a cache flush.
+-- Timestamps are UTC (now() AT TIME ZONE 'UTC'), as in the later migrations: a TIMESTAMP column stores plain
+-- now() in the session's time zone.
+ALTER TABLE ADM_ROLE ADD COLUMN IF NOT EXISTS UPD_DT TIMESTAMP NOT NULL DEFAULT (now() AT TIME ZONE 'UTC');
+
+CREATE TABLE IF NOT EXISTS ADM_ROLE_PERM (
+    CO_ID    VARCHAR(20) NOT NULL,
+    ROLE_ID  VARCHAR(20) NOT NULL,
+    PERM_CD  VARCHAR(50) NOT NULL,
+    CRE_DT   TIMESTAMP   NOT NULL DEFAULT (now() AT TIME ZONE 'UTC'),
+    PRIMARY KEY (CO_ID, ROLE_ID, PERM_CD),
+    FOREIGN KEY (CO_ID, ROLE_ID) REFERENCES ADM_ROLE (CO_ID, ROLE_ID) ON DELETE CASCADE
+);
+
+CREATE OR REPLACE FUNCTION ADM_ROLE_PERM_TOUCH_ROLE() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE ADM_ROLE SET UPD_DT = now() AT TIME ZONE 'UTC' WHERE CO_ID = OLD.CO_ID AND ROLE_ID = OLD.ROLE_ID;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE ADM_ROLE SET UPD_DT = now() AT TIME ZONE 'UTC' WHERE CO_ID = NEW.CO_ID AND ROLE_ID = NEW.ROLE_ID;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER ADM_ROLE_PERM_TOUCH AFTER INSERT OR UPDATE OR DELETE ON ADM_ROLE_PERM
+    FOR EACH ROW EXECUTE FUNCTION ADM_ROLE_PERM_TOUCH_ROLE();
+
+-- Existing roles keep what they could do before permissions were checked: everything
+INSERT INTO ADM_ROLE_PERM (CO_ID, ROLE_ID, PERM_CD)
+SELECT role.CO_ID, role.ROLE_ID, perm.PERM_CD
+FROM ADM_ROLE role CROSS JOIN (VALUES ('HRM_EMPLOYEE_READ'), ('HRM_EMPLOYEE_WRITE')) AS perm (PERM_CD)
+ON CONFLICT DO NOTHING;
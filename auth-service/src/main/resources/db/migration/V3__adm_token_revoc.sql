@@ -0,0 +1,23 @@
+-- Token revocations published to the resource servers (GET /revocations): one access token by its "jti", or
+-- every token of a subject ("sub", CO_ID::USR_ID) issued up to REVOC_DT. REVOC_DT is set by auth-service, on
+-- the clock that stamps the tokens' "iat"; CRE_DT is the database's, for the feed's settle window. Rows can be
+-- deleted once EXP_DT has passed: no token they match is still valid. The feed is read by REVOC_ID.
+CREATE TABLE IF NOT EXISTS ADM_TOKEN_REVOC (
+    REVOC_ID   BIGINT       GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    REVOC_TP   VARCHAR(3)   NOT NULL CHECK (REVOC_TP IN ('jti', 'sub')),
+    REVOC_VAL  VARCHAR(200) NOT NULL,
+    REVOC_RSN  VARCHAR(500),
+    REVOC_DT   TIMESTAMP    NOT NULL,
+    EXP_DT     TIMESTAMP    NOT NULL,
+    CRE_USR_ID VARCHAR(50),
+    CRE_DT     TIMESTAMP    NOT NULL DEFAULT (now() AT TIME ZONE 'UTC')
+);
+
+CREATE INDEX IF NOT EXISTS ADM_TOKEN_REVOC_EXP_DT_IDX ON ADM_TOKEN_REVOC (EXP_DT);
+
+-- Administrators may revoke tokens (POST /revocations)
+INSERT INTO ADM_ROLE_PERM (CO_ID, ROLE_ID, PERM_CD)
+SELECT CO_ID, ROLE_ID, 'ADM_TOKEN_REVOKE'
+FROM ADM_ROLE
+WHERE ROLE_ID = 'ADMIN'
+ON CONFLICT DO NOTHING;
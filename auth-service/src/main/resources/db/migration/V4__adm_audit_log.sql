@@ -0,0 +1,18 @@
+-- Audit trail of the changes made through the MyBatis mappers (common-libs AuditInterceptor / AuditWriter):
+-- who (USR_ID) changed what (STMT_ID, CMD_TP, PARAM_VAL: the statement's parameters as JSON) in which tenant,
+-- and when. CHG_DT is when the statement ran, CRE_DT when its audit row was written (batched, usually after the
+-- commit): CRE_DT - CHG_DT is the audit writer's lag. Append-only.
+CREATE TABLE IF NOT EXISTS ADM_AUDIT_LOG (
+    AUDIT_ID   BIGINT        GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    CO_ID      VARCHAR(20),
+    USR_ID     VARCHAR(50),
+    CHG_DT     TIMESTAMP     NOT NULL,
+    STMT_ID    VARCHAR(200)  NOT NULL,
+    CMD_TP     VARCHAR(6)    NOT NULL,
+    ROW_CNT    INTEGER       NOT NULL,
+    PARAM_VAL  TEXT,
+    CRE_DT     TIMESTAMP     NOT NULL DEFAULT (now() AT TIME ZONE 'UTC')
+);
+
+-- A tenant's changes over a period
+CREATE INDEX IF NOT EXISTS ADM_AUDIT_LOG_IX1 ON ADM_AUDIT_LOG (CO_ID, CHG_DT);
@@ -0,0 +1,132 @@
+package com.clt.erp.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.clt.erp.auth.mapper.AuthMapper;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.model.UserVersion;
+import com.clt.erp.common.exception.BizException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionUserServiceTests {
+
+	private static final String USERNAME = "CLT::admin";
+	private static final Instant VERSION_1 = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Instant VERSION_2 = Instant.parse("2026-02-01T00:00:00Z");
+
+	private final AuthMapper authMapper = mock(AuthMapper.class);
+	private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+	private final SessionUserService service = new SessionUserService(authMapper, userDetailsService, 100,
+			Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+	@Test
+	void currentPrincipalIsUsedAsIs() {
+		UserInfo principal = user(VERSION_1);
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(VERSION_1, "Y"));
+
+		assertSame(principal, service.current(principal));
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void neverUpdatedUserIsUsedAsIs() {
+		UserInfo principal = user(null);
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(null, "Y"));
+
+		assertSame(principal, service.current(principal));
+		verifyNoInteractions(userDetailsService);
+
+		UserInfo updated = user(VERSION_1);
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(VERSION_1, "Y"));
+		when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(updated);
+		assertSame(updated, service.current(principal));
+	}
+
+	@Test
+	void roleChangeWithoutUpdDtIsReloaded() {
+		for (Instant updDt : new Instant[] { VERSION_1, null }) {
+			UserInfo principal = user(updDt);
+			UserInfo demoted = user(updDt);
+			demoted.setRoleId("VIEWER");
+			UserVersion version = version(updDt, "Y");
+			version.setRoleId("VIEWER");
+			when(authMapper.selectUserVersion(USERNAME)).thenReturn(version);
+			when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(demoted);
+
+			assertSame(demoted, service.current(principal));
+		}
+	}
+
+	@Test
+	void freshLoginIsNotChecked() {
+		UserInfo principal = user(VERSION_1);
+		principal.setAuthenticatedAt(Instant.now());
+
+		assertSame(principal, service.current(principal));
+		verifyNoInteractions(authMapper, userDetailsService);
+
+		principal.setAuthenticatedAt(Instant.now().minus(Duration.ofMinutes(2)));
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(VERSION_1, "Y"));
+		assertSame(principal, service.current(principal));
+		verify(authMapper).selectUserVersion(USERNAME);
+	}
+
+	@Test
+	void changedUserIsReloadedOncePerVersion() {
+		UserInfo principal = user(VERSION_1);
+		UserInfo updated = user(VERSION_2);
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(VERSION_2, "Y"));
+		when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(updated);
+
+		assertSame(updated, service.current(principal));
+		assertSame(updated, service.current(principal));
+		verify(userDetailsService, times(1)).loadUserByUsername(USERNAME);
+	}
+
+	@Test
+	void inactiveOrDeletedUserIsRejected() {
+		UserInfo principal = user(VERSION_1);
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(version(VERSION_1, "N"));
+		BizException inactive = assertThrows(BizException.class, () -> service.current(principal));
+		assertEquals("INACTIVE_USER", inactive.getErrorCode());
+
+		when(authMapper.selectUserVersion(USERNAME)).thenReturn(null);
+		assertThrows(UsernameNotFoundException.class, () -> service.current(principal));
+	}
+
+	private static UserVersion version(Instant updDt, String useFlg) {
+		UserVersion version = new UserVersion();
+		version.setUpdDt(updDt);
+		version.setRoleId("ADMIN");
+		version.setCoTmz("Asia/Ho_Chi_Minh");
+		version.setUseFlg(useFlg);
+		version.setCoUseFlg("Y");
+		return version;
+	}
+
+	private static UserInfo user(Instant updDt) {
+		UserInfo userInfo = new UserInfo();
+		userInfo.setUsername(USERNAME);
+		userInfo.setCoId("CLT");
+		userInfo.setUsrId("admin");
+		userInfo.setRoleId("ADMIN");
+		userInfo.setCoTmz("Asia/Ho_Chi_Minh");
+		userInfo.setUpdDt(updDt);
+		return userInfo;
+	}
+}
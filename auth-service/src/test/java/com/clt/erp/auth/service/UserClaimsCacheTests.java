@@ -0,0 +1,110 @@
+package com.clt.erp.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.clt.erp.auth.model.UserClaims;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.common.security.Permission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserClaimsCacheTests {
+
+	private static final Instant VERSION_1 = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Instant VERSION_2 = Instant.parse("2026-02-01T00:00:00Z");
+
+	private final UserClaimsCache cache = new UserClaimsCache(100, new SimpleMeterRegistry());
+
+	@Test
+	void standardClaimsFollowScopesAndCustomClaimsAlwaysApply() {
+		UserClaims claims = cache.get(user(VERSION_1, "Administrator"));
+
+		Map<String, Object> none = claims.tokenClaims(UserClaims.scopeMask(Set.of()));
+		assertEquals(Set.of("co_id", "usr_id", "role_id", "co_tmz", "authorities", "perms"), none.keySet());
+		assertEquals(Permission.HRM_EMPLOYEE_READ.mask(), none.get(Permission.CLAIM));
+
+		Map<String, Object> openid = claims.tokenClaims(UserClaims.scopeMask(Set.of("openid", "email")));
+		assertEquals("CLT::admin", openid.get("sub"));
+		assertEquals("admin@clt.com", openid.get("email"));
+		assertEquals(true, openid.get("email_verified"));
+		assertFalse(openid.containsKey("name"));
+		assertEquals(Set.of("ROLE_ADMIN"), openid.get("authorities"));
+
+		Map<String, Object> userInfo = claims.userInfoClaims();
+		assertEquals("Administrator", userInfo.get("name"));
+		assertFalse(userInfo.containsKey("authorities"));
+	}
+
+	@Test
+	void projectionIsReusedPerUserVersion() {
+		UserClaims first = cache.get(user(VERSION_1, "Administrator"));
+		assertSame(first, cache.get(user(VERSION_1, "Administrator")));
+
+		UserClaims updated = cache.get(user(VERSION_2, "Admin"));
+		assertNotSame(first, updated);
+		assertEquals("Admin", updated.userInfoClaims().get("name"));
+
+		// a session loaded before the update keeps its own claims and does not evict the newer version
+		UserClaims stale = cache.get(user(VERSION_1, "Administrator"));
+		assertEquals("Administrator", stale.userInfoClaims().get("name"));
+		assertSame(updated, cache.get(user(VERSION_2, "Admin")));
+		assertTrue(updated.isVersionOf(user(VERSION_2, "Admin")));
+
+		// permission changes come from the role, not from the user row
+		UserInfo regranted = user(VERSION_2, "Admin");
+		regranted.setPermissions(Permission.maskOf(Permission.HRM_EMPLOYEE_READ, Permission.HRM_EMPLOYEE_WRITE));
+		assertNotSame(updated, cache.get(regranted));
+	}
+
+	@Test
+	void neverUpdatedUserIsCached() {
+		UserClaims first = cache.get(user(null, "Administrator"));
+		assertSame(first, cache.get(user(null, "Administrator")));
+		assertNotSame(first, cache.get(user(VERSION_1, "Administrator")));
+	}
+
+	@Test
+	void roleOrProfileChangeWithoutUpdDtIsRebuilt() {
+		for (Instant updDt : new Instant[] { VERSION_1, null }) {
+			UserClaims admin = cache.get(user(updDt, "Administrator"));
+
+			UserInfo demoted = user(updDt, "Administrator");
+			demoted.setRoleId("VIEWER");
+			UserClaims viewer = cache.get(demoted);
+			assertNotSame(admin, viewer);
+			assertEquals("VIEWER", viewer.userInfoClaims().get("role_id"));
+			assertSame(viewer, cache.get(demoted));
+
+			UserInfo renamed = user(updDt, "Admin");
+			renamed.setRoleId("VIEWER");
+			assertEquals("Admin", cache.get(renamed).userInfoClaims().get("name"));
+		}
+	}
+
+	private static UserInfo user(Instant updDt, String name) {
+		UserInfo userInfo = new UserInfo();
+		userInfo.setUsername("CLT::admin");
+		userInfo.setCoId("CLT");
+		userInfo.setUsrId("admin");
+		userInfo.setUsrNm(name);
+		userInfo.setUsrEml("admin@clt.com");
+		userInfo.setRoleId("ADMIN");
+		userInfo.setCoTmz("Asia/Ho_Chi_Minh");
+		userInfo.setUpdDt(updDt);
+		userInfo.setPermissions(Permission.HRM_EMPLOYEE_READ.mask());
+		userInfo.setAuthorities(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+		return userInfo;
+	}
+}
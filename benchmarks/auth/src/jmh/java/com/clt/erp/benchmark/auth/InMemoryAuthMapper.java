@@ -0,0 +1,85 @@
+package com.clt.erp.benchmark.auth;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.clt.erp.auth.mapper.AuthMapper;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.model.UserVersion;
+
+/**
+ * AuthMapper over in-memory users, so the benchmarks measure auth-service's CPU work without a database.
+ * touch() stands in for an update of the user row (new ADM_USR.UPD_DT).
+ */
+class InMemoryAuthMapper implements AuthMapper, UserDetailsService {
+
+    private final Map<String, UserInfo> users = new ConcurrentHashMap<>();
+
+    void put(UserInfo userInfo) {
+        users.put(userInfo.getUsername(), userInfo);
+    }
+
+    void touch(String username) {
+        UserInfo current = users.get(username);
+        UserInfo updated = copy(current);
+        updated.setUpdDt(current.getUpdDt().plusMillis(1));
+        users.put(username, updated);
+    }
+
+    @Override
+    public UserInfo loadUserByUsername(String username) {
+        UserInfo userInfo = users.get(username);
+        if (userInfo == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        UserInfo loaded = copy(userInfo);
+        loaded.setAuthenticatedAt(Instant.now());
+        return loaded;
+    }
+
+    @Override
+    public UserVersion selectUserVersion(String username) {
+        UserInfo userInfo = users.get(username);
+        if (userInfo == null) {
+            return null;
+        }
+        UserVersion version = new UserVersion();
+        version.setUpdDt(userInfo.getUpdDt());
+        version.setRoleId(userInfo.getRoleId());
+        version.setRoleUpdDt(userInfo.getRoleUpdDt());
+        version.setCoTmz(userInfo.getCoTmz());
+        version.setUseFlg("Y");
+        version.setCoUseFlg("Y");
+        return version;
+    }
+
+    @Override
+    public List<String> selectRolePermissions(String coId, String roleId) {
+        return List.of("HRM_EMPLOYEE_READ", "HRM_EMPLOYEE_WRITE");
+    }
+
+    private static UserInfo copy(UserInfo source) {
+        UserInfo copy = new UserInfo();
+        copy.setUsername(source.getUsername());
+        copy.setCoId(source.getCoId());
+        copy.setUsrId(source.getUsrId());
+        copy.setUsrNm(source.getUsrNm());
+        copy.setUsrEml(source.getUsrEml());
+        copy.setRoleId(source.getRoleId());
+        copy.setLangVal(source.getLangVal());
+        copy.setSysModVal(source.getSysModVal());
+        copy.setDtFmtVal(source.getDtFmtVal());
+        copy.setSysColrVal(source.getSysColrVal());
+        copy.setCoTmz(source.getCoTmz());
+        copy.setUpdDt(source.getUpdDt());
+        copy.setRoleUpdDt(source.getRoleUpdDt());
+        copy.setPermissions(source.getPermissions());
+        copy.setAuthorities(source.getAuthorities());
+        return copy;
+    }
+}
@@ -0,0 +1,152 @@
+package com.clt.erp.benchmark.auth;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
+
+import com.clt.erp.auth.config.OidcTokenCustomizer;
+import com.clt.erp.auth.model.UserClaims;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.service.SessionUserService;
+import com.clt.erp.auth.service.UserClaimsCache;
+import com.clt.erp.common.security.RevocationList;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Access-token hot path of auth-service and the resource servers:
+ * - customizeClaims: OidcTokenCustomizer on a fresh claims builder (per token mint/refresh), cached UserClaims,
+ *   session user check against an in-memory version stamp
+ * - buildClaims: UserClaims projection of a user (cache miss: first mint after login or user update)
+ * - encode: customizer + RS256 signing, as done by /oauth2/token
+ * - decode: RS256 verification + claim parsing, as done by api-gateway and hrm-service per request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtBenchmark {
+
+    private static final Set<String> SCOPES = Set.of(OidcScopes.OPENID, OidcScopes.PROFILE, OidcScopes.EMAIL);
+
+    private final InMemoryAuthMapper users = new InMemoryAuthMapper();
+    private final OidcTokenCustomizer customizer = new OidcTokenCustomizer(
+            new UserClaimsCache(10_000, new SimpleMeterRegistry()), new RevocationList(1000),
+            new SessionUserService(users, users, 10_000, Duration.ZERO, new SimpleMeterRegistry()));
+    private UserInfo userInfo;
+    private Authentication principal;
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .keyID("jwt-key-id")
+                .build();
+        encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+        decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+
+        userInfo = new UserInfo();
+        userInfo.setUsername("CLT::admin");
+        userInfo.setCoId("CLT");
+        userInfo.setUsrId("admin");
+        userInfo.setUsrNm("Administrator");
+        userInfo.setUsrEml("admin@clt.com");
+        userInfo.setRoleId("ADMIN");
+        userInfo.setLangVal("en");
+        userInfo.setSysModVal("light");
+        userInfo.setDtFmtVal("yyyy-MM-dd");
+        userInfo.setSysColrVal("#1677ff");
+        userInfo.setCoTmz("Asia/Ho_Chi_Minh");
+        userInfo.setUpdDt(Instant.parse("2026-01-01T00:00:00Z"));
+        userInfo.setAuthorities(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        users.put(userInfo);
+        principal = new UsernamePasswordAuthenticationToken(userInfo, null, userInfo.getAuthorities());
+
+        token = encode();
+    }
+
+    @Benchmark
+    public JwtClaimsSet.Builder customizeClaims() {
+        JwtEncodingContext context = context(JwsHeader.with(SignatureAlgorithm.RS256), baseClaims());
+        customizer.customize(context);
+        return context.getClaims();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildClaims() {
+        return UserClaims.of(userInfo).tokenClaims(UserClaims.scopeMask(SCOPES));
+    }
+
+    @Benchmark
+    public String encode() {
+        JwsHeader.Builder header = JwsHeader.with(SignatureAlgorithm.RS256);
+        JwtClaimsSet.Builder claims = baseClaims();
+        customizer.customize(context(header, claims));
+        return encoder.encode(JwtEncoderParameters.from(header.build(), claims.build())).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    private JwtClaimsSet.Builder baseClaims() {
+        Instant now = Instant.now();
+        return JwtClaimsSet.builder()
+                .issuer("http://localhost:8081")
+                .subject("CLT::admin")
+                .audience(List.of("erp-frontend"))
+                .issuedAt(now)
+                .notBefore(now)
+                .expiresAt(now.plus(Duration.ofHours(1)));
+    }
+
+    private JwtEncodingContext context(JwsHeader.Builder header, JwtClaimsSet.Builder claims) {
+        return JwtEncodingContext.with(header, claims)
+                .principal(principal)
+                .authorizedScopes(SCOPES)
+                .tokenType(OAuth2TokenType.ACCESS_TOKEN)
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.clt.erp.benchmark.auth;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Principal;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2RefreshTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2RefreshTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContext;
+import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContextHolder;
+import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
+import org.springframework.security.oauth2.server.authorization.token.DelegatingOAuth2TokenGenerator;
+import org.springframework.security.oauth2.server.authorization.token.JwtGenerator;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2RefreshTokenGenerator;
+
+import com.clt.erp.auth.config.OidcTokenCustomizer;
+import com.clt.erp.auth.model.UserInfo;
+import com.clt.erp.auth.service.SessionUserService;
+import com.clt.erp.auth.service.UserClaimsCache;
+import com.clt.erp.common.security.Permission;
+import com.clt.erp.common.security.RevocationList;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Capacity of auth-service for token renewals: one refresh token grant as /oauth2/token runs it
+ * (OAuth2RefreshTokenAuthenticationProvider: authorization lookup, session user check, access token and,
+ * for "openid", ID token, both RS256-signed, authorization saved), single-threaded, so ops/s = grants/s per core.
+ * The database is replaced by an in-memory AuthMapper: add the version stamp statement (or the login statement
+ * of a reload) per grant on the database side. The session user is checked on every grant (fresh-for zero): real
+ * renewals come long after the login.
+ *
+ * - userChanged: false = the principal is current (version stamp matches); true = every grant follows a user
+ *   update and reloads the user
+ * - sessions: authorizations in the in-memory authorization store (other users' sessions)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RefreshGrantBenchmark {
+
+    private static final Set<String> SCOPES = Set.of(OidcScopes.OPENID, OidcScopes.PROFILE, OidcScopes.EMAIL);
+    private static final String USERNAME = "CLT::admin";
+
+    @Param({"false", "true"})
+    private boolean userChanged;
+
+    @Param({"1", "10000"})
+    private int sessions;
+
+    private final InMemoryAuthMapper users = new InMemoryAuthMapper();
+    private OAuth2RefreshTokenAuthenticationProvider provider;
+    private OAuth2ClientAuthenticationToken client;
+    private String refreshToken;
+    private AuthorizationServerContext serverContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .keyID("jwt-key-id")
+                .build();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtGenerator jwtGenerator = new JwtGenerator(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey))));
+        jwtGenerator.setJwtCustomizer(new OidcTokenCustomizer(new UserClaimsCache(10_000, registry),
+                new RevocationList(1000), new SessionUserService(users, users, 10_000, Duration.ZERO, registry)));
+
+        RegisteredClient registeredClient = RegisteredClient.withId(UUID.randomUUID().toString())
+                .clientId("erp-client")
+                .clientSecret("secret")
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
+                .redirectUri("http://localhost:3000/callback")
+                .scopes(scopes -> scopes.addAll(SCOPES))
+                .tokenSettings(TokenSettings.builder()
+                        .accessTokenTimeToLive(Duration.ofMinutes(15))
+                        .refreshTokenTimeToLive(Duration.ofDays(7))
+                        .build())
+                .build();
+        client = new OAuth2ClientAuthenticationToken(registeredClient, ClientAuthenticationMethod.CLIENT_SECRET_BASIC,
+                "secret");
+
+        InMemoryOAuth2AuthorizationService authorizationService = new InMemoryOAuth2AuthorizationService();
+        for (int i = 1; i < sessions; i++) {
+            authorizationService.save(authorization(registeredClient, user("CLT::user" + i), UUID.randomUUID().toString()));
+        }
+        UserInfo admin = user(USERNAME);
+        users.put(admin);
+        refreshToken = UUID.randomUUID().toString();
+        authorizationService.save(authorization(registeredClient, users.loadUserByUsername(USERNAME), refreshToken));
+
+        AuthorizationServerSettings settings = AuthorizationServerSettings.builder()
+                .issuer("http://localhost:8081")
+                .build();
+        serverContext = new AuthorizationServerContext() {
+            @Override
+            public String getIssuer() {
+                return settings.getIssuer();
+            }
+
+            @Override
+            public AuthorizationServerSettings getAuthorizationServerSettings() {
+                return settings;
+            }
+        };
+        provider = new OAuth2RefreshTokenAuthenticationProvider(authorizationService,
+                new DelegatingOAuth2TokenGenerator(jwtGenerator, new OAuth2RefreshTokenGenerator()));
+    }
+
+    @Benchmark
+    public Authentication refreshGrant() {
+        if (userChanged) {
+            users.touch(USERNAME);
+        }
+        // set per request by the token endpoint filter
+        AuthorizationServerContextHolder.setContext(serverContext);
+        return provider.authenticate(new OAuth2RefreshTokenAuthenticationToken(refreshToken, client, null, null));
+    }
+
+    private static OAuth2Authorization authorization(RegisteredClient registeredClient, UserInfo userInfo,
+            String refreshTokenValue) {
+        Instant now = Instant.now();
+        Authentication principal = new UsernamePasswordAuthenticationToken(userInfo, null, userInfo.getAuthorities());
+        return OAuth2Authorization.withRegisteredClient(registeredClient)
+                .principalName(userInfo.getUsername())
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .authorizedScopes(SCOPES)
+                .attribute(Principal.class.getName(), principal)
+                .token(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, UUID.randomUUID().toString(), now,
+                        now.plus(Duration.ofMinutes(15)), SCOPES))
+                .refreshToken(new OAuth2RefreshToken(refreshTokenValue, now, now.plus(Duration.ofDays(7))))
+                .token(new OidcIdToken(UUID.randomUUID().toString(), now, now.plus(Duration.ofMinutes(15)),
+                        Map.of("sub", userInfo.getUsername())))
+                .build();
+    }
+
+    private static UserInfo user(String username) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setUsername(username);
+        userInfo.setCoId("CLT");
+        userInfo.setUsrId(username.substring(5));
+        userInfo.setUsrNm("Administrator");
+        userInfo.setUsrEml("admin@clt.com");
+        userInfo.setRoleId("ADMIN");
+        userInfo.setLangVal("en");
+        userInfo.setSysModVal("light");
+        userInfo.setDtFmtVal("yyyy-MM-dd");
+        userInfo.setSysColrVal("#1677ff");
+        userInfo.setCoTmz("Asia/Ho_Chi_Minh");
+        userInfo.setUpdDt(Instant.parse("2026-01-01T00:00:00Z"));
+        userInfo.setRoleUpdDt(Instant.parse("2026-01-01T00:00:00Z"));
+        userInfo.setPermissions(Permission.maskOf(Permission.HRM_EMPLOYEE_READ, Permission.HRM_EMPLOYEE_WRITE));
+        userInfo.setAuthorities(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        return userInfo;
+    }
+}
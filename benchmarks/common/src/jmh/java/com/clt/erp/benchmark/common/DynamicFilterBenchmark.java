@@ -0,0 +1,95 @@
+package com.clt.erp.benchmark.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.clt.erp.common.dto.DynamicFilterDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * DynamicFilterDto handling as done for a grid search request:
+ * binding the filter list from the request body and @Valid (field name @Pattern) validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DynamicFilterBenchmark {
+
+    private static final TypeReference<List<DynamicFilterDto>> FILTER_LIST = new TypeReference<>() {};
+
+    @Param({"5", "20"})
+    private int filterCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private byte[] body;
+    private List<DynamicFilterDto> filters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        List<Map<String, Object>> request = new ArrayList<>();
+        for (int i = 0; i < filterCount; i++) {
+            switch (i % 4) {
+                case 0 -> request.add(Map.of("field", "dept_cd", "operator", "EQUALS", "value", "ENG", "valueType", "STRING"));
+                case 1 -> request.add(Map.of("field", "salary", "operator", "BETWEEN", "value", 50000, "valueTo", 90000, "valueType", "NUMBER"));
+                case 2 -> request.add(Map.of("field", "position", "operator", "IN", "value", List.of("PM", "DEVOPS", "QA"), "valueType", "STRING"));
+                default -> request.add(Map.of("field", "hire_dt", "operator", "GREATER_THAN", "value", "2020-01-01", "valueType", "DATE"));
+            }
+        }
+        body = objectMapper.writeValueAsBytes(request);
+        filters = bind();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public List<DynamicFilterDto> bind() throws Exception {
+        return objectMapper.readValue(body, FILTER_LIST);
+    }
+
+    @Benchmark
+    public int validate() {
+        int violations = 0;
+        for (DynamicFilterDto filter : filters) {
+            violations += validator.validate(filter).size();
+        }
+        return violations;
+    }
+
+    @Benchmark
+    public int bindAndValidate() throws Exception {
+        int violations = 0;
+        for (DynamicFilterDto filter : bind()) {
+            for (ConstraintViolation<DynamicFilterDto> ignored : validator.validate(filter)) {
+                violations++;
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,71 @@
+package com.clt.erp.benchmark.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.clt.erp.common.security.RevocationList;
+import com.clt.erp.common.security.RevocationList.Revocation;
+
+/**
+ * Per-request revocation check of the resource servers (JwtRevocationValidator): a valid token, whose jti and
+ * sub are not in the list (bloom filter miss, the common case), and a revoked one (bloom hit, exact lookup).
+ * Token ids are fresh strings per token as after JWT parsing, so String.hashCode is computed inside the check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationListBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    @Param({"0", "1000", "100000"})
+    private int revoked;
+
+    private final RevocationList list = new RevocationList(1000);
+    private final Instant issuedAt = Instant.now();
+    private String[] validJtis;
+    private String[] revokedJtis;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant now = Instant.now();
+        List<Revocation> revocations = new ArrayList<>(revoked);
+        for (int i = 0; i < revoked; i++) {
+            revocations.add(new Revocation(Revocation.Type.JTI, UUID.randomUUID().toString(), now,
+                    now.plus(Duration.ofHours(1))));
+        }
+        list.apply(revocations, now);
+        validJtis = new String[TOKENS];
+        revokedJtis = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            validJtis[i] = UUID.randomUUID().toString();
+            revokedJtis[i] = revoked == 0 ? validJtis[i] : revocations.get(i % revoked).value();
+        }
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        // new String: the hash code is not cached yet, as for a freshly decoded token
+        return list.isRevoked(new String(validJtis[next++ & (TOKENS - 1)]), "T0001::user01", issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return list.isRevoked(new String(revokedJtis[next++ & (TOKENS - 1)]), "T0001::user01", issuedAt);
+    }
+}
@@ -0,0 +1,78 @@
+package com.clt.erp.benchmark.hrm;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.clt.erp.hrm.utils.CommonFunction;
+
+/**
+ * CommonFunction claim extraction from the SecurityContext, as used on every hrm-service request.
+ * userLoggingFilter mirrors the six lookups UserLoggingFilter performs per request.
+ *
+ * Thread-scoped state: the SecurityContext is thread-local, like in the servlet container.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimExtractionBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("CLT::admin")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim("co_id", "CLT")
+                .claim("usr_id", "admin")
+                .claim("name", "Administrator")
+                .claim("email", "admin@clt.com")
+                .claim("role_id", "ADMIN")
+                .claim("lang_val", "en")
+                .claim("co_tmz", "Asia/Ho_Chi_Minh")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String getUserId() {
+        return CommonFunction.getUserId();
+    }
+
+    @Benchmark
+    public String getCompanyId() {
+        return CommonFunction.getCompanyId();
+    }
+
+    @Benchmark
+    public void userLoggingFilter(Blackhole blackhole) {
+        if (CommonFunction.isJwtAuthentication()) {
+            blackhole.consume(CommonFunction.getUsername());
+            blackhole.consume(CommonFunction.getName());
+            blackhole.consume(CommonFunction.getEmail());
+            blackhole.consume(CommonFunction.getUserId());
+            blackhole.consume(CommonFunction.getCompanyId());
+            blackhole.consume(CommonFunction.getRoleId());
+        }
+    }
+}
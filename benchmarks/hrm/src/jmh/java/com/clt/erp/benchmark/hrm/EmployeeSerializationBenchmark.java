@@ -0,0 +1,71 @@
+package com.clt.erp.benchmark.hrm;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.clt.erp.hrm.dto.EmployeeDto;
+import com.clt.erp.hrm.dto.EmployeeProjectionDto;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * EmployeeDto JSON serialization at several list sizes, full vs. a 3-field grid projection
+ * (fields=employeeCode,firstName,lastName: rows as EmployeeMapper.selectEmployeeProjection returns them, with
+ * only the id and the selected columns read).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private List<EmployeeDto> employees;
+    private List<EmployeeProjectionDto> projected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            employees.add(new EmployeeDto((long) i, String.format("EMP%06d", i), "First" + i, "Last" + i,
+                    "employee" + i + "@company.com", "+1-555-" + (1000 + i % 9000), "Engineering",
+                    "Software Engineer", LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28),
+                    new BigDecimal(50000 + (i % 500) * 100).setScale(2), "ACTIVE"));
+        }
+        projected = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            EmployeeProjectionDto employee = new EmployeeProjectionDto();
+            employee.setId((long) i);
+            employee.setEmployeeCode(String.format("EMP%06d", i));
+            employee.setFirstName("First" + i);
+            employee.setLastName("Last" + i);
+            projected.add(employee);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeFull() {
+        return json.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeProjected() {
+        return json.writeValueAsBytes(projected);
+    }
+}
@@ -0,0 +1,124 @@
+package com.clt.erp.benchmark.hrm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Tenant-scoped employee queries on embedded Postgres: HRM_EMP as hrm-service creates it (one table, migration
+ * read from its classpath) vs. the same rows hash-partitioned by CO_ID into 16 partitions with the same indexes,
+ * the layout that was measured and not adopted. 1000 tenants x 200 employees; each invocation queries the next
+ * tenant round-robin.
+ *
+ * listEmployees is EmployeeMapper.selectEmployees; searchByDepartment is a filtered grid query.
+ * Statements are prepared once, so after the driver's prepare threshold Postgres may switch to a generic
+ * plan and prune partitions at execution time, as it does for the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionPruningBenchmark {
+
+    private static final int TENANTS = 1000;
+    private static final int EMPLOYEES_PER_TENANT = 200;
+    private static final int PARTITIONS = 16;
+
+    @Param({"HRM_EMP", "HRM_EMP_HASH16"})
+    private String table;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement list;
+    private PreparedStatement search;
+    private int tenant;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(migration("/db/migration/V1__create_hrm_emp.sql"));
+            statement.execute("INSERT INTO HRM_EMP (CO_ID, EMP_ID, EMP_CD, FIRST_NM, LAST_NM, EML, DEPT_NM,"
+                    + " POS_NM, HIRE_DT, SAL_AMT)"
+                    + " SELECT 'T' || lpad(t::text, 4, '0'), e, 'EMP' || lpad(e::text, 6, '0'), 'First' || e,"
+                    + " 'Last' || e, 'emp' || e || '@example.com',"
+                    + " (ARRAY['Engineering', 'Sales', 'Marketing', 'Finance', 'HR', 'Operations'])[e % 6 + 1],"
+                    + " 'Engineer', DATE '2010-01-01' + e, 40000 + e * 100"
+                    + " FROM generate_series(1, " + TENANTS + ") t, generate_series(1, " + EMPLOYEES_PER_TENANT
+                    + ") e");
+            statement.execute("CREATE TABLE HRM_EMP_HASH16 (LIKE HRM_EMP INCLUDING DEFAULTS INCLUDING INDEXES)"
+                    + " PARTITION BY HASH (CO_ID)");
+            for (int p = 0; p < PARTITIONS; p++) {
+                statement.execute(String.format("CREATE TABLE HRM_EMP_HASH16_P%02d PARTITION OF HRM_EMP_HASH16"
+                        + " FOR VALUES WITH (MODULUS %d, REMAINDER %d)", p, PARTITIONS, p));
+            }
+            statement.execute("INSERT INTO HRM_EMP_HASH16 SELECT * FROM HRM_EMP");
+            statement.execute("VACUUM ANALYZE");
+        }
+        list = connection.prepareStatement("SELECT EMP_ID, EMP_CD, FIRST_NM, LAST_NM, EML, PHN_NO, DEPT_NM,"
+                + " POS_NM, HIRE_DT, SAL_AMT, STS_CD FROM " + table
+                + " WHERE CO_ID = ? AND USE_FLG = 'Y' ORDER BY EMP_ID");
+        search = connection.prepareStatement("SELECT EMP_ID, EMP_CD, FIRST_NM, LAST_NM FROM " + table
+                + " WHERE CO_ID = ? AND DEPT_NM = ? AND USE_FLG = 'Y' ORDER BY EMP_ID");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int listEmployees() throws SQLException {
+        list.setString(1, nextTenant());
+        return count(list);
+    }
+
+    @Benchmark
+    public int searchByDepartment() throws SQLException {
+        search.setString(1, nextTenant());
+        search.setString(2, "Sales");
+        return count(search);
+    }
+
+    private String nextTenant() {
+        tenant = tenant % TENANTS + 1;
+        return String.format("T%04d", tenant);
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rs.getString(2);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String migration(String path) throws IOException {
+        try (InputStream in = PartitionPruningBenchmark.class.getResourceAsStream(path)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.clt.erp.benchmark.hrm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.clt.erp.hrm.dto.EmployeeDto;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Compares JSON with the binary formats registered in WebConfig (CBOR, Smile)
+ * for one page of employees: serialization/deserialization throughput here,
+ * payload size printed once per trial (including gzip'd JSON as sent by the gateway).
+ *
+ * Run: ./gradlew :hrm:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"10000"})
+    private int pageSize;
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final ObjectMapper cbor = CBORMapper.builder().build();
+    private final ObjectMapper smile = SmileMapper.builder().build();
+
+    private List<EmployeeDto> page;
+    private JavaType pageType;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+    private byte[] smileBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        page = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            page.add(new EmployeeDto((long) i, String.format("EMP%06d", i), "First" + i, "Last" + i,
+                    "employee" + i + "@company.com", "+1-555-" + (1000 + i % 9000), "Engineering",
+                    "Software Engineer", LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28),
+                    new BigDecimal(50000 + (i % 500) * 100).setScale(2), "ACTIVE"));
+        }
+        pageType = json.getTypeFactory().constructCollectionType(List.class, EmployeeDto.class);
+        jsonBytes = json.writeValueAsBytes(page);
+        cborBytes = cbor.writeValueAsBytes(page);
+        smileBytes = smile.writeValueAsBytes(page);
+
+        System.out.printf("%n[payload bytes, %d employees] json=%d json+gzip=%d cbor=%d smile=%d%n",
+                pageSize, jsonBytes.length, gzip(jsonBytes), cborBytes.length, smileBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSmile() {
+        return smile.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> deserializeJson() {
+        return json.readValue(jsonBytes, pageType);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> deserializeCbor() {
+        return cbor.readValue(cborBytes, pageType);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> deserializeSmile() {
+        return smile.readValue(smileBytes, pageType);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,189 @@
+package com.clt.erp.common.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import com.clt.erp.common.dto.BaseDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MyBatis plugin feeding the audit trail: every mapped INSERT, UPDATE or DELETE that changes rows becomes an
+ * AuditRecord (who, when, which statement, its parameters), handed to the AuditWriter.
+ *
+ * BaseDto parameters (also inside a parameter map or list) get their audit fields stamped before the statement
+ * runs, so the row and its audit record agree: an INSERT fills the missing creUsrId / creDt / updUsrId / updDt,
+ * an UPDATE sets updDt and, when the user is known, updUsrId.
+ *
+ * Register as a bean; mybatis-spring-boot-starter adds Interceptor beans to the SqlSessionFactory.
+ */
+@Slf4j
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class AuditInterceptor implements Interceptor {
+
+    /** Positional duplicates MyBatis adds to multi-parameter maps (param1, param2, ...) */
+    private static final Pattern POSITIONAL_PARAM = Pattern.compile("param\\d+");
+
+    private final Consumer<AuditRecord> writer;
+    private final Supplier<String> tenant;
+    private final Supplier<String> user;
+    private final Serializer serializer;
+
+    /**
+     * @param writer receives the records, e.g. auditWriter::record
+     * @param tenant current tenant (company id); may throw or return null when there is none
+     * @param user current user id; may throw or return null when there is none
+     * @param serializer writes the statement parameters for the audit record, e.g. jsonMapper::writeValueAsString
+     */
+    public AuditInterceptor(Consumer<AuditRecord> writer, Supplier<String> tenant, Supplier<String> user,
+            Serializer serializer) {
+        this.writer = writer;
+        this.tenant = tenant;
+        this.user = user;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        SqlCommandType command = statement.getSqlCommandType();
+        if (command != SqlCommandType.INSERT && command != SqlCommandType.UPDATE
+                && command != SqlCommandType.DELETE) {
+            return invocation.proceed();
+        }
+        Object parameter = invocation.getArgs()[1];
+        Instant now = Instant.now();
+        String usrId = current(user);
+        List<BaseDto> dtos = baseDtos(parameter);
+        for (BaseDto dto : dtos) {
+            stamp(dto, command, usrId, now);
+        }
+
+        Object result = invocation.proceed();
+        int rows = result instanceof Integer count ? count : 0;
+        if (rows != 0) {
+            BaseDto first = dtos.isEmpty() ? null : dtos.get(0);
+            String coId = current(tenant);
+            if (coId == null && first != null) {
+                coId = first.getCoId();
+            }
+            if (usrId == null && first != null) {
+                usrId = command == SqlCommandType.INSERT ? first.getCreUsrId() : first.getUpdUsrId();
+            }
+            writer.accept(new AuditRecord(coId, usrId, now, statement.getId(), command.name(), rows,
+                    params(statement, parameter)));
+        }
+        return result;
+    }
+
+    private static void stamp(BaseDto dto, SqlCommandType command, String usrId, Instant now) {
+        if (command == SqlCommandType.INSERT) {
+            if (dto.getCreUsrId() == null) {
+                dto.setCreUsrId(usrId);
+            }
+            if (dto.getCreDt() == null) {
+                dto.setCreDt(now);
+            }
+            if (dto.getUpdUsrId() == null) {
+                dto.setUpdUsrId(dto.getCreUsrId());
+            }
+            if (dto.getUpdDt() == null) {
+                dto.setUpdDt(dto.getCreDt());
+            }
+        } else if (command == SqlCommandType.UPDATE) {
+            if (usrId != null) {
+                dto.setUpdUsrId(usrId);
+            }
+            dto.setUpdDt(now);
+        }
+    }
+
+    /**
+     * The BaseDto parameter, or those among the values of a parameter map (directly or in a collection)
+     */
+    private static List<BaseDto> baseDtos(Object parameter) {
+        if (parameter instanceof BaseDto dto) {
+            return List.of(dto);
+        }
+        if (!(parameter instanceof Map<?, ?> map)) {
+            return List.of();
+        }
+        List<BaseDto> dtos = new ArrayList<>();
+        for (Object value : map.values()) {
+            if (value instanceof BaseDto dto) {
+                addOnce(dtos, dto);
+            } else if (value instanceof Collection<?> values) {
+                for (Object element : values) {
+                    if (element instanceof BaseDto dto) {
+                        addOnce(dtos, dto);
+                    }
+                }
+            }
+        }
+        return dtos;
+    }
+
+    /** Each value appears in a parameter map under its name and as paramN */
+    private static void addOnce(List<BaseDto> dtos, BaseDto dto) {
+        for (BaseDto added : dtos) {
+            if (added == dto) {
+                return;
+            }
+        }
+        dtos.add(dto);
+    }
+
+    private String params(MappedStatement statement, Object parameter) {
+        if (parameter == null) {
+            return null;
+        }
+        Object value = parameter;
+        if (parameter instanceof Map<?, ?> map) {
+            Map<Object, Object> named = new LinkedHashMap<>();
+            map.forEach((key, entry) -> {
+                if (!POSITIONAL_PARAM.matcher(String.valueOf(key)).matches()) {
+                    named.put(key, entry);
+                }
+            });
+            value = named;
+        }
+        try {
+            return serializer.write(value);
+        } catch (Exception e) {
+            log.debug("Could not serialize the parameters of {} for the audit trail", statement.getId(), e);
+            return null;
+        }
+    }
+
+    private static String current(Supplier<String> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            // no authenticated user, e.g. a scheduled job
+            return null;
+        }
+    }
+
+    /**
+     * Writes statement parameters as text, e.g. JSON
+     */
+    @FunctionalInterface
+    public interface Serializer {
+        String write(Object value) throws Exception;
+    }
+}
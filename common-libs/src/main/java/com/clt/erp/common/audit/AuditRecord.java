@@ -0,0 +1,18 @@
+package com.clt.erp.common.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited change: a mapped INSERT, UPDATE or DELETE statement that changed rows.
+ *
+ * @param coId tenant, null when unknown
+ * @param usrId user who made the change, null when unknown (e.g. a scheduled job)
+ * @param changedAt when the statement ran
+ * @param statement mapped statement id, e.g. com.clt.erp.auth.mapper.RevocationMapper.insertRevocation
+ * @param command INSERT, UPDATE or DELETE
+ * @param rows rows affected
+ * @param params the statement's parameters as written by the service's serializer, null when not serializable
+ */
+public record AuditRecord(String coId, String usrId, Instant changedAt, String statement, String command, int rows,
+        String params) {
+}
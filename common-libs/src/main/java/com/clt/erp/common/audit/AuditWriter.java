@@ -0,0 +1,374 @@
+package com.clt.erp.common.audit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clt.erp.common.lifecycle.PoolShutdown;
+import com.clt.erp.common.metrics.ErpMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes AuditRecords (from AuditInterceptor) to the service's audit table with multi-row INSERTs.
+ *
+ * Records of a transaction are held until it completes; those of a rolled back transaction are discarded.
+ * Then, by mode:
+ * - ASYNC: committed records go to a bounded queue, drained by a background thread in batches of up to
+ *   batchSize rows; batches form by themselves under load, a quiet service writes records one by one.
+ *   The change's latency is not affected, but records still queued when the process dies are lost.
+ *   When the queue is full the caller waits up to offerTimeout for room (backpressure); records that still do
+ *   not fit are lost (erp.audit.records result=overflow). The caller never writes them itself: it still holds
+ *   its transaction's connection, and taking a second one from a saturated pool could deadlock.
+ * - COMMIT: the transaction's records are written on its own connection just before it commits, one
+ *   statement per transaction: a change commits together with its audit records or not at all.
+ * Outside a transaction, records are queued (ASYNC) or written at once (COMMIT).
+ *
+ * Metrics: erp.audit.queue.depth, erp.audit.lag (seconds the oldest queued record has waited),
+ * erp.audit.records (result written, overflow, dropped) and erp.audit.write (one multi-row INSERT).
+ *
+ * On shutdown the queue is flushed before the connection pools close (PHASE).
+ */
+@Slf4j
+public class AuditWriter implements SmartLifecycle {
+
+    /** Stops after the web server (DEFAULT_PHASE - 2048): no more changes; before the pools close */
+    public static final int PHASE = PoolShutdown.PHASE + 1024;
+
+    private static final String COLUMNS = "(CO_ID, USR_ID, CHG_DT, STMT_ID, CMD_TP, ROW_CNT, PARAM_VAL)";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final Duration POLL = Duration.ofMillis(500);
+    private static final Duration RETRY = Duration.ofSeconds(1);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Mode {
+        ASYNC, COMMIT
+    }
+
+    private final DataSource dataSource;
+    private final String table;
+    private final Mode mode;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final BlockingQueue<Queued> queue;
+    private final Counter written;
+    private final Counter overflow;
+    private final Counter dropped;
+    private final Timer writeSuccess;
+    private final Timer writeError;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread drainer;
+
+    /**
+     * @param dataSource the DataSource of the service's transactions (COMMIT mode writes on their connection)
+     * @param table audit table, e.g. HRM_AUDIT_LOG
+     * @param capacity queue capacity (ASYNC)
+     * @param batchSize most rows per INSERT
+     * @param offerTimeout longest a caller waits for room in a full queue (ASYNC)
+     */
+    public AuditWriter(DataSource dataSource, String table, Mode mode, int capacity, int batchSize,
+            Duration offerTimeout, MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.table = table;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.written = records(registry, "written");
+        this.overflow = records(registry, "overflow");
+        this.dropped = records(registry, "dropped");
+        this.writeSuccess = write(registry, ErpMetrics.OUTCOME_SUCCESS);
+        this.writeError = write(registry, ErpMetrics.OUTCOME_ERROR);
+        Gauge.builder(ErpMetrics.AUDIT_QUEUE_DEPTH, queue, BlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(registry);
+        Gauge.builder(ErpMetrics.AUDIT_LAG, this, AuditWriter::lagSeconds)
+                .description("Seconds the oldest queued audit record has waited")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static Counter records(MeterRegistry registry, String result) {
+        return Counter.builder(ErpMetrics.AUDIT_RECORDS)
+                .description("Audit records written by the writer or before commit (written), lost because the "
+                        + "queue stayed full (overflow), or lost because they could not be written (dropped)")
+                .tag(ErpMetrics.TAG_RESULT, result)
+                .register(registry);
+    }
+
+    private static Timer write(MeterRegistry registry, String outcome) {
+        return Timer.builder(ErpMetrics.AUDIT_WRITE)
+                .description("Multi-row INSERT of audit records")
+                .tag(ErpMetrics.TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+
+    /**
+     * Records a change; called by AuditInterceptor on the thread that made it.
+     */
+    public void record(AuditRecord record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionRecords records = (TransactionRecords) TransactionSynchronizationManager.getResource(this);
+            if (records == null) {
+                records = new TransactionRecords();
+                TransactionSynchronizationManager.bindResource(this, records);
+                TransactionSynchronizationManager.registerSynchronization(records);
+            }
+            records.add(record);
+        } else if (mode == Mode.COMMIT) {
+            writeNow(List.of(record));
+        } else {
+            enqueue(List.of(record));
+        }
+    }
+
+    private void enqueue(List<AuditRecord> records) {
+        if (stopped) {
+            // nothing drains the queue any more; the web server has stopped, so the pool has connections to spare
+            try (Connection connection = dataSource.getConnection()) {
+                insert(connection, records);
+                written.increment(records.size());
+            } catch (SQLException | RuntimeException e) {
+                dropped(records, e);
+            }
+            return;
+        }
+        long now = System.nanoTime();
+        long deadline = now + offerTimeoutNanos;
+        int queued = 0;
+        try {
+            for (AuditRecord record : records) {
+                if (!queue.offer(new Queued(record, now), deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                queued++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int lost = records.size() - queued;
+        if (lost > 0) {
+            overflow.increment(lost);
+            log.error("Lost {} audit record(s), the queue stayed full for {} ms", lost,
+                    TimeUnit.NANOSECONDS.toMillis(offerTimeoutNanos));
+        }
+    }
+
+    /** COMMIT mode outside a transaction: the caller learns when its change could not be audited */
+    private void writeNow(List<AuditRecord> records) {
+        try (Connection connection = dataSource.getConnection()) {
+            insert(connection, records);
+            written.increment(records.size());
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not write audit records to " + table, e);
+        }
+    }
+
+    private void insert(Connection connection, List<AuditRecord> records) throws SQLException {
+        for (int from = 0; from < records.size(); from += batchSize) {
+            List<AuditRecord> batch = records.subList(from, Math.min(records.size(), from + batchSize));
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(' ').append(COLUMNS)
+                    .append(" VALUES ").append(ROW);
+            for (int i = 1; i < batch.size(); i++) {
+                sql.append(", ").append(ROW);
+            }
+            long start = System.nanoTime();
+            try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                int i = 1;
+                for (AuditRecord record : batch) {
+                    ps.setString(i++, record.coId());
+                    ps.setString(i++, record.usrId());
+                    ps.setObject(i++, LocalDateTime.ofInstant(record.changedAt(), ZoneOffset.UTC));
+                    ps.setString(i++, record.statement());
+                    ps.setString(i++, record.command());
+                    ps.setInt(i++, record.rows());
+                    if (record.params() != null) {
+                        ps.setString(i++, record.params());
+                    } else {
+                        ps.setNull(i++, Types.VARCHAR);
+                    }
+                }
+                ps.executeUpdate();
+                writeSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (SQLException | RuntimeException e) {
+                writeError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+    }
+
+    private void dropped(List<AuditRecord> records, Exception cause) {
+        dropped.increment(records.size());
+        log.error("Lost {} audit record(s), could not write them to {}: {}", records.size(), table,
+                cause.toString());
+    }
+
+    private double lagSeconds() {
+        Queued oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.queuedAt()) / 1e9;
+    }
+
+    private void drain() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Queued first = queue.poll(POLL.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retries while the writer runs (the database may be back in a moment); a failing batch on shutdown is lost
+     */
+    private void writeBatch(List<Queued> batch) throws InterruptedException {
+        List<AuditRecord> records = batch.stream().map(Queued::record).toList();
+        while (true) {
+            try (Connection connection = dataSource.getConnection()) {
+                insert(connection, records);
+                written.increment(records.size());
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    dropped(records, e);
+                    return;
+                }
+                log.warn("Could not write {} audit record(s) to {}, retrying in {} ms: {}", records.size(), table,
+                        RETRY.toMillis(), e.toString());
+                Thread.sleep(RETRY);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, "audit-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("Audit trail to {} ({} mode, batches of up to {} rows)", table, mode, batchSize);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        stopped = true;
+        try {
+            drainer.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Queued> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            log.info("Flushing {} queued audit record(s)", rest.size());
+            List<AuditRecord> records = rest.stream().map(Queued::record).toList();
+            try (Connection connection = dataSource.getConnection()) {
+                insert(connection, records);
+                written.increment(records.size());
+            } catch (SQLException | RuntimeException e) {
+                dropped(records, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record Queued(AuditRecord record, long queuedAt) {
+    }
+
+    /**
+     * A transaction's records, bound to it while it runs
+     */
+    private final class TransactionRecords implements TransactionSynchronization {
+
+        private final List<AuditRecord> records = new ArrayList<>();
+
+        void add(AuditRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AuditWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AuditWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (mode != Mode.COMMIT || records.isEmpty()) {
+                return;
+            }
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                insert(connection, records);
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Could not write audit records to " + table, e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditWriter.this);
+            if (status != STATUS_COMMITTED || records.isEmpty()) {
+                return;
+            }
+            if (mode == Mode.COMMIT) {
+                written.increment(records.size());
+            } else {
+                enqueue(records);
+            }
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.clt.erp.common.dto;
 
 import lombok.Data;
+
 import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
 
+/**
+ * Common columns of ERP tables. The audit timestamps are instants (TIMESTAMP columns hold UTC, read and
+ * written by UtcInstantTypeHandler), so "changed since" filters bind a timestamp parameter against the bare
+ * column and can use an index; JSON carries them as ISO-8601 strings ("2025-01-31T08:15:30Z").
+ */
 @Data
 public abstract class BaseDto implements Serializable {
     private static final long serialVersionUID = 2669315884587623955L;
     String coId;
     String creUsrId;
     String updUsrId;
-    String creDt;
-    String updDt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant creDt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant updDt;
     String useFlg;
     String procFlag;
 }
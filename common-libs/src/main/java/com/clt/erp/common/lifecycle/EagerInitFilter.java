@@ -0,0 +1,23 @@
+package com.clt.erp.common.lifecycle;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.util.StringUtils;
+
+/**
+ * With lazy initialization (spring.main.lazy-initialization=true), beans are created when first needed, mostly
+ * by the first requests (or the warmup). This filter keeps the beans with an init method eager: they do their
+ * work without anything depending on them and would otherwise never be created, e.g. RevocationFeedClient,
+ * whose first poll must run before requests are served.
+ * Lifecycle beans (GracefulShutdown, event stream listeners) are started, and thereby created, regardless.
+ * Register as a static bean.
+ */
+public class EagerInitFilter implements LazyInitializationExcludeFilter {
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        return beanDefinition instanceof AbstractBeanDefinition definition
+                && StringUtils.hasText(definition.getInitMethodName());
+    }
+}
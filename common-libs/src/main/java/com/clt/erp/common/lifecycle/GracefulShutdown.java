@@ -0,0 +1,91 @@
+package com.clt.erp.common.lifecycle;
+
+import java.time.Duration;
+
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.SmartLifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * First step of a service's shutdown, before the web server stops taking requests: takes the instance out of
+ * the service registry (Eureka: status DOWN), then keeps serving for deregistrationWait while the change
+ * reaches the gateway (registry response cache, the gateway's registry fetch and its load balancer cache).
+ * Requests the gateway still routes here in that window are served normally.
+ *
+ * The rest of the sequence runs in lifecycle phase order:
+ * 1. GracefulShutdown.PHASE: deregister, wait
+ * 2. STREAMS_PHASE: components holding long-lived responses (event streams) end them, so clients reconnect
+ *    to another instance instead of holding up the drain
+ * 3. web server graceful shutdown (server.shutdown=graceful): no new requests, in-flight requests drain
+ *    within spring.lifecycle.timeout-per-shutdown-phase
+ * 4. AuditWriter.PHASE: queued audit records are written
+ * 5. PoolShutdown.PHASE: connection pools close
+ *
+ * Without a service registry (e.g. the migrate profile) there is nothing to deregister and no wait.
+ */
+@Slf4j
+public class GracefulShutdown implements SmartLifecycle {
+
+    /** Stops before the web server's graceful shutdown (DEFAULT_PHASE - 1024) */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 512;
+    /** For components ending long-lived responses after deregistration, before the drain */
+    public static final int STREAMS_PHASE = PHASE - 1;
+
+    private final ServiceRegistry<Registration> serviceRegistry;
+    private final Registration registration;
+    private final Duration deregistrationWait;
+    private volatile boolean running;
+
+    /**
+     * @param serviceRegistry may be null (no service registry)
+     * @param registration this instance's registration, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public GracefulShutdown(ServiceRegistry<? extends Registration> serviceRegistry, Registration registration,
+            Duration deregistrationWait) {
+        this.serviceRegistry = (ServiceRegistry<Registration>) serviceRegistry;
+        this.registration = registration;
+        this.deregistrationWait = deregistrationWait;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (serviceRegistry == null || registration == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        log.info("Shutting down: deregistering {} ({}), serving for another {} ms before draining",
+                registration.getServiceId(), registration.getInstanceId(), deregistrationWait.toMillis());
+        try {
+            serviceRegistry.deregister(registration);
+        } catch (RuntimeException e) {
+            log.warn("Deregistration of {} failed, the registry evicts it once its lease expires: {}",
+                    registration.getInstanceId(), e.toString());
+        }
+        try {
+            Thread.sleep(deregistrationWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Deregistered {} for {} ms, draining in-flight requests", registration.getInstanceId(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.clt.erp.common.lifecycle;
+
+import java.util.List;
+
+import org.springframework.context.SmartLifecycle;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Last step of a service's shutdown (see GracefulShutdown): closes the connection pools once the web server
+ * has stopped, instead of leaving them to bean destruction. Connections still in use are given Hikari's own
+ * close grace period; closing again on bean destruction is a no-op.
+ *
+ * Background work that writes to the database on shutdown (flushes) stops in a phase above PHASE.
+ */
+@Slf4j
+public class PoolShutdown implements SmartLifecycle {
+
+    /** Stops after the web server (DEFAULT_PHASE - 2048) */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final List<HikariDataSource> pools;
+    private volatile boolean running;
+
+    public PoolShutdown(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (HikariDataSource pool : pools) {
+            if (pool.isClosed()) {
+                continue;
+            }
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            int active = stats != null ? stats.getActiveConnections() : 0;
+            if (active > 0) {
+                log.warn("Closing connection pool {} with {} connection(s) still in use", pool.getPoolName(), active);
+            } else {
+                log.info("Closing connection pool {}", pool.getPoolName());
+            }
+            pool.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
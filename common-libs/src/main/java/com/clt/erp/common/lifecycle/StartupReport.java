@@ -0,0 +1,87 @@
+package com.clt.erp.common.lifecycle;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs the slowest bean instantiations once the service is ready, from the startup steps recorded by
+ * recording() (also served by the actuator "startup" endpoint when exposed).
+ *
+ * A bean's own time excludes the beans it created while being created (its dependencies), so the report points
+ * at the bean doing the work rather than at whatever depends on it; the total is shown next to it.
+ */
+@Slf4j
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    /** Startup steps kept; enough for every bean of a service (about 1000 beans, several steps each) */
+    public static final int CAPACITY = 10_000;
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    private final int beans;
+
+    /**
+     * @param beans number of beans to list; 0 disables the report
+     */
+    public StartupReport(int beans) {
+        this.beans = beans;
+    }
+
+    /**
+     * Records startup steps; set before run(), e.g. application.setApplicationStartup(StartupReport.recording()).
+     */
+    public static ApplicationStartup recording() {
+        return new BufferingApplicationStartup(CAPACITY);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (beans <= 0 || !(event.getApplicationContext().getApplicationStartup()
+                instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        Map<Long, Duration> children = new HashMap<>();
+        for (TimelineEvent step : events) {
+            Long parent = step.getStartupStep().getParentId();
+            if (parent != null) {
+                children.merge(parent, step.getDuration(), Duration::plus);
+            }
+        }
+        List<String> slowest = events.stream()
+                .filter(step -> BEAN_INSTANTIATE.equals(step.getStartupStep().getName()))
+                .map(step -> new BeanTime(beanName(step.getStartupStep()), step.getDuration(),
+                        step.getDuration().minus(children.getOrDefault(step.getStartupStep().getId(), Duration.ZERO))))
+                .sorted(Comparator.comparing(BeanTime::own).reversed())
+                .limit(beans)
+                .map(bean -> String.format("%n  %6d ms (total %6d ms)  %s", bean.own().toMillis(),
+                        bean.total().toMillis(), bean.name()))
+                .toList();
+        log.info("Slowest bean instantiations (own time, total including the beans created meanwhile):{}",
+                String.join("", slowest));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private record BeanTime(String name, Duration total, Duration own) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.clt.erp.common.lifecycle;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms a service up after startup, before it takes traffic, so the first requests after a deploy do not pay for
+ * empty connection pools, unfetched signing keys, empty caches and code the JIT compiler has not compiled yet.
+ *
+ * Runs on ApplicationReadyEvent, on the main thread: the readiness state stays REFUSING_TRAFFIC until warmup ends
+ * (Boot moves it to ACCEPTING_TRAFFIC after the ready listeners), so readiness probes report OUT_OF_SERVICE
+ * meanwhile. The instance registers in the service registry as not routable (Eureka:
+ * eureka.instance.initial-status=STARTING) and whenWarm makes it routable.
+ *
+ * - pools(): waits until each connection pool holds its minimum idle connections
+ * - once(): runs a step once, e.g. loading a cache
+ * - repeat(), request(): run a step, or a GET request to this service, a number of times; the repeated steps take
+ *   turns, so each gets its share when the timeout cuts warmup short
+ *
+ * A step that fails (a request answered with a 5xx status) is logged and dropped: warmup never keeps the service
+ * from starting, it only leaves it colder.
+ */
+@Slf4j
+public class Warmup implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration POOL_POLL = Duration.ofMillis(50);
+
+    private final Duration timeout;
+    private final Runnable whenWarm;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private volatile URI baseUri;
+
+    /**
+     * @param timeout longest warmup; steps not done by then are cut short
+     * @param whenWarm run once warmup ends, e.g. to mark the instance UP in the service registry
+     */
+    public Warmup(Duration timeout, Runnable whenWarm) {
+        this.timeout = timeout;
+        this.whenWarm = whenWarm;
+    }
+
+    public Warmup pools(List<HikariDataSource> pools) {
+        this.pools.addAll(pools);
+        return this;
+    }
+
+    public Warmup once(String name, Task task) {
+        return repeat(name, 1, task);
+    }
+
+    public Warmup repeat(String name, int times, Task task) {
+        if (times > 0) {
+            steps.add(new Step(name, times, task));
+        }
+        return this;
+    }
+
+    /**
+     * GET requests to this service over HTTP (the whole server, filter and security path).
+     *
+     * @param path path below the context path (server.servlet.context-path), e.g. "/employees"
+     * @param bearerToken sent as Authorization header, may be null; see unverifiableToken()
+     */
+    public Warmup request(String name, int times, String path, String bearerToken) {
+        return repeat(name, times, () -> {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET();
+            if (bearerToken != null) {
+                request.header("Authorization", "Bearer " + bearerToken);
+            }
+            int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 500) {
+                throw new IllegalStateException("GET " + path + " answered " + status);
+            }
+        });
+    }
+
+    /**
+     * A well-formed RS256 JWT with a random signature: it goes through the whole decode path (key set fetch,
+     * parsing, signature verification) and is then rejected, the request answered 401.
+     */
+    public static String unverifiableToken() {
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        long now = Instant.now().getEpochSecond();
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String claims = "{\"sub\":\"warmup\",\"iat\":" + now + ",\"exp\":" + (now + 3600) + "}";
+        byte[] signature = new byte[256];
+        new SecureRandom().nextBytes(signature);
+        return base64.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + base64.encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + "."
+                + base64.encodeToString(signature);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Environment environment = event.getApplicationContext().getEnvironment();
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            // No web server (e.g. the migrate profile), no traffic to warm up for
+            whenWarm.run();
+            return;
+        }
+        baseUri = URI.create("http://localhost:" + port + environment.getProperty("server.servlet.context-path", ""));
+
+        fillPools(deadline);
+        List<Step> pending = new ArrayList<>(steps);
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            pending.removeIf(step -> !step.run());
+        }
+        if (!pending.isEmpty()) {
+            log.warn("Warmup timed out after {} ms, cut short: {}", timeout.toMillis(),
+                    pending.stream().map(step -> step.name).toList());
+        }
+        log.info("Warmed up in {} ms:{}", (System.nanoTime() - start) / 1_000_000,
+                String.join("", steps.stream().map(Step::summary).toList()));
+        whenWarm.run();
+    }
+
+    private void fillPools(long deadline) {
+        for (HikariDataSource pool : pools) {
+            // Starts a pool created lazily; Hikari then opens the rest of the minimum in the background
+            try (Connection connection = pool.getConnection()) {
+                connection.isValid(1);
+            } catch (SQLException e) {
+                log.warn("Warmup could not connect pool {}: {}", pool.getPoolName(), e.toString());
+                continue;
+            }
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            while (stats.getTotalConnections() < pool.getMinimumIdle() && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(POOL_POLL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            log.info("Warmup: pool {} holds {} connection(s), minimum idle {}", pool.getPoolName(),
+                    stats.getTotalConnections(), pool.getMinimumIdle());
+        }
+    }
+
+    /**
+     * A warmup step; exceptions drop it
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private static final class Step {
+
+        private final String name;
+        private final int times;
+        private final Task task;
+        private int runs;
+        private long nanos;
+        private boolean failed;
+
+        private Step(String name, int times, Task task) {
+            this.name = name;
+            this.times = times;
+            this.task = task;
+        }
+
+        /**
+         * @return whether the step is to run again
+         */
+        private boolean run() {
+            long start = System.nanoTime();
+            try {
+                task.run();
+                runs++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+            } catch (Exception e) {
+                log.warn("Warmup step {} failed after {} run(s), skipping it: {}", name, runs, e.toString());
+                failed = true;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+            return !failed && runs < times;
+        }
+
+        private String summary() {
+            return String.format("%n  %-12s %5d/%d run(s) %6d ms%s", name, runs, times, nanos / 1_000_000,
+                    failed ? "  failed" : "");
+        }
+    }
+}
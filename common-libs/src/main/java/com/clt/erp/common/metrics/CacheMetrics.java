@@ -0,0 +1,51 @@
+package com.clt.erp.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hit/miss counters and hit ratio gauge for an in-process cache that has no Micrometer binding of its own
+ * (caches behind Spring's CacheManager are already bound by actuator as cache.gets).
+ *
+ * <pre>
+ * CacheMetrics metrics = new CacheMetrics(registry, "jwk");
+ * value = cache.get(key);
+ * if (value != null) metrics.hit(); else metrics.miss();
+ * </pre>
+ */
+public class CacheMetrics {
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CacheMetrics(MeterRegistry registry, String cacheName) {
+        this.hits = counter(registry, cacheName, "hit");
+        this.misses = counter(registry, cacheName, "miss");
+        Gauge.builder(ErpMetrics.CACHE_HIT_RATIO, this, CacheMetrics::hitRatio)
+                .description("Cache hit ratio since start")
+                .tag(ErpMetrics.TAG_CACHE, cacheName)
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String cacheName, String result) {
+        return Counter.builder(ErpMetrics.CACHE_GETS)
+                .description("Cache lookups")
+                .tag(ErpMetrics.TAG_CACHE, cacheName)
+                .tag(ErpMetrics.TAG_RESULT, result)
+                .register(registry);
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? Double.NaN : hits.count() / total;
+    }
+}
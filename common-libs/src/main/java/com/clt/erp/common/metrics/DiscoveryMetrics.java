@@ -0,0 +1,90 @@
+package com.clt.erp.common.metrics;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The service registry as this instance's discovery client sees it. Call refreshed() after every registry
+ * fetch (Spring Cloud publishes a HeartbeatEvent for each); it diffs the local copy, which DiscoveryClient
+ * serves from memory, against the previous fetch. The first fetch is the baseline and is not counted as churn.
+ *
+ * Metrics:
+ * - erp.discovery.registry.age: seconds since the last fetch, i.e. how far behind a failover this instance is
+ * - erp.discovery.instances (tag service): instances per service in the local copy
+ * - erp.discovery.instance.changes (tags service, change=added|removed): instance churn seen by this instance
+ */
+@Slf4j
+public class DiscoveryMetrics {
+
+    private final DiscoveryClient discoveryClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<String>> instances = new ConcurrentHashMap<>();
+    private volatile long lastRefreshNanos;
+    private volatile boolean refreshed;
+
+    public DiscoveryMetrics(DiscoveryClient discoveryClient, MeterRegistry meterRegistry) {
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(ErpMetrics.DISCOVERY_REGISTRY_AGE, this,
+                        metrics -> metrics.refreshed ? (System.nanoTime() - metrics.lastRefreshNanos) / 1e9 : Double.NaN)
+                .description("Seconds since the local copy of the service registry was last refreshed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public synchronized void refreshed() {
+        boolean baseline = !refreshed;
+        Set<String> services = new HashSet<>(discoveryClient.getServices());
+        services.addAll(instances.keySet());
+        for (String service : services) {
+            Set<String> current = instanceIds(discoveryClient.getInstances(service));
+            Set<String> known = instances.put(service, current);
+            if (known == null) {
+                Gauge.builder(ErpMetrics.DISCOVERY_INSTANCES, instances, all -> all.getOrDefault(service, Set.of()).size())
+                        .description("Instances of a service in the local copy of the service registry")
+                        .tag(ErpMetrics.TAG_SERVICE, service)
+                        .register(meterRegistry);
+                if (baseline) {
+                    continue;
+                }
+            }
+            Set<String> previous = known != null ? known : Set.of();
+            long added = current.stream().filter(id -> !previous.contains(id)).count();
+            long removed = previous.stream().filter(id -> !current.contains(id)).count();
+            if (added > 0 || removed > 0) {
+                changes(service, ErpMetrics.CHANGE_ADDED).increment(added);
+                changes(service, ErpMetrics.CHANGE_REMOVED).increment(removed);
+                log.info("Discovery: {} +{} -{}, {} instance(s)", service, added, removed, current.size());
+            }
+        }
+        lastRefreshNanos = System.nanoTime();
+        refreshed = true;
+    }
+
+    private Counter changes(String service, String change) {
+        return Counter.builder(ErpMetrics.DISCOVERY_INSTANCE_CHANGES)
+                .description("Service instances added to or removed from the local copy of the service registry")
+                .tag(ErpMetrics.TAG_SERVICE, service)
+                .tag(ErpMetrics.TAG_CHANGE, change)
+                .register(meterRegistry);
+    }
+
+    private static Set<String> instanceIds(List<ServiceInstance> serviceInstances) {
+        return serviceInstances.stream()
+                .map(instance -> instance.getInstanceId() != null ? instance.getInstanceId()
+                        : instance.getHost() + ":" + instance.getPort())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,71 @@
+package com.clt.erp.common.metrics;
+
+/**
+ * Metric and tag names shared by all services, so dashboards work across services
+ * (every meter also carries the "application" common tag configured in each service).
+ */
+public final class ErpMetrics {
+
+    /** Timer: mapped statement execution. Tags: statement, command, outcome */
+    public static final String MYBATIS_STATEMENT = "erp.mybatis.statement";
+    /** Distribution summary: rows returned (select) or affected (insert/update/delete). Tags: statement, command */
+    public static final String MYBATIS_ROWS = "erp.mybatis.rows";
+    /** Counter: statements slower than the slow-query threshold. Tags: statement */
+    public static final String MYBATIS_SLOW = "erp.mybatis.slow";
+    /** Counter: requests running the same statement more often than the repeat threshold (N+1). Tags: statement */
+    public static final String MYBATIS_REPEATED = "erp.mybatis.repeated";
+    /** Distribution summary: mapped statements executed per HTTP request */
+    public static final String MYBATIS_STATEMENTS_PER_REQUEST = "erp.mybatis.statements.per.request";
+    /** Timer: JWT decode + signature and claim validation. Tags: outcome */
+    public static final String JWT_DECODE = "erp.jwt.decode";
+    /** Counter: cache lookups. Tags: cache, result (hit|miss) */
+    public static final String CACHE_GETS = "erp.cache.gets";
+    /** Gauge: hits / (hits + misses) since start. Tags: cache */
+    public static final String CACHE_HIT_RATIO = "erp.cache.hit.ratio";
+    /** Counter: requests per tenant. Tags: tenant, status (1xx..5xx) */
+    public static final String TENANT_REQUESTS = "erp.tenant.requests";
+    /** Gauge: active token revocations in the local revocation list */
+    public static final String REVOCATION_ENTRIES = "erp.revocation.entries";
+    /** Gauge: seconds since the revocation list was last synced with auth-service */
+    public static final String REVOCATION_FEED_AGE = "erp.revocation.feed.age";
+    /** Counter: revocation feed polls. Tags: outcome */
+    public static final String REVOCATION_FEED_POLLS = "erp.revocation.feed.polls";
+
+    /** Gauge: seconds since the local copy of the service registry was last refreshed */
+    public static final String DISCOVERY_REGISTRY_AGE = "erp.discovery.registry.age";
+    /** Gauge: instances per service in the local copy of the service registry. Tags: service */
+    public static final String DISCOVERY_INSTANCES = "erp.discovery.instances";
+    /** Counter: instances added to / removed from the local copy of the service registry. Tags: service, change */
+    public static final String DISCOVERY_INSTANCE_CHANGES = "erp.discovery.instance.changes";
+
+    /** Gauge: audit records waiting in the queue of the audit writer */
+    public static final String AUDIT_QUEUE_DEPTH = "erp.audit.queue.depth";
+    /** Gauge: seconds the oldest queued audit record has waited */
+    public static final String AUDIT_LAG = "erp.audit.lag";
+    /** Counter: audit records. Tags: result (written, overflow, dropped) */
+    public static final String AUDIT_RECORDS = "erp.audit.records";
+    /** Timer: multi-row INSERT of audit records. Tags: outcome */
+    public static final String AUDIT_WRITE = "erp.audit.write";
+
+    public static final String TAG_STATEMENT = "statement";
+    public static final String TAG_COMMAND = "command";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_CACHE = "cache";
+    public static final String TAG_RESULT = "result";
+    public static final String TAG_TENANT = "tenant";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_SERVICE = "service";
+    public static final String TAG_CHANGE = "change";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    public static final String CHANGE_ADDED = "added";
+    public static final String CHANGE_REMOVED = "removed";
+
+    /** JWT claim holding the tenant (company) id */
+    public static final String CLAIM_COMPANY_ID = "co_id";
+
+    private ErpMetrics() {
+    }
+}
@@ -0,0 +1,94 @@
+package com.clt.erp.common.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * MyBatis plugin recording execution time (erp.mybatis.statement) and row counts (erp.mybatis.rows)
+ * per mapped statement. The statement tag is "Mapper.method", bounded by the mapper XML files.
+ *
+ * Register as a bean; mybatis-spring-boot-starter adds Interceptor beans to the SqlSessionFactory.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                        BoundSql.class})
+})
+public class MybatisMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry registry;
+
+    public MybatisMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementTag = statementTag(statement.getId());
+        String command = statement.getSqlCommandType().name();
+        long start = System.nanoTime();
+        String outcome = ErpMetrics.OUTCOME_ERROR;
+        try {
+            Object result = invocation.proceed();
+            outcome = ErpMetrics.OUTCOME_SUCCESS;
+            rows(statementTag, command).record(rowCount(result));
+            return result;
+        } finally {
+            Timer.builder(ErpMetrics.MYBATIS_STATEMENT)
+                    .description("MyBatis mapped statement execution time")
+                    .tag(ErpMetrics.TAG_STATEMENT, statementTag)
+                    .tag(ErpMetrics.TAG_COMMAND, command)
+                    .tag(ErpMetrics.TAG_OUTCOME, outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private DistributionSummary rows(String statementTag, String command) {
+        return DistributionSummary.builder(ErpMetrics.MYBATIS_ROWS)
+                .description("Rows returned or affected per statement")
+                .tag(ErpMetrics.TAG_STATEMENT, statementTag)
+                .tag(ErpMetrics.TAG_COMMAND, command)
+                .register(registry);
+    }
+
+    /**
+     * com.clt.erp.auth.mapper.AuthMapper.loadUserByUsername -> AuthMapper.loadUserByUsername
+     */
+    public static String statementTag(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(mapper + 1);
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Number affected) {
+            return affected.intValue();
+        }
+        return result == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,154 @@
+package com.clt.erp.common.metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MyBatis plugin logging statements slower than a threshold with their SQL shape (bound SQL with
+ * "?" placeholders, never parameter values) and counting them as erp.mybatis.slow.
+ * On PostgreSQL the plan of a slow SELECT can be captured with EXPLAIN (no ANALYZE, so the statement
+ * is not run again), at most once per statement per explain interval.
+ *
+ * Also records every execution into the current {@link StatementScope} for per-request N+1 detection.
+ * Register as a bean; mybatis-spring-boot-starter adds Interceptor beans to the SqlSessionFactory.
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                        BoundSql.class})
+})
+public class SlowQueryInterceptor implements Interceptor {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MeterRegistry registry;
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final long explainIntervalNanos;
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    /**
+     * @param threshold statements taking at least this long are logged
+     * @param explain capture the EXPLAIN plan of slow SELECTs (PostgreSQL only)
+     * @param explainInterval minimum time between two plan captures of the same statement
+     */
+    public SlowQueryInterceptor(MeterRegistry registry, Duration threshold, boolean explain,
+            Duration explainInterval) {
+        this.registry = registry;
+        this.thresholdNanos = threshold.toNanos();
+        this.explain = explain;
+        this.explainIntervalNanos = explainInterval.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        StatementScope.record(statement.getId());
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+                slow(statement, boundSql, (Executor) invocation.getTarget(), args[1], elapsed);
+            }
+        }
+    }
+
+    private void slow(MappedStatement statement, BoundSql boundSql, Executor executor, Object parameter,
+            long elapsedNanos) {
+        String statementTag = MybatisMetricsInterceptor.statementTag(statement.getId());
+        Counter.builder(ErpMetrics.MYBATIS_SLOW)
+                .description("Statements slower than the slow-query threshold")
+                .tag(ErpMetrics.TAG_STATEMENT, statementTag)
+                .register(registry)
+                .increment();
+        String plan = shouldExplain(statement) ? explain(executor, statement, parameter, boundSql) : null;
+        if (plan == null) {
+            log.warn("Slow statement {} took {} ms: {}", statement.getId(), elapsedNanos / 1_000_000,
+                    sqlShape(boundSql.getSql()));
+        } else {
+            log.warn("Slow statement {} took {} ms: {}\n{}", statement.getId(), elapsedNanos / 1_000_000,
+                    sqlShape(boundSql.getSql()), plan);
+        }
+    }
+
+    private boolean shouldExplain(MappedStatement statement) {
+        if (!explain || statement.getSqlCommandType() != SqlCommandType.SELECT) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(statement.getId());
+        if (previous != null && now - previous < explainIntervalNanos) {
+            return false;
+        }
+        // only one thread wins a given interval
+        return previous == null
+                ? lastExplained.putIfAbsent(statement.getId(), now) == null
+                : lastExplained.replace(statement.getId(), previous, now);
+    }
+
+    /**
+     * Runs EXPLAIN for the statement on the executor's connection with the same parameters.
+     * Returns null when the database is not PostgreSQL or the plan cannot be read (e.g. the transaction
+     * was aborted by the statement itself).
+     */
+    private String explain(Executor executor, MappedStatement statement, Object parameter, BoundSql boundSql) {
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                return null;
+            }
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+                statement.getConfiguration().newParameterHandler(statement, parameter, boundSql).setParameters(ps);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append("    ").append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not capture plan of {}", statement.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Mapper XML SQL on one line: whitespace runs collapsed, placeholders left as "?".
+     */
+    public static String sqlShape(String sql) {
+        return WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    }
+}
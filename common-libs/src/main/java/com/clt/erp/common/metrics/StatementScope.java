@@ -0,0 +1,62 @@
+package com.clt.erp.common.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts mapped statement executions within one unit of work (an HTTP request), per thread.
+ * Opened and closed by {@link StatementScopeFilter}; {@link SlowQueryInterceptor} records into it.
+ * Outside an open scope (startup, schedulers) recording is a no-op.
+ */
+public final class StatementScope {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private int total;
+
+    private StatementScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Opens a scope on the current thread, replacing any scope left open by an earlier unit of work.
+     */
+    public static StatementScope open(String name) {
+        StatementScope scope = new StatementScope(name);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Closes the current thread's scope and returns it, or null if none was open.
+     */
+    public static StatementScope close() {
+        StatementScope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    static void record(String statementId) {
+        StatementScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.counts.merge(statementId, 1, Integer::sum);
+            scope.total++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Executions per statement id, in first-execution order */
+    public Map<String, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.clt.erp.common.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servlet filter opening a {@link StatementScope} per request and flagging likely N+1 access patterns:
+ * the same mapped statement run more than repeatThreshold times, or more than totalThreshold statements
+ * in one request. Flagged requests are logged with their per-statement counts and counted as
+ * erp.mybatis.repeated; every request feeds erp.mybatis.statements.per.request.
+ *
+ * Must run before the security filter chain (e.g. registered with the highest precedence), otherwise
+ * statements run during authentication such as the login lookups are not attributed to the request.
+ */
+@Slf4j
+public class StatementScopeFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient MeterRegistry registry;
+    private final transient DistributionSummary statementsPerRequest;
+    private final int repeatThreshold;
+    private final int totalThreshold;
+
+    /**
+     * @param repeatThreshold executions of one statement per request above which the request is flagged
+     * @param totalThreshold statements per request above which the request is flagged
+     */
+    public StatementScopeFilter(MeterRegistry registry, int repeatThreshold, int totalThreshold) {
+        this.registry = registry;
+        this.statementsPerRequest = DistributionSummary.builder(ErpMetrics.MYBATIS_STATEMENTS_PER_REQUEST)
+                .description("Mapped statements executed per HTTP request")
+                .register(registry);
+        this.repeatThreshold = repeatThreshold;
+        this.totalThreshold = totalThreshold;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        StatementScope.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StatementScope scope = StatementScope.close();
+            if (scope != null && scope.getTotal() > 0) {
+                report(scope);
+            }
+        }
+    }
+
+    private void report(StatementScope scope) {
+        statementsPerRequest.record(scope.getTotal());
+        List<String> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : scope.getCounts().entrySet()) {
+            if (entry.getValue() > repeatThreshold) {
+                String statementTag = MybatisMetricsInterceptor.statementTag(entry.getKey());
+                repeated.add(statementTag);
+                Counter.builder(ErpMetrics.MYBATIS_REPEATED)
+                        .description("Requests running the same statement more often than the repeat threshold")
+                        .tag(ErpMetrics.TAG_STATEMENT, statementTag)
+                        .register(registry)
+                        .increment();
+            }
+        }
+        if (!repeated.isEmpty() || scope.getTotal() > totalThreshold) {
+            log.warn("{} ran {} statements (repeated above {}: {}): {}", scope.getName(), scope.getTotal(),
+                    repeatThreshold, repeated, scope.getCounts());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.clt.erp.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-tenant request counter (erp.tenant.requests) with bounded tenant cardinality.
+ */
+public class TenantRequestMetrics {
+
+    private final MeterRegistry registry;
+    private final TenantTagLimiter limiter;
+
+    public TenantRequestMetrics(MeterRegistry registry, int maxTenants) {
+        this.registry = registry;
+        this.limiter = new TenantTagLimiter(maxTenants);
+    }
+
+    public void record(String tenant, int status) {
+        Counter.builder(ErpMetrics.TENANT_REQUESTS)
+                .description("Requests per tenant")
+                .tag(ErpMetrics.TAG_TENANT, limiter.tag(tenant))
+                .tag(ErpMetrics.TAG_STATUS, status / 100 + "xx")
+                .register(registry)
+                .increment();
+    }
+}
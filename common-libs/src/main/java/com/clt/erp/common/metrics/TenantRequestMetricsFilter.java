@@ -0,0 +1,50 @@
+package com.clt.erp.common.metrics;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter counting requests per tenant.
+ * Must run after authentication (e.g. as a plain Filter bean, which Spring Boot orders after the
+ * security filter chain) so the tenant resolver can read the authenticated user.
+ */
+public class TenantRequestMetricsFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient TenantRequestMetrics metrics;
+    private final transient Supplier<String> tenantResolver;
+
+    /**
+     * @param tenantResolver returns the current tenant id, or null; exceptions count as no tenant
+     */
+    public TenantRequestMetricsFilter(TenantRequestMetrics metrics, Supplier<String> tenantResolver) {
+        this.metrics = metrics;
+        this.tenantResolver = tenantResolver;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        String tenant = resolveTenant();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            metrics.record(tenant, response.getStatus());
+        }
+    }
+
+    private String resolveTenant() {
+        try {
+            return tenantResolver.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.clt.erp.common.metrics;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive (WebFlux) filter counting requests per tenant, taken from the co_id claim of the JWT.
+ * Must be ordered after the security WebFilter so the principal is available.
+ */
+public class TenantRequestMetricsWebFilter implements WebFilter {
+
+    private final TenantRequestMetrics metrics;
+
+    public TenantRequestMetricsWebFilter(TenantRequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return exchange.getPrincipal()
+                .map(TenantRequestMetricsWebFilter::tenant)
+                .defaultIfEmpty("")
+                .flatMap(tenant -> chain.filter(exchange)
+                        .doFinally(signal -> metrics.record(tenant, status(exchange))));
+    }
+
+    private static String tenant(Object principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof Jwt jwt) {
+            // client_credentials tokens (e.g. erp-monitoring) carry no co_id; Mono.map must not return null
+            String tenant = jwt.getClaimAsString(ErpMetrics.CLAIM_COMPANY_ID);
+            return tenant != null ? tenant : "";
+        }
+        return "";
+    }
+
+    private static int status(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : 200;
+    }
+}
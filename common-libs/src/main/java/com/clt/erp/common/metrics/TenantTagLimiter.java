@@ -0,0 +1,37 @@
+package com.clt.erp.common.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the number of distinct tenant tag values.
+ * The first maxTenants tenants seen keep their own tag value; later ones are reported as "other",
+ * so one meter per tenant cannot grow the registry (and Prometheus) without limit.
+ */
+public class TenantTagLimiter {
+
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final int maxTenants;
+    private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+
+    public TenantTagLimiter(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public String tag(String tenant) {
+        if (tenant == null || tenant.isBlank()) {
+            return NONE;
+        }
+        if (tenants.contains(tenant)) {
+            return tenant;
+        }
+        // Check-then-add may admit a few extra tenants under contention; the bound stays approximate but small
+        if (tenants.size() < maxTenants) {
+            tenants.add(tenant);
+            return tenant;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,48 @@
+package com.clt.erp.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * JwtDecoder decorator recording decode time (parse, signature check, claim validation) as erp.jwt.decode.
+ * Outcome "invalid" counts rejected tokens; the first call also includes the JWK set fetch.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Timer success;
+    private final Timer invalid;
+
+    public TimedJwtDecoder(JwtDecoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.success = timer(registry, ErpMetrics.OUTCOME_SUCCESS);
+        this.invalid = timer(registry, "invalid");
+    }
+
+    static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder(ErpMetrics.JWT_DECODE)
+                .description("JWT decode and validation time")
+                .tag(ErpMetrics.TAG_OUTCOME, outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (JwtException e) {
+            invalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
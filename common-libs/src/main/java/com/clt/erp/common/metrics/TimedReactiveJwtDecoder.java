@@ -0,0 +1,38 @@
+package com.clt.erp.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveJwtDecoder decorator recording decode time as erp.jwt.decode (see TimedJwtDecoder).
+ */
+public class TimedReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+    private final Timer success;
+    private final Timer invalid;
+
+    public TimedReactiveJwtDecoder(ReactiveJwtDecoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.success = TimedJwtDecoder.timer(registry, ErpMetrics.OUTCOME_SUCCESS);
+        this.invalid = TimedJwtDecoder.timer(registry, "invalid");
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.decode(token)
+                    .doOnSuccess(jwt -> success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(JwtException.class,
+                            e -> invalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
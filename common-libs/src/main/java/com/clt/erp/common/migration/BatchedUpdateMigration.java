@@ -0,0 +1,105 @@
+package com.clt.erp.common.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flyway Java migration for backfills: runs one UPDATE in batches, each committed on its own, until a
+ * batch updates no rows. Row locks are held for one batch at a time instead of for the whole table, so
+ * production writes keep going while a large table is backfilled.
+ *
+ * Subclasses live in package db.migration (named V&lt;version&gt;__&lt;description&gt;) and supply the
+ * statement. Its only parameter is the batch size, and it must only select rows that still need the change:
+ * <pre>
+ * UPDATE HRM_EMP SET ... WHERE (CO_ID, EMP_ID) IN
+ *     (SELECT CO_ID, EMP_ID FROM HRM_EMP WHERE ... LIMIT ? FOR UPDATE SKIP LOCKED)
+ * </pre>
+ * A batch failing on lock_timeout, a deadlock or a serialization conflict is retried after a growing pause.
+ * Committed batches stay done, so a migration that finally fails can simply be run again.
+ */
+@Slf4j
+public abstract class BatchedUpdateMigration extends BaseJavaMigration {
+
+    /** lock_not_available (lock_timeout), deadlock_detected, serialization_failure */
+    static final Set<String> RETRYABLE_STATES = Set.of("55P03", "40P01", "40001");
+
+    private static final int PROGRESS_LOG_BATCHES = 100;
+
+    /**
+     * The UPDATE statement; its single "?" is bound to the batch size.
+     */
+    protected abstract String batchSql();
+
+    protected int batchSize() {
+        return 1000;
+    }
+
+    /**
+     * Pause between batches, giving other transactions room; retries wait a multiple of it.
+     */
+    protected Duration pause() {
+        return Duration.ofMillis(100);
+    }
+
+    protected int maxRetries() {
+        return 10;
+    }
+
+    /**
+     * Each batch commits on its own, so the migration cannot be wrapped in one transaction.
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        long total = 0;
+        int batches = 0;
+        try (PreparedStatement statement = connection.prepareStatement(batchSql())) {
+            int updated;
+            do {
+                updated = executeBatch(statement);
+                total += updated;
+                batches++;
+                if (batches % PROGRESS_LOG_BATCHES == 0) {
+                    log.info("{}: {} rows updated in {} batches so far", getDescription(), total, batches);
+                }
+                if (updated > 0) {
+                    Thread.sleep(pause());
+                }
+            } while (updated > 0);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        log.info("{}: {} rows updated in {} batches", getDescription(), total, batches);
+    }
+
+    private int executeBatch(PreparedStatement statement) throws SQLException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                statement.setInt(1, batchSize());
+                return statement.executeUpdate();
+            } catch (SQLException e) {
+                if (attempt > maxRetries() || !RETRYABLE_STATES.contains(e.getSQLState())) {
+                    throw e;
+                }
+                log.warn("{}: batch failed ({}), retry {} of {}", getDescription(), e.getMessage(), attempt,
+                        maxRetries());
+                Thread.sleep(pause().multipliedBy(attempt));
+            }
+        }
+    }
+}
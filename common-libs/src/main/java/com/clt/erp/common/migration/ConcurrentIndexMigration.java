@@ -0,0 +1,128 @@
+package com.clt.erp.common.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flyway Java migration building an index without blocking writes (PostgreSQL), on plain and on
+ * partitioned tables. CREATE INDEX CONCURRENTLY is not supported on a partitioned table, so there the index
+ * is created on the parent only (ON ONLY, invalid at first), each partition's index is built concurrently
+ * and attached; the parent index turns valid once all partitions are attached.
+ *
+ * Safe to re-run after a failure (e.g. lock_timeout while waiting for older transactions): valid indexes
+ * are kept, INVALID leftovers of an interrupted concurrent build are dropped and rebuilt, attaching twice
+ * is a no-op. Partition indexes are named after the partition: EMP_IX2 on partition EMP_P03 is EMP_P03_IX2.
+ */
+@Slf4j
+public abstract class ConcurrentIndexMigration extends BaseJavaMigration {
+
+    private static final String RELKIND = "SELECT relkind FROM pg_class WHERE oid = to_regclass(?)";
+    private static final String PARTITIONS = "SELECT c.relname FROM pg_inherits i"
+            + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?) ORDER BY c.relname";
+    private static final String VALID = "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)";
+
+    /** Indexed table, e.g. HRM_EMP */
+    protected abstract String table();
+
+    /** Index name, e.g. HRM_EMP_IX2 */
+    protected abstract String indexName();
+
+    /** Everything after "ON table", e.g. "(CO_ID, UPD_DT, EMP_ID)" */
+    protected abstract String definition();
+
+    protected boolean unique() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try {
+            String table = table().toLowerCase(Locale.ROOT);
+            String index = indexName().toLowerCase(Locale.ROOT);
+            String relkind = queryString(connection, RELKIND, table);
+            if (relkind == null) {
+                throw new SQLException("Table " + table + " does not exist");
+            }
+            if (!"p".equals(relkind)) {
+                buildConcurrently(connection, index, table);
+                return;
+            }
+            execute(connection, create() + " IF NOT EXISTS " + index + " ON ONLY " + table + " " + definition());
+            String suffix = index.startsWith(table + "_") ? index.substring(table.length()) : "_" + index;
+            for (String partition : partitions(connection, table)) {
+                String partitionIndex = partition + suffix;
+                buildConcurrently(connection, partitionIndex, partition);
+                execute(connection, "ALTER INDEX " + index + " ATTACH PARTITION " + partitionIndex);
+            }
+            log.info("Index {} on {} built on all partitions", index, table);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void buildConcurrently(Connection connection, String index, String table) throws SQLException {
+        String valid = queryString(connection, VALID, index);
+        if ("t".equals(valid) || "true".equals(valid)) {
+            log.info("Index {} already exists", index);
+            return;
+        }
+        if (valid != null) {
+            log.warn("Dropping invalid index {} left by an interrupted build", index);
+            execute(connection, "DROP INDEX CONCURRENTLY " + index);
+        }
+        long start = System.nanoTime();
+        execute(connection, create() + " CONCURRENTLY " + index + " ON " + table + " " + definition());
+        log.info("Built index {} in {} ms", index, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private String create() {
+        return unique() ? "CREATE UNIQUE INDEX" : "CREATE INDEX";
+    }
+
+    private static List<String> partitions(Connection connection, String table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(PARTITIONS)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static String queryString(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
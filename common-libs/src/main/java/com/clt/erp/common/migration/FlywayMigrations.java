@@ -0,0 +1,77 @@
+package com.clt.erp.common.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * How the services apply their migrations, called from each service's config/MigrationConfig (the
+ * FlywayMigrationStrategy interface lives in a different package in each Spring Boot version).
+ */
+@Slf4j
+public final class FlywayMigrations {
+
+    private FlywayMigrations() {
+    }
+
+    /**
+     * Applies pending migrations.
+     *
+     * Non-transactional migrations (CREATE INDEX CONCURRENTLY, batched backfills) that fail, typically on
+     * lock_timeout, stay in the history as failed and would block every later start. With retryFailed, only
+     * those failed history rows are deleted and the migrations run again; they are written to be re-run.
+     * Unlike Flyway's repair(), checksums and missing migrations are left alone, so an edited or removed
+     * script still fails validation.
+     *
+     * @param retryFailed delete failed history rows before migrating (erp.migration.retry-failed)
+     */
+    public static void migrate(Flyway flyway, boolean retryFailed) {
+        if (retryFailed
+                && Arrays.stream(flyway.info().all()).anyMatch(migration -> migration.getState().isFailed())) {
+            deleteFailed(flyway.getConfiguration());
+        }
+        flyway.migrate();
+    }
+
+    private static void deleteFailed(Configuration configuration) {
+        String table = quote(configuration.getTable());
+        String schema = configuration.getDefaultSchema() != null ? configuration.getDefaultSchema()
+                : configuration.getSchemas().length > 0 ? configuration.getSchemas()[0] : null;
+        if (schema != null) {
+            table = quote(schema) + "." + table;
+        }
+        try (Connection connection = configuration.getDataSource().getConnection();
+                Statement statement = connection.createStatement()) {
+            int deleted = statement.executeUpdate("DELETE FROM " + table + " WHERE success = false");
+            log.warn("Retrying {} failed migration(s) recorded in {}", deleted, table);
+        } catch (SQLException e) {
+            throw new FlywayException("Could not delete the failed migrations from " + table, e);
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * For the "migrate" profile: exits once the migrations are applied, without serving requests. A failed
+     * migration fails the startup, so the exit code tells a deploy pipeline whether to continue.
+     */
+    public static ApplicationRunner exitAfterMigration(ConfigurableApplicationContext context, Flyway flyway) {
+        return args -> {
+            log.info("Schema of {} at version {}, exiting", flyway.getConfiguration().getTable(),
+                    flyway.info().current() != null ? flyway.info().current().getVersion() : "none");
+            System.exit(SpringApplication.exit(context));
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.clt.erp.common.mybatis;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Makes MyBatis mappers work with Spring AOT (build profile -Paot); register as a static bean. Without AOT it
+ * only states the mapper bean types more precisely.
+ *
+ * - Mapper beans (MapperFactoryBean) get their mapper interface as a Class constructor argument and a typed
+ *   target, instead of the class name the mapper scanner sets, which the generated code cannot turn into the
+ *   constructor argument.
+ * - The mapper scanner itself is left out of the generated bean definitions: the mappers it registered at
+ *   build time are generated already, and scanning again at runtime would register them a second time.
+ */
+public class MapperAotProcessor
+        implements MergedBeanDefinitionPostProcessor, BeanRegistrationAotProcessor, BeanRegistrationExcludeFilter {
+
+    private static final String MAPPER_FACTORY_BEAN = "org.mybatis.spring.mapper.MapperFactoryBean";
+    private static final String MAPPER_SCANNER = "org.mybatis.spring.mapper.MapperScannerConfigurer";
+
+    @Override
+    public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+        if (!MAPPER_FACTORY_BEAN.equals(beanType.getName())) {
+            return;
+        }
+        PropertyValue mapperInterface = beanDefinition.getPropertyValues().getPropertyValue("mapperInterface");
+        if (mapperInterface == null || !(mapperInterface.getValue() instanceof Class<?> mapper)) {
+            return;
+        }
+        beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanType, mapper));
+        beanDefinition.getConstructorArgumentValues().clear();
+        beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, mapper);
+    }
+
+    /** Nothing to add to the generated code; the bean definitions were adjusted above */
+    @Override
+    public BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+        return null;
+    }
+
+    @Override
+    public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+        return MAPPER_SCANNER.equals(registeredBean.getBeanClass().getName());
+    }
+}
@@ -0,0 +1,53 @@
+package com.clt.erp.common.mybatis;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+/**
+ * Maps {@link Instant} to TIMESTAMP (without time zone) columns holding UTC, such as the CRE_DT / UPD_DT
+ * audit columns. Unlike MyBatis' built-in InstantTypeHandler, which goes through java.sql.Timestamp, the
+ * result does not depend on the JVM's default time zone.
+ *
+ * Parameters are bound as LocalDateTime, i.e. as a timestamp: {@code UPD_DT >= #{since}} compares the bare
+ * column without a cast and can use an index on it. Register for Instant in mybatis-config.xml:
+ * {@code <typeHandler handler="com.clt.erp.common.mybatis.UtcInstantTypeHandler"/>}.
+ */
+@MappedTypes(Instant.class)
+@MappedJdbcTypes(value = JdbcType.TIMESTAMP, includeNullJdbcType = true)
+public class UtcInstantTypeHandler extends BaseTypeHandler<Instant> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Instant parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setObject(i, LocalDateTime.ofInstant(parameter, ZoneOffset.UTC));
+    }
+
+    @Override
+    public Instant getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toInstant(rs.getObject(columnName, LocalDateTime.class));
+    }
+
+    @Override
+    public Instant getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toInstant(rs.getObject(columnIndex, LocalDateTime.class));
+    }
+
+    @Override
+    public Instant getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toInstant(cs.getObject(columnIndex, LocalDateTime.class));
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        return value != null ? value.toInstant(ZoneOffset.UTC) : null;
+    }
+}
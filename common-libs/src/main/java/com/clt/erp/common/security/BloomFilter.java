@@ -0,0 +1,68 @@
+package com.clt.erp.common.security;
+
+/**
+ * Immutable bloom filter over strings, used as the negative fast path of RevocationList: "not contained"
+ * is certain, "contained" has to be confirmed against the exact set. Built once per revocation list snapshot,
+ * so reads need no synchronization.
+ *
+ * Probes are derived from String.hashCode (cached by the String) with double hashing, 1% false positives
+ * at the sized capacity.
+ */
+final class BloomFilter {
+
+    private static final int HASHES = 7;
+    /** Bits per entry for 1% false positives with 7 hashes */
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final long[] bits;
+    private final int bitCount;
+
+    private BloomFilter(int capacity) {
+        int words = Math.max(1, (int) ((Math.max(1L, capacity) * BITS_PER_ENTRY + 63) / 64));
+        this.bits = new long[words];
+        this.bitCount = words * 64;
+    }
+
+    /**
+     * @param capacity entries the filter is sized for
+     * @param seeds one seed per value, keeping value spaces (jti, sub) apart; same length as values
+     */
+    static BloomFilter of(int capacity, int[] seeds, String[] values) {
+        BloomFilter filter = new BloomFilter(capacity);
+        for (int i = 0; i < values.length; i++) {
+            filter.add(seeds[i], values[i]);
+        }
+        return filter;
+    }
+
+    boolean mightContain(int seed, String value) {
+        int h1 = mix(value.hashCode() ^ seed);
+        int h2 = mix(h1 + 0x9E3779B9) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(int seed, String value) {
+        int h1 = mix(value.hashCode() ^ seed);
+        int h2 = mix(h1 + 0x9E3779B9) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /** murmur3 fmix32: spreads String.hashCode, whose low bits are weak for similar strings */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
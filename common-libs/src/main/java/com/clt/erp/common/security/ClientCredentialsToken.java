@@ -0,0 +1,94 @@
+package com.clt.erp.common.security;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Access token of a client_credentials client registered in auth-service, for service-to-service calls such as
+ * the revocation feed. Fetched from the token endpoint on first use, then again shortly before it expires or
+ * after invalidate() (e.g. on a 401). The token response is read without a JSON library, like RevocationFeed,
+ * so every service can use it whatever its Jackson generation.
+ */
+public class ClientCredentialsToken {
+
+    /** Fetched again this long before it expires */
+    private static final long RENEW_BEFORE_SECONDS = 30;
+    /** Assumed lifetime when the response has no expires_in */
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 60;
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern EXPIRES_IN = Pattern.compile("\"expires_in\"\\s*:\\s*(\\d+)");
+
+    private final URI tokenUri;
+    private final String authorization;
+    private final String body;
+    private final HttpClient httpClient;
+    private String token;
+    private Instant renewAt = Instant.MIN;
+
+    /**
+     * @param tokenUri auth-service's token endpoint, e.g. http://localhost:8081/oauth2/token
+     * @param scope    scope to request, e.g. ServiceScopes.REVOCATIONS_READ
+     */
+    public ClientCredentialsToken(URI tokenUri, String clientId, String clientSecret, String scope) {
+        this.tokenUri = tokenUri;
+        // client_secret_basic: both parts form-encoded before Base64 (RFC 6749, section 2.3.1)
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString((formEncode(clientId) + ":"
+                + formEncode(clientSecret)).getBytes(StandardCharsets.UTF_8));
+        this.body = "grant_type=client_credentials&scope=" + formEncode(scope);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    /**
+     * @return a current access token, fetched when there is none or it is about to expire
+     * @throws IOException if the token endpoint cannot be reached or does not issue a token
+     */
+    public synchronized String get() throws IOException, InterruptedException {
+        Instant now = Instant.now();
+        if (token == null || !now.isBefore(renewAt)) {
+            fetch(now);
+        }
+        return token;
+    }
+
+    /**
+     * Drops the current token (e.g. after a 401), so the next get() fetches a new one.
+     */
+    public synchronized void invalidate() {
+        token = null;
+    }
+
+    private void fetch(Instant now) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(tokenUri)
+                .timeout(Duration.ofSeconds(5))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher accessToken = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !accessToken.find()) {
+            throw new IOException("Token endpoint " + tokenUri + " returned status " + response.statusCode());
+        }
+        Matcher expiresIn = EXPIRES_IN.matcher(response.body());
+        long lifetime = expiresIn.find() ? Long.parseLong(expiresIn.group(1)) : DEFAULT_EXPIRES_IN_SECONDS;
+        token = accessToken.group(1);
+        renewAt = now.plusSeconds(Math.max(lifetime - RENEW_BEFORE_SECONDS, lifetime / 2));
+    }
+
+    private static String formEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
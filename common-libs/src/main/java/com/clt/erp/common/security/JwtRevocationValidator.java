@@ -0,0 +1,31 @@
+package com.clt.erp.common.security;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects JWTs revoked by id ("jti") or by subject (every token with "iat" up to the revocation), as known to
+ * the local RevocationList. Add it next to the default validators of the service's JwtDecoder.
+ */
+public class JwtRevocationValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+            "The token has been revoked", null);
+
+    private final RevocationList revocations;
+
+    public JwtRevocationValidator(RevocationList revocations) {
+        this.revocations = revocations;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        if (revocations.isRevoked(jwt.getId(), jwt.getSubject(), jwt.getIssuedAt())) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,66 @@
+package com.clt.erp.common.security;
+
+import java.util.Collection;
+
+/**
+ * Permission catalogue shared by auth-service (which compiles a role's ADM_ROLE_PERM.PERM_CD rows into a bitmask)
+ * and the resource servers (which check the mask carried in the JWT "perms" claim).
+ *
+ * Each permission owns a fixed bit: a bit must never be reused or renumbered while tokens carrying it can
+ * still be valid. Bits stay below 53 so the mask is exact as a JSON number in JavaScript clients too.
+ */
+public enum Permission {
+
+    HRM_EMPLOYEE_READ(0),
+    HRM_EMPLOYEE_WRITE(1),
+    ADM_TOKEN_REVOKE(2);
+
+    /** JWT claim holding the granted permissions as a bitmask (JSON number) */
+    public static final String CLAIM = "perms";
+
+    private static final int MAX_BIT = 52;
+
+    private final long mask;
+
+    Permission(int bit) {
+        if (bit < 0 || bit > MAX_BIT) {
+            throw new IllegalArgumentException("Permission bit out of range: " + bit);
+        }
+        this.mask = 1L << bit;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * Whether every bit of this permission is set in the granted mask.
+     */
+    public boolean isGrantedIn(long granted) {
+        return (granted & mask) == mask;
+    }
+
+    /**
+     * Mask of permission codes (enum names). Codes not in this catalogue are ignored.
+     */
+    public static long maskOf(Collection<String> codes) {
+        long mask = 0;
+        for (String code : codes) {
+            for (Permission permission : values()) {
+                if (permission.name().equals(code)) {
+                    mask |= permission.mask;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,66 @@
+package com.clt.erp.common.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wire format of auth-service's revocation feed (GET /revocations?since=&lt;cursor&gt;, text/plain), kept
+ * compact and free of a JSON library so every service can read it whatever its Jackson generation:
+ *
+ * <pre>
+ * 42                                                       next cursor (pass as since)
+ * sub 1760000000000 1760003600000 T0001::user01            type, revokedAt and expiresAt (epoch ms), value
+ * jti 1760000001000 1760003601000 0f8c2b9e-...
+ * </pre>
+ */
+public final class RevocationFeed {
+
+    public static final String MEDIA_TYPE = "text/plain";
+
+    private RevocationFeed() {
+    }
+
+    public static String format(long cursor, List<RevocationList.Revocation> revocations) {
+        StringBuilder body = new StringBuilder(16 + revocations.size() * 80);
+        body.append(cursor).append('\n');
+        for (RevocationList.Revocation revocation : revocations) {
+            body.append(revocation.type().name().toLowerCase(Locale.ROOT)).append(' ')
+                    .append(revocation.revokedAt().toEpochMilli()).append(' ')
+                    .append(revocation.expiresAt().toEpochMilli()).append(' ')
+                    .append(revocation.value()).append('\n');
+        }
+        return body.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not in the feed format
+     */
+    public static Page parse(String body) {
+        String[] lines = body.split("\n");
+        try {
+            long cursor = Long.parseLong(lines[0].trim());
+            List<RevocationList.Revocation> revocations = new ArrayList<>(lines.length - 1);
+            for (int i = 1; i < lines.length; i++) {
+                if (lines[i].isBlank()) {
+                    continue;
+                }
+                String[] fields = lines[i].split(" ", 4);
+                revocations.add(new RevocationList.Revocation(
+                        RevocationList.Revocation.Type.valueOf(fields[0].toUpperCase(Locale.ROOT)), fields[3],
+                        Instant.ofEpochMilli(Long.parseLong(fields[1])),
+                        Instant.ofEpochMilli(Long.parseLong(fields[2]))));
+            }
+            return new Page(cursor, revocations);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed revocation feed", e);
+        }
+    }
+
+    /**
+     * @param cursor position after the returned revocations
+     */
+    public record Page(long cursor, List<RevocationList.Revocation> revocations) {
+    }
+}
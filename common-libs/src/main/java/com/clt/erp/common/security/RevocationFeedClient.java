@@ -0,0 +1,138 @@
+package com.clt.erp.common.security;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.clt.erp.common.metrics.ErpMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a RevocationList in sync with auth-service's revocation feed: polls GET feedUri?since=&lt;cursor&gt;
+ * every pollInterval and applies what is new, so a revocation reaches this service within about one interval.
+ * The feed takes a bearer token with the revocations.read scope (ServiceScopes.REVOCATIONS_READ), fetched by the
+ * given ClientCredentialsToken and fetched again after a 401.
+ * The first poll runs in start(), before requests are served; when auth-service cannot be reached, the last
+ * known list stays in force (empty after a start without auth-service) and polling continues.
+ *
+ * Metrics: erp.revocation.entries, erp.revocation.feed.age (seconds since the last successful poll),
+ * erp.revocation.feed.polls (tag outcome).
+ */
+@Slf4j
+public class RevocationFeedClient implements AutoCloseable {
+
+    private final URI feedUri;
+    private final Duration pollInterval;
+    private final RevocationList revocations;
+    private final ClientCredentialsToken token;
+    private final HttpClient httpClient;
+    private final Counter succeeded;
+    private final Counter failed;
+    private volatile long lastSuccessNanos = System.nanoTime();
+    private volatile boolean synced;
+    private boolean failing;
+    private long cursor;
+    private ScheduledExecutorService scheduler;
+
+    public RevocationFeedClient(URI feedUri, Duration pollInterval, RevocationList revocations,
+            ClientCredentialsToken token, MeterRegistry meterRegistry) {
+        this.feedUri = feedUri;
+        this.pollInterval = pollInterval;
+        this.revocations = revocations;
+        this.token = token;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        Gauge.builder(ErpMetrics.REVOCATION_ENTRIES, revocations, RevocationList::size)
+                .description("Active token revocations known to this instance")
+                .register(meterRegistry);
+        Gauge.builder(ErpMetrics.REVOCATION_FEED_AGE, this,
+                        client -> client.synced ? (System.nanoTime() - client.lastSuccessNanos) / 1e9 : Double.NaN)
+                .description("Seconds since the revocation list was last synced with auth-service")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.succeeded = polls(meterRegistry, ErpMetrics.OUTCOME_SUCCESS);
+        this.failed = polls(meterRegistry, ErpMetrics.OUTCOME_ERROR);
+    }
+
+    public synchronized void start() {
+        if (scheduler == null) {
+            poll();
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("revocation-feed").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    void poll() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(feedUri + "?since=" + cursor))
+                    .timeout(pollInterval.plusSeconds(2))
+                    .header("Accept", RevocationFeed.MEDIA_TYPE)
+                    .header("Authorization", "Bearer " + token.get())
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 401) {
+                // expired early or signed with a rotated key
+                token.invalidate();
+            }
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("status " + response.statusCode());
+            }
+            RevocationFeed.Page page = RevocationFeed.parse(response.body());
+            revocations.apply(page.revocations(), Instant.now());
+            if (!page.revocations().isEmpty()) {
+                log.info("Applied {} token revocation(s), {} active", page.revocations().size(), revocations.size());
+            }
+            cursor = page.cursor();
+            if (failing) {
+                log.info("Revocation feed {} reachable again", feedUri);
+                failing = false;
+            }
+            lastSuccessNanos = System.nanoTime();
+            synced = true;
+            succeeded.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.increment();
+            if (!failing) {
+                log.warn("Polling the revocation feed {} failed, keeping the last known list: {}", feedUri,
+                        e.toString());
+                failing = true;
+            } else {
+                log.debug("Polling the revocation feed {} failed: {}", feedUri, e.toString());
+            }
+            // expired entries still have to go
+            revocations.apply(List.of(), Instant.now());
+        }
+    }
+
+    private static Counter polls(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(ErpMetrics.REVOCATION_FEED_POLLS)
+                .description("Revocation feed polls")
+                .tag(ErpMetrics.TAG_OUTCOME, outcome)
+                .register(meterRegistry);
+    }
+}
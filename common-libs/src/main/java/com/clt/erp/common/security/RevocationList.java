@@ -0,0 +1,149 @@
+package com.clt.erp.common.security;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local copy of the active token revocations published by auth-service (GET /revocations, see RevocationFeed):
+ * - JTI: one access token, by its "jti" claim
+ * - SUB: every token of a subject ("sub" claim) issued at or before the revocation (iat, in seconds)
+ *
+ * Lookups go to a bloom filter first, so a token that is not revoked - nearly every request - costs a few
+ * hashes and bit tests without touching the exact maps. Updates build a new immutable snapshot and publish it
+ * with one volatile write: readers never lock. Entries are dropped once every token they can match has expired.
+ */
+public class RevocationList {
+
+    private static final int JTI_SEED = 0x6A7469;
+    private static final int SUB_SEED = 0x737562;
+
+    private final int expectedEntries;
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param expectedEntries active revocations the bloom filter is sized for at least (it grows with the list)
+     */
+    public RevocationList(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        this.snapshot = Snapshot.build(Map.of(), Map.of(), Map.of(), expectedEntries);
+    }
+
+    /**
+     * @param jti token id, may be null
+     * @param subject token subject, may be null
+     * @param issuedAt token "iat", may be null (then a revoked subject matches every token)
+     */
+    public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+        Snapshot current = snapshot;
+        if (current.empty) {
+            return false;
+        }
+        if (jti != null && current.bloom.mightContain(JTI_SEED, jti) && current.jtis.containsKey(jti)) {
+            return true;
+        }
+        if (subject != null && current.bloom.mightContain(SUB_SEED, subject)) {
+            Instant revokedAt = current.subjects.get(subject);
+            return revokedAt != null
+                    && (issuedAt == null || issuedAt.getEpochSecond() <= revokedAt.getEpochSecond());
+        }
+        return false;
+    }
+
+    /**
+     * Adds revocations and drops expired ones; publishes a new snapshot when anything changed.
+     * Called by one feed poller at a time.
+     */
+    public synchronized void apply(List<Revocation> revocations, Instant now) {
+        Snapshot current = snapshot;
+        if (revocations.isEmpty() && current.empty) {
+            return;
+        }
+        Map<String, Instant> jtis = new HashMap<>(current.jtis);
+        Map<String, Instant> subjects = new HashMap<>(current.subjects);
+        Map<String, Instant> subjectExpiry = new HashMap<>(current.subjectExpiry);
+        boolean changed = jtis.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        if (subjectExpiry.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+            subjects.keySet().retainAll(subjectExpiry.keySet());
+            changed = true;
+        }
+        for (Revocation revocation : revocations) {
+            if (!revocation.expiresAt().isAfter(now)) {
+                continue;
+            }
+            if (revocation.type() == Revocation.Type.JTI) {
+                changed |= !revocation.expiresAt().equals(jtis.put(revocation.value(), revocation.expiresAt()));
+            } else {
+                // a later revocation of the same subject covers the earlier one
+                Instant revokedAt = subjects.get(revocation.value());
+                if (revokedAt == null || revocation.revokedAt().isAfter(revokedAt)) {
+                    subjects.put(revocation.value(), revocation.revokedAt());
+                    subjectExpiry.merge(revocation.value(), revocation.expiresAt(),
+                            (a, b) -> a.isAfter(b) ? a : b);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            snapshot = Snapshot.build(jtis, subjects, subjectExpiry, expectedEntries);
+        }
+    }
+
+    /**
+     * Active revocations (token ids and subjects).
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current.jtis.size() + current.subjects.size();
+    }
+
+    /**
+     * One revocation as published by the feed.
+     *
+     * @param revokedAt when it was recorded; for SUB, tokens issued up to this second are revoked
+     * @param expiresAt when every token it can match has expired, so it can be forgotten
+     */
+    public record Revocation(Type type, String value, Instant revokedAt, Instant expiresAt) {
+
+        public enum Type {
+            JTI, SUB
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Map<String, Instant> jtis;
+        private final Map<String, Instant> subjects;
+        private final Map<String, Instant> subjectExpiry;
+        private final BloomFilter bloom;
+        private final boolean empty;
+
+        private Snapshot(Map<String, Instant> jtis, Map<String, Instant> subjects,
+                Map<String, Instant> subjectExpiry, BloomFilter bloom) {
+            this.jtis = jtis;
+            this.subjects = subjects;
+            this.subjectExpiry = subjectExpiry;
+            this.bloom = bloom;
+            this.empty = jtis.isEmpty() && subjects.isEmpty();
+        }
+
+        static Snapshot build(Map<String, Instant> jtis, Map<String, Instant> subjects,
+                Map<String, Instant> subjectExpiry, int expectedEntries) {
+            int count = jtis.size() + subjects.size();
+            int[] seeds = new int[count];
+            String[] values = new String[count];
+            int i = 0;
+            for (String jti : jtis.keySet()) {
+                seeds[i] = JTI_SEED;
+                values[i++] = jti;
+            }
+            for (String subject : subjects.keySet()) {
+                seeds[i] = SUB_SEED;
+                values[i++] = subject;
+            }
+            BloomFilter bloom = BloomFilter.of(Math.max(expectedEntries, count * 2), seeds, values);
+            return new Snapshot(Map.copyOf(jtis), Map.copyOf(subjects), Map.copyOf(subjectExpiry), bloom);
+        }
+    }
+}
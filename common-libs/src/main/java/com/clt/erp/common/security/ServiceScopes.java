@@ -0,0 +1,24 @@
+package com.clt.erp.common.security;
+
+/**
+ * OAuth2 scopes of the service-to-service (client_credentials) clients registered in auth-service. The resource
+ * servers require them as authorities: Spring maps a token's "scope" claim to SCOPE_&lt;scope&gt;.
+ */
+public final class ServiceScopes {
+
+    /** Operational actuator reads: Prometheus scrapes, circuit breaker events */
+    public static final String ACTUATOR_READ = "actuator.read";
+
+    /** auth-service's revocation feed (GET /revocations), polled by RevocationFeedClient */
+    public static final String REVOCATIONS_READ = "revocations.read";
+
+    private ServiceScopes() {
+    }
+
+    /**
+     * @return the authority a token granted the scope carries, e.g. SCOPE_actuator.read
+     */
+    public static String authority(String scope) {
+        return "SCOPE_" + scope;
+    }
+}
@@ -0,0 +1,146 @@
+package com.clt.erp.common.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OpenTelemetry span exporter appending one JSON object per finished span to a file, for local latency
+ * analysis without a collector or vendor backend (e.g. with jq, grouping by trace_id):
+ *
+ * <pre>
+ * {"trace_id":"..","span_id":"..","parent_span_id":"..","service":"hrm-service","name":"mybatis EmpMapper.selectList",
+ *  "kind":"CLIENT","start":"2026-01-01T00:00:00.000001Z","duration_ms":1.234,"status":"UNSET","attributes":{..}}
+ * </pre>
+ *
+ * Register as a bean; Spring Boot adds SpanExporter beans to the tracer provider's batch span processor.
+ */
+@Slf4j
+public class SpanFileExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final Path file;
+    private final BufferedWriter writer;
+
+    public SpanFileExporter(Path file) {
+        this.file = file;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open span file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        StringBuilder json = new StringBuilder(512);
+        try {
+            for (SpanData span : spans) {
+                json.setLength(0);
+                append(json, span);
+                writer.write(json.toString());
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    static void append(StringBuilder json, SpanData span) {
+        json.append('{');
+        field(json, "trace_id", span.getTraceId()).append(',');
+        field(json, "span_id", span.getSpanId()).append(',');
+        if (span.getParentSpanContext().isValid()) {
+            field(json, "parent_span_id", span.getParentSpanId()).append(',');
+        }
+        String service = span.getResource().getAttribute(SERVICE_NAME);
+        if (service != null) {
+            field(json, "service", service).append(',');
+        }
+        field(json, "name", span.getName()).append(',');
+        field(json, "kind", span.getKind().name()).append(',');
+        long startNanos = span.getStartEpochNanos();
+        field(json, "start", Instant.ofEpochSecond(0, startNanos).toString()).append(',');
+        json.append("\"duration_ms\":")
+                .append((span.getEndEpochNanos() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                .append(',');
+        field(json, "status", span.getStatus().getStatusCode().name()).append(',');
+        json.append("\"attributes\":{");
+        boolean[] first = {true};
+        span.getAttributes().forEach((key, value) -> {
+            if (!first[0]) {
+                json.append(',');
+            }
+            first[0] = false;
+            field(json, key.getKey(), String.valueOf(value));
+        });
+        json.append("}}");
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        return quote(quote(json, name).append(':'), value);
+    }
+
+    private static StringBuilder quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,53 @@
+package com.clt.erp.common.tracing;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * PasswordEncoder decorator opening a child span around hashing ("password encode", "password matches"),
+ * so the deliberately slow BCrypt work shows up as its own hop in a login trace.
+ */
+public class TracingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Tracer tracer;
+
+    public TracingPasswordEncoder(PasswordEncoder delegate, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return inSpan("password encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return inSpan("password matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T inSpan(String name, Supplier<T> work) {
+        if (tracer.currentSpan() == null) {
+            return work.get();
+        }
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.get();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.clt.erp.common.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import com.clt.erp.common.dto.BaseDto;
+
+class AuditInterceptorTests {
+
+	private final List<AuditRecord> records = new ArrayList<>();
+	private final List<Object> serialized = new ArrayList<>();
+
+	@Test
+	void insertStampsTheAuditFieldsAndRecordsTheChange() throws Throwable {
+		AuditInterceptor interceptor = interceptor("T0001", "U1");
+		Employee employee = new Employee();
+
+		interceptor.intercept(invocation(SqlCommandType.INSERT, employee, 1));
+
+		assertEquals("U1", employee.getCreUsrId());
+		assertEquals("U1", employee.getUpdUsrId());
+		assertNotNull(employee.getCreDt());
+		assertEquals(employee.getCreDt(), employee.getUpdDt());
+		assertEquals(1, records.size());
+		AuditRecord record = records.get(0);
+		assertEquals("T0001", record.coId());
+		assertEquals("U1", record.usrId());
+		assertEquals(employee.getCreDt(), record.changedAt());
+		assertEquals("EmployeeMapper.insertEmployee", record.statement());
+		assertEquals("INSERT", record.command());
+		assertEquals(1, record.rows());
+		assertEquals("params", record.params());
+		assertEquals(List.of(employee), serialized);
+	}
+
+	@Test
+	void statementsChangingNothingAreNotRecorded() throws Throwable {
+		AuditInterceptor interceptor = interceptor("T0001", "U1");
+
+		interceptor.intercept(invocation(SqlCommandType.DELETE, null, 0));
+		interceptor.intercept(invocation(SqlCommandType.SELECT, null, 1));
+
+		assertTrue(records.isEmpty());
+	}
+
+	@Test
+	void parameterMapsAreRecordedWithoutPositionalDuplicates() throws Throwable {
+		// no authenticated user: who and which tenant come from the DTO
+		AuditInterceptor interceptor = interceptor(null, null);
+		Employee employee = new Employee();
+		employee.setCoId("T0002");
+		employee.setUpdUsrId("U2");
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		parameters.put("employee", employee);
+		parameters.put("reason", "transfer");
+		parameters.put("param1", employee);
+		parameters.put("param2", "transfer");
+
+		interceptor.intercept(invocation(SqlCommandType.UPDATE, parameters, 1));
+
+		assertEquals("U2", employee.getUpdUsrId());
+		assertNotNull(employee.getUpdDt());
+		AuditRecord record = records.get(0);
+		assertEquals("T0002", record.coId());
+		assertEquals("U2", record.usrId());
+		assertEquals(List.of("employee", "reason"), List.copyOf(((Map<?, ?>) serialized.get(0)).keySet()));
+	}
+
+	private AuditInterceptor interceptor(String tenant, String user) {
+		return new AuditInterceptor(records::add,
+				() -> tenant,
+				() -> {
+					if (user == null) {
+						throw new IllegalStateException("Authentication is not a JWT token");
+					}
+					return user;
+				},
+				value -> {
+					serialized.add(value);
+					return "params";
+				});
+	}
+
+	private static Invocation invocation(SqlCommandType command, Object parameter, int rows) throws Exception {
+		Configuration configuration = new Configuration();
+		MappedStatement statement = new MappedStatement.Builder(configuration, "EmployeeMapper.insertEmployee",
+				new StaticSqlSource(configuration, "INSERT INTO HRM_EMP (EMP_CD) VALUES (?)"), command).build();
+		Executor executor = mock(Executor.class);
+		when(executor.update(any(), any())).thenReturn(rows);
+		return new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class),
+				new Object[] {statement, parameter});
+	}
+
+	static class Employee extends BaseDto {
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -0,0 +1,186 @@
+package com.clt.erp.common.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clt.erp.common.metrics.ErpMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditWriterTests {
+
+	private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final DataSource dataSource = mock(DataSource.class);
+	private final Connection connection = mock(Connection.class);
+	/** Rows per executed INSERT */
+	private final List<Integer> inserts = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void connection() throws Exception {
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			PreparedStatement statement = mock(PreparedStatement.class);
+			when(statement.executeUpdate()).thenAnswer(execute -> {
+				int rows = sql.split(Pattern.quote(ROW), -1).length - 1;
+				inserts.add(rows);
+				return rows;
+			});
+			return statement;
+		});
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+	}
+
+	@Test
+	void queuedRecordsAreWrittenInBatches() throws Exception {
+		AuditWriter writer = writer(AuditWriter.Mode.ASYNC, 100, Duration.ZERO);
+		for (int i = 0; i < 7; i++) {
+			writer.record(record());
+		}
+
+		writer.start();
+		awaitWritten(7);
+		writer.stop();
+
+		assertEquals(List.of(3, 3, 1), inserts);
+	}
+
+	@Test
+	void recordsOfARolledBackTransactionAreDiscarded() throws Exception {
+		AuditWriter writer = writer(AuditWriter.Mode.ASYNC, 100, Duration.ZERO);
+		TransactionSynchronizationManager.initSynchronization();
+		writer.record(record());
+		writer.record(record());
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		writer.start();
+		writer.stop();
+
+		assertTrue(inserts.isEmpty());
+		assertFalse(TransactionSynchronizationManager.hasResource(writer));
+		verify(dataSource, never()).getConnection();
+	}
+
+	@Test
+	void commitModeWritesOnTheTransactionsConnectionBeforeCommit() throws Exception {
+		AuditWriter writer = writer(AuditWriter.Mode.COMMIT, 100, Duration.ZERO);
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.bindResource(dataSource, new ConnectionHolder(connection));
+		writer.record(record());
+		writer.record(record());
+		assertTrue(inserts.isEmpty());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.beforeCommit(false);
+		}
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertEquals(List.of(2), inserts);
+		assertEquals(2, count("written"));
+		verify(dataSource, never()).getConnection();
+	}
+
+	@Test
+	void fullQueueHoldsTheCallerThenCountsOverflow() throws Exception {
+		AuditWriter writer = writer(AuditWriter.Mode.ASYNC, 1, Duration.ofMillis(50));
+		TransactionSynchronizationManager.initSynchronization();
+		writer.record(record());
+		writer.record(record());
+		writer.record(record());
+
+		long start = System.nanoTime();
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		// the caller waited for room but never took a second connection while holding its own
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(2, count("overflow"));
+		verify(dataSource, never()).getConnection();
+	}
+
+	@Test
+	void stopFlushesTheQueue() throws Exception {
+		CountDownLatch released = new CountDownLatch(1);
+		when(dataSource.getConnection()).thenAnswer(invocation -> {
+			released.await();
+			return connection;
+		});
+		AuditWriter writer = writer(AuditWriter.Mode.ASYNC, 100, Duration.ZERO);
+		writer.start();
+		// the first record holds the writer thread in getConnection, the next two stay queued
+		writer.record(record());
+		Thread.sleep(100);
+		writer.record(record());
+		writer.record(record());
+
+		Thread stopping = Thread.ofVirtual().start(writer::stop);
+		while (writer.isRunning()) {
+			Thread.sleep(10);
+		}
+		released.countDown();
+		stopping.join(TimeUnit.SECONDS.toMillis(15));
+
+		assertEquals(List.of(1, 2), inserts);
+		assertEquals(3, count("written"));
+	}
+
+	private AuditWriter writer(AuditWriter.Mode mode, int capacity, Duration offerTimeout) {
+		return new AuditWriter(dataSource, "HRM_AUDIT_LOG", mode, capacity, 3, offerTimeout, registry);
+	}
+
+	private static AuditRecord record() {
+		return new AuditRecord("T0001", "U1", Instant.now(), "EmployeeMapper.insertEmployee", "INSERT", 1, "{}");
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		for (TransactionSynchronization synchronization : synchronizations) {
+			synchronization.afterCompletion(status);
+		}
+	}
+
+	private double count(String result) {
+		return registry.get(ErpMetrics.AUDIT_RECORDS).tag(ErpMetrics.TAG_RESULT, result).counter().count();
+	}
+
+	private void awaitWritten(int records) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count("written") < records && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.clt.erp.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DiscoveryMetricsTests {
+
+	private final Map<String, List<ServiceInstance>> registry = new HashMap<>();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final DiscoveryMetrics metrics = new DiscoveryMetrics(new DiscoveryClient() {
+
+		@Override
+		public String description() {
+			return "test";
+		}
+
+		@Override
+		public List<ServiceInstance> getInstances(String serviceId) {
+			return registry.getOrDefault(serviceId, List.of());
+		}
+
+		@Override
+		public List<String> getServices() {
+			return new ArrayList<>(registry.keySet());
+		}
+	}, meterRegistry);
+
+	@Test
+	void countsChurnAfterTheFirstFetch() {
+		register("hrm-service", "hrm-service:8082");
+		register("auth-service", "auth-service:8081");
+		metrics.refreshed();
+		assertEquals(1.0, instances("hrm-service"));
+		assertNull(meterRegistry.find(ErpMetrics.DISCOVERY_INSTANCE_CHANGES).counter());
+
+		register("hrm-service", "hrm-service:8083");
+		metrics.refreshed();
+		assertEquals(2.0, instances("hrm-service"));
+		assertEquals(1.0, changes("hrm-service", ErpMetrics.CHANGE_ADDED));
+
+		// the last instance of a service goes away: the service is no longer listed at all
+		registry.remove("auth-service");
+		metrics.refreshed();
+		assertEquals(0.0, instances("auth-service"));
+		assertEquals(1.0, changes("auth-service", ErpMetrics.CHANGE_REMOVED));
+
+		register("other-service", "other-service:8090");
+		metrics.refreshed();
+		assertEquals(1.0, changes("other-service", ErpMetrics.CHANGE_ADDED));
+	}
+
+	private void register(String service, String instanceId) {
+		String[] hostPort = instanceId.split(":");
+		registry.computeIfAbsent(service, id -> new ArrayList<>()).add(
+				new DefaultServiceInstance(instanceId, service, hostPort[0], Integer.parseInt(hostPort[1]), false));
+	}
+
+	private double instances(String service) {
+		return meterRegistry.get(ErpMetrics.DISCOVERY_INSTANCES).tag(ErpMetrics.TAG_SERVICE, service).gauge().value();
+	}
+
+	private double changes(String service, String change) {
+		Counter counter = meterRegistry.get(ErpMetrics.DISCOVERY_INSTANCE_CHANGES)
+				.tag(ErpMetrics.TAG_SERVICE, service)
+				.tag(ErpMetrics.TAG_CHANGE, change)
+				.counter();
+		return counter.count();
+	}
+}
@@ -0,0 +1,34 @@
+package com.clt.erp.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class StatementScopeTests {
+
+	@Test
+	void countsExecutionsPerStatementWhileOpen() {
+		StatementScope.record("com.clt.erp.auth.mapper.AuthMapper.loadUserByUsername");
+
+		StatementScope.open("POST /login");
+		StatementScope.record("com.clt.erp.auth.mapper.AuthMapper.loadUserByUsername");
+		StatementScope.record("com.clt.erp.auth.mapper.AuthMapper.isActiveCompany");
+		StatementScope.record("com.clt.erp.auth.mapper.AuthMapper.isActiveCompany");
+		StatementScope scope = StatementScope.close();
+
+		assertEquals("POST /login", scope.getName());
+		assertEquals(3, scope.getTotal());
+		assertEquals(Map.of("com.clt.erp.auth.mapper.AuthMapper.loadUserByUsername", 1,
+				"com.clt.erp.auth.mapper.AuthMapper.isActiveCompany", 2), scope.getCounts());
+		assertNull(StatementScope.close());
+	}
+
+	@Test
+	void sqlShapeIsOneLine() {
+		assertEquals("SELECT * FROM ADM_USR WHERE USR_ID = ? AND CO_ID = ?",
+				SlowQueryInterceptor.sqlShape("\n\t\tSELECT *\n\t\t  FROM ADM_USR\n\t\t WHERE USR_ID = ?\n\t\t   AND CO_ID = ?\n"));
+	}
+}
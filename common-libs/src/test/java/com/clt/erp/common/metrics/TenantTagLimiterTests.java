@@ -0,0 +1,35 @@
+package com.clt.erp.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TenantTagLimiterTests {
+
+	@Test
+	void keepsFirstTenantsAndFoldsTheRestIntoOther() {
+		TenantTagLimiter limiter = new TenantTagLimiter(2);
+
+		assertEquals("T0001", limiter.tag("T0001"));
+		assertEquals("T0002", limiter.tag("T0002"));
+		assertEquals(TenantTagLimiter.OTHER, limiter.tag("T0003"));
+		assertEquals("T0001", limiter.tag("T0001"));
+		assertEquals(TenantTagLimiter.NONE, limiter.tag(null));
+	}
+
+	@Test
+	void tenantRequestCountersStayBounded() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TenantRequestMetrics metrics = new TenantRequestMetrics(registry, 10);
+
+		for (int i = 0; i < 1000; i++) {
+			metrics.record("T" + i, 200);
+		}
+
+		assertEquals(11, registry.find(ErpMetrics.TENANT_REQUESTS).counters().size());
+		assertEquals(990, registry.get(ErpMetrics.TENANT_REQUESTS).tag(ErpMetrics.TAG_TENANT, TenantTagLimiter.OTHER)
+				.counter().count());
+	}
+}
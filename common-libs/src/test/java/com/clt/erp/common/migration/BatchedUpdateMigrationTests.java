@@ -0,0 +1,82 @@
+package com.clt.erp.common.migration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchedUpdateMigrationTests {
+
+	private final Context context = mock(Context.class);
+	private final Connection connection = mock(Connection.class);
+	private final PreparedStatement statement = mock(PreparedStatement.class);
+	private final V2__Backfill migration = new V2__Backfill();
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(context.getConnection()).thenReturn(connection);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+	}
+
+	@Test
+	void runsBatchesUntilNothingIsLeft() throws Exception {
+		when(statement.executeUpdate()).thenReturn(10, 10, 3, 0);
+
+		migration.migrate(context);
+
+		verify(statement, times(4)).executeUpdate();
+		verify(statement, times(4)).setInt(1, 10);
+		verify(connection).setAutoCommit(true);
+		assertFalse(migration.canExecuteInTransaction());
+	}
+
+	@Test
+	void retriesBatchesThatHitLockTimeout() throws Exception {
+		when(statement.executeUpdate())
+				.thenReturn(10)
+				.thenThrow(new SQLException("canceling statement due to lock timeout", "55P03"))
+				.thenReturn(4, 0);
+
+		migration.migrate(context);
+
+		verify(statement, times(4)).executeUpdate();
+	}
+
+	@Test
+	void otherErrorsFailTheMigration() throws Exception {
+		when(statement.executeUpdate()).thenThrow(new SQLException("column does not exist", "42703"));
+
+		assertThrows(SQLException.class, () -> migration.migrate(context));
+		verify(statement, times(1)).executeUpdate();
+	}
+
+	static class V2__Backfill extends BatchedUpdateMigration {
+
+		@Override
+		protected String batchSql() {
+			return "UPDATE T SET X = 1 WHERE ID IN (SELECT ID FROM T WHERE X IS NULL LIMIT ? FOR UPDATE SKIP LOCKED)";
+		}
+
+		@Override
+		protected int batchSize() {
+			return 10;
+		}
+
+		@Override
+		protected Duration pause() {
+			return Duration.ZERO;
+		}
+	}
+}
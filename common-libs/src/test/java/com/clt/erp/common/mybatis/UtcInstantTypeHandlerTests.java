@@ -0,0 +1,45 @@
+package com.clt.erp.common.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Test;
+
+class UtcInstantTypeHandlerTests {
+
+	private final UtcInstantTypeHandler handler = new UtcInstantTypeHandler();
+
+	@Test
+	void readsAndWritesUtcRegardlessOfDefaultTimeZone() throws SQLException {
+		TimeZone defaultZone = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("Asia/Ho_Chi_Minh"));
+		try {
+			ResultSet rs = mock(ResultSet.class);
+			when(rs.getObject("UPD_DT", LocalDateTime.class)).thenReturn(LocalDateTime.of(2025, 1, 31, 8, 15, 30));
+			assertEquals(Instant.parse("2025-01-31T08:15:30Z"), handler.getResult(rs, "UPD_DT"));
+
+			PreparedStatement ps = mock(PreparedStatement.class);
+			handler.setParameter(ps, 1, Instant.parse("2025-01-31T08:15:30Z"), JdbcType.TIMESTAMP);
+			verify(ps).setObject(1, LocalDateTime.of(2025, 1, 31, 8, 15, 30));
+		} finally {
+			TimeZone.setDefault(defaultZone);
+		}
+	}
+
+	@Test
+	void nullColumnsReadAsNull() throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		assertNull(handler.getResult(rs, 1));
+	}
+}
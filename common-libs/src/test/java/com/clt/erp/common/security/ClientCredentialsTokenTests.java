@@ -0,0 +1,81 @@
+package com.clt.erp.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class ClientCredentialsTokenTests {
+
+	private final List<String> requests = new ArrayList<>();
+	private HttpServer server;
+	private int status = 200;
+	private long expiresIn = 300;
+
+	@BeforeEach
+	void startTokenEndpoint() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/oauth2/token", exchange -> {
+			requests.add(exchange.getRequestHeaders().getFirst("Authorization") + " "
+					+ new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			byte[] body = ("{\"access_token\":\"token-" + requests.size() + "\",\"scope\":\"revocations.read\","
+					+ "\"token_type\":\"Bearer\",\"expires_in\":" + expiresIn + "}").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopTokenEndpoint() {
+		server.stop(0);
+	}
+
+	@Test
+	void tokenIsFetchedOnceAndReusedUntilInvalidated() throws Exception {
+		ClientCredentialsToken token = token();
+
+		assertEquals("token-1", token.get());
+		assertEquals("token-1", token.get());
+		token.invalidate();
+		assertEquals("token-2", token.get());
+
+		String basic = Base64.getEncoder()
+				.encodeToString("erp-revocation-feed:p%40ss+word".getBytes(StandardCharsets.UTF_8));
+		assertEquals("Basic " + basic + " grant_type=client_credentials&scope=revocations.read", requests.get(0));
+	}
+
+	@Test
+	void tokenIsRenewedBeforeItExpires() throws Exception {
+		// no lifetime left: fetched again on the next use
+		expiresIn = 0;
+		ClientCredentialsToken token = token();
+
+		assertEquals("token-1", token.get());
+		assertEquals("token-2", token.get());
+	}
+
+	@Test
+	void refusedClientFails() {
+		status = 401;
+		assertThrows(IOException.class, () -> token().get());
+	}
+
+	private ClientCredentialsToken token() {
+		URI tokenUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/token");
+		return new ClientCredentialsToken(tokenUri, "erp-revocation-feed", "p@ss word", ServiceScopes.REVOCATIONS_READ);
+	}
+}
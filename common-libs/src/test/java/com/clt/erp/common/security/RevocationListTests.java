@@ -0,0 +1,84 @@
+package com.clt.erp.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.clt.erp.common.security.RevocationList.Revocation;
+
+class RevocationListTests {
+
+	private static final Instant NOW = Instant.parse("2026-10-01T08:00:00Z");
+	private static final Instant EXPIRES = NOW.plus(Duration.ofHours(1));
+
+	@Test
+	void revokesTokenIdsAndSubjectsUpToTheRevocation() {
+		RevocationList list = new RevocationList(100);
+		assertFalse(list.isRevoked("jti-1", "CLT::admin", NOW));
+
+		list.apply(List.of(
+				new Revocation(Revocation.Type.JTI, "jti-1", NOW, EXPIRES),
+				new Revocation(Revocation.Type.SUB, "CLT::admin", NOW, EXPIRES)), NOW);
+
+		assertTrue(list.isRevoked("jti-1", "CLT::other", NOW.plusSeconds(5)));
+		assertFalse(list.isRevoked("jti-2", "CLT::other", NOW));
+		// tokens issued in the same second as the revocation are revoked, later ones are not
+		assertTrue(list.isRevoked("jti-2", "CLT::admin", NOW.minusSeconds(60)));
+		assertTrue(list.isRevoked("jti-2", "CLT::admin", NOW.plusMillis(900)));
+		assertFalse(list.isRevoked("jti-2", "CLT::admin", NOW.plusSeconds(1)));
+		assertTrue(list.isRevoked(null, "CLT::admin", null));
+		assertEquals(2, list.size());
+	}
+
+	@Test
+	void expiredRevocationsAreDropped() {
+		RevocationList list = new RevocationList(100);
+		list.apply(List.of(
+				new Revocation(Revocation.Type.JTI, "jti-1", NOW, EXPIRES),
+				new Revocation(Revocation.Type.SUB, "CLT::admin", NOW, EXPIRES.plusSeconds(60))), NOW);
+
+		list.apply(List.of(), EXPIRES);
+		assertFalse(list.isRevoked("jti-1", null, NOW));
+		assertTrue(list.isRevoked(null, "CLT::admin", NOW));
+
+		list.apply(List.of(), EXPIRES.plusSeconds(60));
+		assertEquals(0, list.size());
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegativesBeyondItsSizing() {
+		RevocationList list = new RevocationList(16);
+		List<Revocation> revocations = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			revocations.add(new Revocation(Revocation.Type.JTI, "jti-" + i, NOW, EXPIRES));
+		}
+		list.apply(revocations, NOW);
+
+		for (int i = 0; i < 5000; i++) {
+			assertTrue(list.isRevoked("jti-" + i, null, NOW));
+		}
+		assertFalse(list.isRevoked("jti-5000", null, NOW));
+	}
+
+	@Test
+	void feedRoundTrips() {
+		List<Revocation> revocations = List.of(
+				new Revocation(Revocation.Type.SUB, "CLT::admin", NOW, EXPIRES),
+				new Revocation(Revocation.Type.JTI, "0f8c2b9e-1d2a-4b7e-9a51-3c6f0d2e8b11", NOW, EXPIRES));
+
+		RevocationFeed.Page page = RevocationFeed.parse(RevocationFeed.format(42, revocations));
+
+		assertEquals(42, page.cursor());
+		assertEquals(revocations, page.revocations());
+		assertEquals(List.of(), RevocationFeed.parse("7\n").revocations());
+		assertThrows(IllegalArgumentException.class, () -> RevocationFeed.parse("<html>"));
+	}
+}
@@ -1,5 +1,8 @@
-import { useQuery } from '@tanstack/react-query'
+import { useEffect, useRef } from 'react'
+import { useQuery, useQueryClient } from '@tanstack/react-query'
+import { useOidcAccessToken } from '@axa-fr/react-oidc'
 import { createEmployeeService, type Employee } from '../services/employeeService'
+import { openEmployeeStream, type EmployeeChange } from '../services/employeeStream'
 import { LogoutButton } from '../components/LogoutButton'
 import { Link } from 'react-router-dom'
 import { useApiClient } from '../contexts/ApiContext'
@@ -23,8 +26,38 @@ export function EmployeesPage() {
   } = useQuery<Employee[], Error>({
     queryKey: ['employees'],
     queryFn: employeeService.getAllEmployees,
+    // Kept current by the change stream below instead of refetching
+    staleTime: Infinity,
   })
 
+  // Live updates: changes are pushed by hrm-service, the list is only reloaded when changes may have been missed
+  const queryClient = useQueryClient()
+  const { accessToken } = useOidcAccessToken()
+  const tokenRef = useRef<string | null>(null)
+  useEffect(() => {
+    tokenRef.current = accessToken || null
+  }, [accessToken])
+  useEffect(() => {
+    const controller = new AbortController()
+    const reload = () => queryClient.invalidateQueries({ queryKey: ['employees'] })
+    openEmployeeStream(
+      apiClient.defaults.baseURL ?? '',
+      () => tokenRef.current,
+      {
+        onReady: (reconnected) => {
+          if (reconnected) {
+            reload()
+          }
+        },
+        onResync: reload,
+        onChange: (change: EmployeeChange) =>
+          queryClient.setQueryData<Employee[]>(['employees'], (current) => applyChange(current, change)),
+      },
+      controller.signal,
+    )
+    return () => controller.abort()
+  }, [apiClient, queryClient])
+
   // Format date for display
   const formatDate = (dateString: string) => {
     try {
@@ -420,3 +453,18 @@ export function EmployeesPage() {
     </div>
   )
 }
+
+/**
+ * Applies a pushed change to the cached list: tombstones remove the employee, any other change inserts
+ * or replaces it by id (list order as returned by GET /employees).
+ */
+function applyChange(current: Employee[] | undefined, change: EmployeeChange): Employee[] | undefined {
+  if (!current) {
+    return current
+  }
+  const others = current.filter((employee) => employee.id !== change.id)
+  if (change.deleted) {
+    return others
+  }
+  return [...others, change].sort((a, b) => a.id - b.id)
+}
@@ -0,0 +1,103 @@
+import type { Employee } from './employeeService'
+
+/**
+ * One entry pushed by GET /api/hrm/employees/stream (same shape as the change feed entries).
+ * Deleted employees arrive as tombstones with only id, employeeCode and updDt set.
+ */
+export interface EmployeeChange extends Employee {
+  updDt: string
+  deleted: boolean
+}
+
+export interface EmployeeStreamHandlers {
+  /** The stream is open; after a reconnect, changes may have been missed */
+  onReady: (reconnected: boolean) => void
+  /** The server dropped changes for this client: reload */
+  onResync: () => void
+  onChange: (change: EmployeeChange) => void
+}
+
+const MAX_RETRY_DELAY_MS = 30_000
+
+/**
+ * Opens the employee change stream and keeps it open (reconnecting with backoff) until the signal aborts.
+ * Uses fetch instead of EventSource, which cannot send the Authorization header.
+ */
+export async function openEmployeeStream(
+  baseUrl: string,
+  getToken: () => string | null,
+  handlers: EmployeeStreamHandlers,
+  signal: AbortSignal,
+): Promise<void> {
+  let retryDelay = 1_000
+  let connected = false
+  while (!signal.aborted) {
+    try {
+      const token = getToken()
+      const response = await fetch(`${baseUrl}/api/hrm/employees/stream`, {
+        headers: {
+          Accept: 'text/event-stream',
+          ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        signal,
+      })
+      if (response.ok && response.body) {
+        await readEvents(response.body, (event, data) => {
+          if (event === 'ready') {
+            handlers.onReady(connected)
+            connected = true
+            retryDelay = 1_000
+          } else if (event === 'resync') {
+            handlers.onResync()
+          } else if (event === 'employee') {
+            handlers.onChange(JSON.parse(data) as EmployeeChange)
+          }
+        })
+      }
+    } catch (error) {
+      if (signal.aborted) {
+        return
+      }
+      console.warn('Employee stream interrupted', error)
+    }
+    await new Promise((resolve) => setTimeout(resolve, retryDelay))
+    retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS)
+  }
+}
+
+/**
+ * Minimal text/event-stream parser: "event:" and "data:" fields, events separated by a blank line,
+ * comment lines (heartbeats) ignored.
+ */
+async function readEvents(
+  body: ReadableStream<Uint8Array>,
+  onEvent: (event: string, data: string) => void,
+): Promise<void> {
+  const reader = body.pipeThrough(new TextDecoderStream()).getReader()
+  let buffer = ''
+  let event = 'message'
+  let data: string[] = []
+  for (;;) {
+    const { value, done } = await reader.read()
+    if (done) {
+      return
+    }
+    buffer += value
+    let newline
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+      const line = buffer.slice(0, newline).replace(/\r$/, '')
+      buffer = buffer.slice(newline + 1)
+      if (line === '') {
+        if (data.length > 0) {
+          onEvent(event, data.join('\n'))
+        }
+        event = 'message'
+        data = []
+      } else if (line.startsWith('event:')) {
+        event = line.slice(6).trim()
+      } else if (line.startsWith('data:')) {
+        data.push(line.slice(5).replace(/^ /, ''))
+      }
+    }
+  }
+}
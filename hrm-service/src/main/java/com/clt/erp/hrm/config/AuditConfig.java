@@ -0,0 +1,44 @@
+package com.clt.erp.hrm.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.audit.AuditInterceptor;
+import com.clt.erp.common.audit.AuditWriter;
+import com.clt.erp.hrm.utils.CommonFunction;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Audit trail (common-libs com.clt.erp.common.audit): changes made through the mappers are recorded in
+ * HRM_AUDIT_LOG with the user and tenant of the JWT. Settings in application.properties.
+ */
+@Configuration
+public class AuditConfig {
+
+    private static final String AUDIT_TABLE = "HRM_AUDIT_LOG";
+
+    @Bean
+    public AuditWriter auditWriter(DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${erp.audit.mode:async}") AuditWriter.Mode mode,
+            @Value("${erp.audit.queue-capacity:10000}") int capacity,
+            @Value("${erp.audit.batch-size:500}") int batchSize,
+            @Value("${erp.audit.offer-timeout:200ms}") Duration offerTimeout) {
+        return new AuditWriter(dataSource, AUDIT_TABLE, mode, capacity, batchSize, offerTimeout, meterRegistry);
+    }
+
+    /**
+     * Picked up by the MyBatis auto-configuration as a plugin.
+     */
+    @Bean
+    public AuditInterceptor auditInterceptor(AuditWriter auditWriter, JsonMapper jsonMapper) {
+        return new AuditInterceptor(auditWriter::record, CommonFunction::getCompanyId, CommonFunction::getUserId,
+                jsonMapper::writeValueAsString);
+    }
+}
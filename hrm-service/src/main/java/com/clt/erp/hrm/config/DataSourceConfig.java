@@ -0,0 +1,103 @@
+package com.clt.erp.hrm.config;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.clt.erp.hrm.datasource.ReadWriteRoutingDataSource;
+import com.clt.erp.hrm.datasource.ReadYourWritesTracker;
+import com.clt.erp.hrm.datasource.ReplicaLagMonitor;
+import com.clt.erp.hrm.utils.CommonFunction;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write routing, active once a read replica is configured (erp.datasource.replicas[0].url).
+ * Replaces the auto-configured DataSource with the primary pool behind a ReadWriteRoutingDataSource;
+ * mark read paths with {@code @Transactional(readOnly = true)} to send them to the replicas.
+ */
+@Configuration
+@ConditionalOnProperty("erp.datasource.replicas[0].url")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * The primary pool, built from spring.datasource.* like the auto-configured one.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties, DataSourceRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        List<ReplicaLagMonitor.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            replicas.add(new ReplicaLagMonitor.Replica(name,
+                    replicaPool(primaryDataSource, dataSourceProperties, replica, name, meterRegistry)));
+        }
+        return new ReplicaLagMonitor(replicas, properties.getMaxReplicaLag(), properties.getLagCheckInterval(),
+                meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    /**
+     * The DataSource used by MyBatis and the transaction manager.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaLagMonitor,
+                readYourWritesTracker, CommonFunction::getUsername, meterRegistry);
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        // known defaults, so the proxy does not open a connection at startup to find out
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+
+    /**
+     * Read-only pool with the primary pool's settings. Started lazily by the first lag check, so an
+     * unreachable replica does not prevent startup.
+     */
+    private static HikariDataSource replicaPool(HikariDataSource primary, DataSourceProperties dataSourceProperties,
+            DataSourceRoutingProperties.Replica replica, String name, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        primary.copyStateTo(pool);
+        pool.setPoolName(name);
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername() != null ? replica.getUsername()
+                : dataSourceProperties.determineUsername());
+        pool.setPassword(replica.getPassword() != null ? replica.getPassword()
+                : dataSourceProperties.determinePassword());
+        if (replica.getMaximumPoolSize() != null) {
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        }
+        pool.setReadOnly(true);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,52 @@
+package com.clt.erp.hrm.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Read replicas for read-only transactions. Without replicas, spring.datasource is used as is.
+ * Replica pools inherit the primary pool settings (spring.datasource.hikari.*) and are read-only.
+ */
+@Data
+@ConfigurationProperties(prefix = "erp.datasource")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Replica connections, e.g. erp.datasource.replicas[0].url=jdbc:postgresql://10.0.0.86:5432/erp-dev.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas further behind the primary than this stop serving reads until they catch up.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * How often each replica's lag is checked.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * After committing a write, a user's reads go to the primary for this long.
+     * Keep it at least max-replica-lag, so the write is visible on any replica still in rotation.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        /** Pool name and metric tag; defaults to replica-<index> */
+        private String name;
+        private String url;
+        /** Defaults to spring.datasource.username */
+        private String username;
+        /** Defaults to spring.datasource.password */
+        private String password;
+        /** Defaults to the primary pool's maximum size */
+        private Integer maximumPoolSize;
+    }
+}
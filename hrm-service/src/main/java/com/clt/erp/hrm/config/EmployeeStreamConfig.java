@@ -0,0 +1,42 @@
+package com.clt.erp.hrm.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.clt.erp.hrm.service.EmployeeService;
+import com.clt.erp.hrm.stream.EmployeeChangeHub;
+import com.clt.erp.hrm.stream.EmployeeChangeListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Push of employee changes (GET /employees/stream): the HRM_EMP_NOTIFY trigger announces committed
+ * changes, the listener receives them on a dedicated connection to the primary (spring.datasource.url)
+ * and the hub forwards them to the open streams of the company.
+ */
+@Configuration
+@EnableConfigurationProperties(EmployeeStreamProperties.class)
+public class EmployeeStreamConfig {
+
+    @Bean
+    public EmployeeChangeHub employeeChangeHub(EmployeeService employeeService, JsonMapper jsonMapper,
+            EmployeeStreamProperties properties, MeterRegistry meterRegistry) {
+        return new EmployeeChangeHub(employeeService, jsonMapper, properties, meterRegistry);
+    }
+
+    /**
+     * Not started by the "migrate" profile, which serves no streams.
+     */
+    @Bean
+    @Profile("!migrate")
+    public EmployeeChangeListener employeeChangeListener(DataSourceProperties dataSourceProperties,
+            EmployeeChangeHub employeeChangeHub, EmployeeStreamProperties properties) {
+        return new EmployeeChangeListener(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                employeeChangeHub, properties.getListenerRetryDelay());
+    }
+}
@@ -0,0 +1,42 @@
+package com.clt.erp.hrm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Server-Sent Events stream of employee changes (GET /employees/stream). Limits apply per instance.
+ */
+@Data
+@ConfigurationProperties(prefix = "erp.employees.stream")
+public class EmployeeStreamProperties {
+
+    /**
+     * Open streams beyond this are refused with 503, and the client retries on another instance.
+     */
+    private int maxConnections = 5000;
+
+    /**
+     * Changes queued per stream while its client is slow to read. A stream that falls further behind gets
+     * a single "resync" event instead, and the client catches up through the change feed.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * A comment line is sent after this much silence, so the gateway, proxies and the client
+     * do not close an idle stream. Keep it below every idle timeout on the way.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    /**
+     * Streams are closed after this long; EventSource clients reconnect on their own.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Delay before reconnecting the notification listener after a database error (doubled up to 30s).
+     */
+    private Duration listenerRetryDelay = Duration.ofSeconds(1);
+}
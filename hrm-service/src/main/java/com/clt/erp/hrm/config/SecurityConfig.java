@@ -1,22 +1,46 @@
 package com.clt.erp.hrm.config;
 
+import java.net.URI;
+import java.time.Duration;
+
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.clt.erp.common.metrics.TimedJwtDecoder;
+import com.clt.erp.common.security.ClientCredentialsToken;
+import com.clt.erp.common.security.JwtRevocationValidator;
+import com.clt.erp.common.security.Permission;
+import com.clt.erp.common.security.RevocationFeedClient;
+import com.clt.erp.common.security.RevocationList;
+import com.clt.erp.common.security.ServiceScopes;
+import com.clt.erp.hrm.security.PermissionJwtAuthenticationConverter;
+import com.clt.erp.hrm.security.RequirePermissions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Security configuration for HRM Service.
  * Configures OAuth2 Resource Server to validate JWT tokens from auth-service.
+ * Not loaded by the "migrate" profile, which serves no requests.
  */
 @Configuration
 @EnableWebSecurity
+@Profile("!migrate")
 public class SecurityConfig {
 
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:http://localhost:8081}")
@@ -25,33 +49,79 @@ public class SecurityConfig {
     /**
      * JWT decoder that validates tokens from the authorization server.
      * Uses issuer-uri to automatically discover JWK Set URI.
+     * Revoked tokens (auth-service revocation feed) are rejected; decode time is recorded as erp.jwt.decode.
+     * The discovery runs on the first token (retried until auth-service answers) rather than at startup, so
+     * startup neither waits for nor requires auth-service.
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        // Use issuer-uri to automatically discover JWK Set URI
-        // Spring will fetch from issuer-uri/.well-known/openid-configuration
-        return NimbusJwtDecoder.withIssuerLocation(issuerUri).build();
+    public JwtDecoder jwtDecoder(RevocationList revocationList, MeterRegistry meterRegistry) {
+        JwtDecoder decoder = new SupplierJwtDecoder(() -> {
+            // Use issuer-uri to automatically discover JWK Set URI
+            // Spring will fetch from issuer-uri/.well-known/openid-configuration
+            NimbusJwtDecoder nimbus = NimbusJwtDecoder.withIssuerLocation(issuerUri).build();
+            nimbus.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefaultWithIssuer(issuerUri),
+                    new JwtRevocationValidator(revocationList)));
+            return nimbus;
+        });
+        return new TimedJwtDecoder(decoder, meterRegistry);
+    }
+
+    /**
+     * Token revocations, checked locally on every request (bloom filter, then exact set).
+     */
+    @Bean
+    public RevocationList revocationList(@Value("${erp.revocation.expected-entries:1000}") int expectedEntries) {
+        return new RevocationList(expectedEntries);
+    }
+
+    /**
+     * Follows auth-service's revocation feed, authenticated as the erp-revocation-feed client; the first poll runs
+     * before requests are served.
+     */
+    @Bean(initMethod = "start")
+    public RevocationFeedClient revocationFeedClient(RevocationList revocationList,
+            @Value("${erp.revocation.feed-uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}/revocations}") URI feedUri,
+            @Value("${erp.revocation.poll-interval:2s}") Duration pollInterval,
+            @Value("${erp.revocation.token-uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}/oauth2/token}") URI tokenUri,
+            @Value("${erp.revocation.client-id:erp-revocation-feed}") String clientId,
+            @Value("${erp.revocation.client-secret}") String clientSecret, MeterRegistry meterRegistry) {
+        ClientCredentialsToken token = new ClientCredentialsToken(tokenUri, clientId, clientSecret,
+                ServiceScopes.REVOCATIONS_READ);
+        return new RevocationFeedClient(feedUri, pollInterval, revocationList, token, meterRegistry);
     }
 
     /**
      * Security filter chain that configures OAuth2 resource server.
-     * All endpoints require authentication via JWT token.
+     * All endpoints require authentication via JWT token; employee endpoints also require the permission
+     * bits issued by auth-service for the user's role (RequirePermissions).
      * 
      * Note: CORS is handled by the API Gateway, so no CORS configuration is needed here.
      * This service is accessed through the gateway, which adds CORS headers.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
         http
             .cors(cors -> cors.disable()) // Disable CORS - handled by API Gateway
             .csrf(csrf -> csrf.disable()) // Disable CSRF for stateless API (JWT tokens)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                // All endpoints require authentication
+                // Async dispatches of already authorized requests (event stream completion)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Health probes
+                .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                // Prometheus scrape and metrics (per-tenant tags): bearer token with the actuator.read scope
+                // (auth-service's erp-monitoring client)
+                .requestMatchers("/actuator/**").hasAuthority(ServiceScopes.authority(ServiceScopes.ACTUATOR_READ))
+                // Employee reads (list, change feed, stream): permission bit from the JWT "perms" claim
+                .requestMatchers(HttpMethod.GET, "/employees/**")
+                    .access(RequirePermissions.of(Permission.HRM_EMPLOYEE_READ))
+                // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.decoder(jwtDecoder()))
+                .jwt(jwt -> jwt
+                    .decoder(jwtDecoder)
+                    .jwtAuthenticationConverter(new PermissionJwtAuthenticationConverter()))
             )
             .exceptionHandling(exceptions -> exceptions
                 .authenticationEntryPoint((request, response, authException) -> {
@@ -59,6 +129,11 @@ public class SecurityConfig {
                     response.setContentType("application/json");
                     response.getWriter().write("{\"error\":\"Unauthorized\",\"message\":\"Authentication required\"}");
                 })
+                .accessDeniedHandler((request, response, accessDeniedException) -> {
+                    response.setStatus(HttpStatus.FORBIDDEN.value());
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"error\":\"Forbidden\",\"message\":\"Permission required\"}");
+                })
             );
 
         return http.build();
@@ -0,0 +1,34 @@
+package com.clt.erp.hrm.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.lifecycle.GracefulShutdown;
+import com.clt.erp.common.lifecycle.PoolShutdown;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Shutdown sequence (common-libs com.clt.erp.common.lifecycle): deregister from Eureka and wait, drain
+ * in-flight requests (server.shutdown=graceful), close the connection pools. Settings in application.properties.
+ */
+@Configuration
+public class ShutdownConfig {
+
+    @Bean
+    public GracefulShutdown gracefulShutdown(ObjectProvider<ServiceRegistry<?>> serviceRegistry,
+            ObjectProvider<Registration> registration,
+            @Value("${erp.shutdown.deregistration-wait:65s}") Duration deregistrationWait) {
+        return new GracefulShutdown(serviceRegistry.getIfUnique(), registration.getIfUnique(), deregistrationWait);
+    }
+
+    @Bean
+    public PoolShutdown poolShutdown(ObjectProvider<HikariDataSource> pools) {
+        return new PoolShutdown(pools.orderedStream().toList());
+    }
+}
@@ -0,0 +1,33 @@
+package com.clt.erp.hrm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clt.erp.common.lifecycle.EagerInitFilter;
+import com.clt.erp.common.lifecycle.StartupReport;
+import com.clt.erp.common.mybatis.MapperAotProcessor;
+
+/**
+ * Startup: beans are created lazily (spring.main.lazy-initialization) except those with an init method, and
+ * once ready the slowest bean instantiations are logged (erp.startup.report-beans, 0 = off).
+ * MyBatis mappers are prepared for the AOT build profile (build.gradle, cdsArchive -Paot).
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static EagerInitFilter eagerInitFilter() {
+        return new EagerInitFilter();
+    }
+
+    @Bean
+    public StartupReport startupReport(@Value("${erp.startup.report-beans:10}") int beans) {
+        return new StartupReport(beans);
+    }
+
+    @Bean
+    public static MapperAotProcessor mapperAotProcessor() {
+        return new MapperAotProcessor();
+    }
+}
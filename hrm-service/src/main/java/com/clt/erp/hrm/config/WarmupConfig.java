@@ -0,0 +1,64 @@
+package com.clt.erp.hrm.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.clt.erp.common.lifecycle.Warmup;
+import com.clt.erp.hrm.controller.EmployeeController;
+import com.clt.erp.hrm.security.PermissionAuthenticationToken;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.zaxxer.hikari.HikariDataSource;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Warmup before the instance takes traffic (common-libs com.clt.erp.common.lifecycle.Warmup): registered in
+ * Eureka as STARTING (eureka.instance.initial-status), it fills the connection pool, sends requests with an
+ * unverifiable token through the server, security and JWT decode path, reads the employees of the hot tenants
+ * through the controller and the JSON mapper, then goes UP. Settings in application.properties.
+ */
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public Warmup warmup(ObjectProvider<HikariDataSource> pools, EmployeeController employeeController,
+            JsonMapper jsonMapper, ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+            @Value("${erp.warmup.timeout:30s}") Duration timeout,
+            @Value("${erp.warmup.requests:1000}") int requests,
+            @Value("${erp.warmup.tenants:}") List<String> tenants,
+            @Value("${erp.warmup.tenant-requests:20}") int tenantRequests) {
+        Warmup warmup = new Warmup(timeout, () -> applicationInfoManager.ifAvailable(
+                        manager -> manager.setInstanceStatus(InstanceStatus.UP)))
+                .pools(pools.orderedStream().toList())
+                .request("jwt", requests, "/employees", Warmup.unverifiableToken());
+        for (String tenant : tenants) {
+            warmup.repeat(tenant, tenantRequests, () -> readEmployees(tenant, employeeController, jsonMapper));
+        }
+        return warmup;
+    }
+
+    /**
+     * GET /employees as a user of the tenant, without the HTTP part
+     */
+    private static void readEmployees(String tenant, EmployeeController employeeController, JsonMapper jsonMapper) {
+        Jwt jwt = Jwt.withTokenValue("warmup")
+                .header("alg", "none")
+                .subject(tenant + "::warmup")
+                .claim("co_id", tenant)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new PermissionAuthenticationToken(jwt, List.of()));
+        try {
+            jsonMapper.writeValueAsBytes(employeeController.getAllEmployees(null).getBody());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.clt.erp.hrm.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import tools.jackson.databind.DeserializationConfig;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.SerializationConfig;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.cfg.EnumFeature;
+import tools.jackson.databind.cfg.JsonNodeFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Web MVC configuration for HRM Service.
+ *
+ * Registers binary Jackson formats next to JSON so internal callers and batch consumers
+ * can request a compact payload through content negotiation:
+ * - Accept: application/cbor
+ * - Accept: application/x-jackson-smile
+ * JSON stays the default for browsers and any request without a matching Accept header.
+ *
+ * All three formats serialize a DTO the same way (modules, date/time handling, inclusion, spring.jackson.*):
+ * CBOR uses the CBORMapper auto-configured by Boot, Smile (which Boot does not configure) takes its settings
+ * from the auto-configured JsonMapper.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+
+    public WebConfig(JsonMapper jsonMapper, CBORMapper cborMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper(jsonMapper)));
+    }
+
+    /**
+     * A SmileMapper with the modules, features and defaults of the given JsonMapper.
+     */
+    static SmileMapper smileMapper(JsonMapper jsonMapper) {
+        SerializationConfig serialization = jsonMapper.serializationConfig();
+        DeserializationConfig deserialization = jsonMapper.deserializationConfig();
+        SmileMapper.Builder builder = SmileMapper.builder()
+                .addModules(jsonMapper.registeredModules())
+                .changeDefaultPropertyInclusion(inclusion -> serialization.getDefaultPropertyInclusion())
+                .changeDefaultVisibility(visibility -> serialization.getDefaultVisibilityChecker())
+                .propertyNamingStrategy(serialization.getPropertyNamingStrategy())
+                .defaultDateFormat(serialization.getDateFormat())
+                .defaultTimeZone(serialization.getTimeZone())
+                .defaultLocale(serialization.getLocale());
+        for (MapperFeature feature : MapperFeature.values()) {
+            builder.configure(feature, serialization.isEnabled(feature));
+        }
+        for (SerializationFeature feature : SerializationFeature.values()) {
+            builder.configure(feature, serialization.isEnabled(feature));
+        }
+        for (DeserializationFeature feature : DeserializationFeature.values()) {
+            builder.configure(feature, deserialization.isEnabled(feature));
+        }
+        for (DateTimeFeature feature : DateTimeFeature.values()) {
+            builder.configure(feature, serialization.isEnabled(feature));
+        }
+        for (EnumFeature feature : EnumFeature.values()) {
+            builder.configure(feature, serialization.isEnabled(feature));
+        }
+        for (JsonNodeFeature feature : JsonNodeFeature.values()) {
+            builder.configure(feature, serialization.isEnabled(feature));
+        }
+        return builder.build();
+    }
+}
@@ -1,13 +1,23 @@
 package com.clt.erp.hrm.controller;
 
+import com.clt.erp.hrm.dto.EmployeeChangesDto;
 import com.clt.erp.hrm.dto.EmployeeDto;
+import com.clt.erp.hrm.dto.EmployeeField;
 import com.clt.erp.hrm.service.EmployeeService;
+import com.clt.erp.hrm.stream.EmployeeChangeHub;
+import com.clt.erp.hrm.utils.CommonFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for Employee management endpoints.
@@ -18,10 +28,14 @@ import java.util.List;
 @RequestMapping("/employees")
 public class EmployeeController {
 
+    private static final int MAX_CHANGES_PAGE = 1000;
+
     private final EmployeeService employeeService;
+    private final EmployeeChangeHub employeeChangeHub;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeChangeHub employeeChangeHub) {
         this.employeeService = employeeService;
+        this.employeeChangeHub = employeeChangeHub;
     }
 
     /**
@@ -29,11 +43,67 @@ public class EmployeeController {
      * Requires valid JWT token from auth-service.
      * User information is automatically logged by UserLoggingFilter.
      * 
+     * @param fields Optional comma-separated list of properties to return
+     *               (e.g. "employeeCode,firstName,lastName"); the other properties are left out of the
+     *               response. All properties, null ones included, when omitted
      * @return ResponseEntity containing list of employees
      */
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        List<EmployeeDto> employees = employeeService.getAllEmployees();
+    public ResponseEntity<List<? extends EmployeeDto>> getAllEmployees(
+            @RequestParam(value = "fields", required = false) String fields) {
+        Set<EmployeeField> selectedFields = null;
+        if (fields != null && !fields.isBlank()) {
+            try {
+                selectedFields = EmployeeField.parse(fields);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+        List<? extends EmployeeDto> employees = employeeService.getAllEmployees(selectedFields);
         return ResponseEntity.ok(employees);
     }
+
+    /**
+     * Incremental sync: employees created, updated or deleted since a watermark, oldest first.
+     * Start without "since" (full sync), then pass the returned watermark on each call; while
+     * hasMore is true the next page can be fetched immediately. Cost is proportional to the number
+     * of changes, not to the size of the company.
+     *
+     * @param since Watermark returned by the previous call; omitted for the initial sync
+     * @param limit Page size, 1 to 1000
+     * @return ResponseEntity containing the changes and the next watermark
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChangesDto> getEmployeeChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_PAGE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_CHANGES_PAGE);
+        }
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeeChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Live changes of the user's company as Server-Sent Events, instead of polling the change feed.
+     * Events: "ready" once the stream is open, "employee" per change (same JSON as the entries of
+     * /employees/changes, tombstones included) and "resync" when changes may have been missed.
+     * Clients catch up through /employees/changes after "ready" and after "resync", and apply pushed
+     * changes by id, keeping the one with the latest updDt. Comment lines are sent as heartbeats.
+     *
+     * @return The event stream; 503 when this instance serves its maximum number of streams
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges() {
+        String companyId = CommonFunction.getCompanyId();
+        try {
+            return employeeChangeHub.subscribe(companyId);
+        } catch (EmployeeChangeHub.TooManyStreamsException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
 }
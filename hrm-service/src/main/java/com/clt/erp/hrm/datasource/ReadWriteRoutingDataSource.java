@@ -0,0 +1,128 @@
+package com.clt.erp.hrm.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * DataSource sending {@code @Transactional(readOnly = true)} work to a healthy read replica and everything
+ * else to the primary. Reads stay on the primary when no replica is within the lag limit, when the replica
+ * connection fails, or when the current user committed a write within the read-your-writes window.
+ * Each decision is counted as erp.datasource.route (tags: target, reason).
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a connection before
+ * the transaction's read-only flag is published, the lazy proxy defers the lookup to the first statement.
+ * Statements outside a transaction always run on the primary and do not count as writes for stickiness.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Supplier<String> userResolver;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param userResolver returns the current user, or null; exceptions count as no user
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor replicas,
+            ReadYourWritesTracker readYourWrites, Supplier<String> userResolver, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.userResolver = userResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Routed like getConnection(); the credentials are passed to the chosen pool.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return primary(connector,
+                    TransactionSynchronizationManager.isActualTransactionActive() ? "write" : "no-transaction");
+        }
+        String user = resolveUser();
+        if (user != null && readYourWrites.isRecentWriter(user)) {
+            return primary(connector, "read-your-writes");
+        }
+        ReplicaLagMonitor.Replica replica = replicas.nextHealthy();
+        if (replica == null) {
+            return primary(connector, "no-replica");
+        }
+        try {
+            Connection connection = connector.connect(replica.getDataSource());
+            count(REPLICA, "read");
+            return connection;
+        } catch (SQLException e) {
+            replicas.markDown(replica, e);
+            return primary(connector, "replica-error");
+        }
+    }
+
+    private Connection primary(Connector connector, String reason) throws SQLException {
+        count(PRIMARY, reason);
+        return connector.connect(primary);
+    }
+
+    private void rememberWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = resolveUser();
+        if (user != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite(user);
+                }
+            });
+        }
+    }
+
+    private String resolveUser() {
+        try {
+            return userResolver.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void count(String target, String reason) {
+        Counter.builder("erp.datasource.route")
+                .description("Connections handed out per target and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource target) throws SQLException;
+    }
+}
@@ -0,0 +1,49 @@
+package com.clt.erp.hrm.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers which users committed a write recently, so their reads stay on the primary until replicas
+ * have caught up (read-your-writes). The window should be at least the maximum tolerated replica lag.
+ *
+ * State is per hrm-service instance: a user whose next request lands on another instance is not sticky there.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_EVERY = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String user) {
+        lastWrite.put(user, System.nanoTime());
+        if (writes.incrementAndGet() % PURGE_EVERY == 0) {
+            purge();
+        }
+    }
+
+    public boolean isRecentWriter(String user) {
+        Long writtenAt = lastWrite.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrite.remove(user, writtenAt);
+        return false;
+    }
+
+    private void purge() {
+        long now = System.nanoTime();
+        lastWrite.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+}
@@ -0,0 +1,180 @@
+package com.clt.erp.hrm.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.SmartLifecycle;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls each read replica for its replication lag and keeps the set of replicas that may serve reads:
+ * reachable and at most maxLag behind the primary. Replicas start out unhealthy, so reads go to the primary
+ * until the first successful check. Lag is exported as erp.datasource.replica.lag (seconds, NaN when down).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle, AutoCloseable {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when the replica has replayed everything it
+     * received (an idle primary does not make the replica look stale). Also 0 when pointed at a primary.
+     */
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(List<Replica> replicas, Duration maxLag, Duration checkInterval,
+            MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkInterval = checkInterval;
+        for (Replica replica : this.replicas) {
+            Gauge.builder("erp.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag of a read replica (NaN when unreachable)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Next healthy replica in round-robin order, or null when none can serve reads.
+     */
+    public Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a replica out of rotation after a failed connection attempt; the next check may bring it back.
+     */
+    public void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            log.warn("Read replica {} unavailable, reading from primary: {}", replica.name, cause.getMessage());
+        }
+        replica.update(Double.NaN, false);
+    }
+
+    void check() {
+        for (Replica replica : replicas) {
+            double lag = lag(replica);
+            boolean healthy = lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} in rotation (lag {} s)", replica.name, lag);
+                } else {
+                    log.warn("Read replica {} out of rotation (lag {} s, max {} s)", replica.name, lag, maxLagSeconds);
+                }
+            }
+            replica.update(lag, healthy);
+        }
+    }
+
+    private double lag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                Object lag = rs.next() ? rs.getObject(1) : null;
+                // no replayed transaction yet while WAL is pending: treat as stale
+                return lag instanceof Number seconds ? seconds.doubleValue() : Double.POSITIVE_INFINITY;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Lag check of read replica {} failed", replica.name, e);
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("replica-lag-monitor").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Closes the replica pools (called on bean destruction).
+     */
+    @Override
+    public void close() throws Exception {
+        stop();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * A read replica and its last observed state.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        void update(double lagSeconds, boolean healthy) {
+            this.lagSeconds = lagSeconds;
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.clt.erp.hrm.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in the change feed: the (updDt, id) of the last change a client has seen. Changes are read in
+ * (UPD_DT, EMP_ID) order, so the pair is a keyset cursor and ties on updDt are never skipped or repeated.
+ * Clients treat the token as opaque.
+ */
+public record ChangeWatermark(Instant updDt, long id) {
+
+    /** Before every change: a first sync reads the whole company */
+    public static final ChangeWatermark START = new ChangeWatermark(Instant.EPOCH, 0);
+
+    /**
+     * @param token a watermark returned by the feed, or null/blank for {@link #START}
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ChangeWatermark parse(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = value.indexOf(':');
+            long micros = Long.parseLong(value.substring(0, separator));
+            return new ChangeWatermark(Instant.EPOCH.plus(micros, ChronoUnit.MICROS),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + token, e);
+        }
+    }
+
+    /**
+     * Opaque token; PostgreSQL timestamps have microsecond precision, so the cursor round-trips exactly.
+     */
+    public String format() {
+        String value = ChronoUnit.MICROS.between(Instant.EPOCH, updDt) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,25 @@
+package com.clt.erp.hrm.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the employee change feed: the employee as of updDt, or a tombstone
+ * (deleted = true, only id and employeeCode set) for an employee that was removed.
+ * Null properties are omitted, so a tombstone carries only id, employeeCode, updDt and deleted.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class EmployeeChangeDto extends EmployeeDto {
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant updDt;
+    private boolean deleted;
+}
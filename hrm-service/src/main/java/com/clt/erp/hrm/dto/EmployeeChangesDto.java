@@ -0,0 +1,20 @@
+package com.clt.erp.hrm.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of the employee change feed, oldest change first.
+ * Pass watermark as "since" on the next call; while hasMore is true, the next page is available right away.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangesDto {
+    private List<EmployeeChangeDto> changes;
+    private String watermark;
+    private boolean hasMore;
+}
@@ -0,0 +1,70 @@
+package com.clt.erp.hrm.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable properties of EmployeeDto for the "fields" projection parameter
+ * (e.g. GET /employees?fields=employeeCode,firstName,lastName).
+ * Acts as a whitelist: only these property names are accepted from clients.
+ */
+public enum EmployeeField {
+    ID("id"),
+    EMPLOYEE_CODE("employeeCode"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    PHONE_NUMBER("phoneNumber"),
+    DEPARTMENT("department"),
+    POSITION("position"),
+    HIRE_DATE("hireDate"),
+    SALARY("salary"),
+    STATUS("status");
+
+    private static final Map<String, EmployeeField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(EmployeeField::getProperty, Function.identity()));
+
+    private static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    private final String property;
+
+    EmployeeField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parses a comma-separated list of property names.
+     * Blank input selects all fields; the id is always included so rows stay addressable.
+     *
+     * @param fields Comma-separated property names, e.g. "employeeCode,firstName"
+     * @return Selected fields
+     * @throws IllegalArgumentException if a property name is unknown
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<EmployeeField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            EmployeeField field = BY_PROPERTY.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown employee field: " + trimmed);
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+}
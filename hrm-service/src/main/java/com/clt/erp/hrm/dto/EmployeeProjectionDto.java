@@ -0,0 +1,19 @@
+package com.clt.erp.hrm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * EmployeeDto as returned for a field projection (GET /employees?fields=...).
+ * Null properties are omitted, so only the requested properties are serialized;
+ * the unprojected response (EmployeeDto) keeps every property.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeProjectionDto extends EmployeeDto {
+}
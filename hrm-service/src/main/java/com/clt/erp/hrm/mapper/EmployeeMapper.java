@@ -0,0 +1,45 @@
+package com.clt.erp.hrm.mapper;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.clt.erp.hrm.dto.EmployeeChangeDto;
+import com.clt.erp.hrm.dto.EmployeeDto;
+import com.clt.erp.hrm.dto.EmployeeField;
+import com.clt.erp.hrm.dto.EmployeeProjectionDto;
+
+/**
+ * HRM_EMP is keyed by CO_ID: every statement takes the company id and filters on it,
+ * so it only reads that company's range of the (CO_ID, ...) indexes.
+ */
+@Mapper
+public interface EmployeeMapper {
+	/**
+	 * Active employees with the given fields populated; the id is always selected.
+	 */
+	List<EmployeeDto> selectEmployees(@Param("coId") String coId, @Param("fields") Collection<EmployeeField> fields);
+
+	/**
+	 * selectEmployees for a field projection: the rows omit their unselected (null) properties when serialized.
+	 */
+	List<EmployeeProjectionDto> selectEmployeeProjection(@Param("coId") String coId,
+			@Param("fields") Collection<EmployeeField> fields);
+
+	/**
+	 * Rows changed after (sinceUpdDt, sinceId) in (UPD_DT, EMP_ID) order, including soft-deleted ones.
+	 * Only rows older than settleSeconds on the database clock: UPD_DT is set when the writing transaction
+	 * runs, so a recent row may still be invisible behind an uncommitted (or unreplicated) one with an earlier UPD_DT.
+	 */
+	List<EmployeeChangeDto> selectEmployeeChanges(@Param("coId") String coId, @Param("sinceUpdDt") Instant sinceUpdDt,
+			@Param("sinceId") long sinceId, @Param("settleSeconds") double settleSeconds, @Param("limit") int limit);
+
+	/**
+	 * The given employees in (UPD_DT, EMP_ID) order, including soft-deleted ones; ids of other companies are ignored.
+	 */
+	List<EmployeeChangeDto> selectEmployeeChangesByIds(@Param("coId") String coId,
+			@Param("empIds") Collection<Long> empIds);
+}
@@ -0,0 +1,29 @@
+package com.clt.erp.hrm.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.clt.erp.common.security.Permission;
+
+/**
+ * JWT authentication that keeps the token's permission bitmask (claim "perms") as a long, read once when the
+ * request is authenticated. Tokens issued before the claim existed have no permissions.
+ */
+public class PermissionAuthenticationToken extends JwtAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long permissions;
+
+    public PermissionAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+        super(jwt, authorities);
+        this.permissions = jwt.getClaim(Permission.CLAIM) instanceof Number mask ? mask.longValue() : 0L;
+    }
+
+    public long getPermissions() {
+        return permissions;
+    }
+}
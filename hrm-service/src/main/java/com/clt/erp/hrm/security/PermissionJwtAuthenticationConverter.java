@@ -0,0 +1,20 @@
+package com.clt.erp.hrm.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+/**
+ * Converts a validated JWT into a PermissionAuthenticationToken. Scope authorities (SCOPE_*) are mapped as by
+ * Spring's default converter.
+ */
+public class PermissionJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        return new PermissionAuthenticationToken(jwt, authoritiesConverter.convert(jwt));
+    }
+}
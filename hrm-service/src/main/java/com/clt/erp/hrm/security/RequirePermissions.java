@@ -0,0 +1,42 @@
+package com.clt.erp.hrm.security;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.clt.erp.common.security.Permission;
+
+/**
+ * Grants a request when the caller's JWT permission mask contains all required permissions: one bitwise AND,
+ * no authority strings and no database lookup.
+ *
+ * <pre>
+ * .requestMatchers(HttpMethod.GET, "/employees/**").access(RequirePermissions.of(Permission.HRM_EMPLOYEE_READ))
+ * </pre>
+ */
+public final class RequirePermissions implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final long required;
+
+    private RequirePermissions(long required) {
+        this.required = required;
+    }
+
+    public static RequirePermissions of(Permission... permissions) {
+        return new RequirePermissions(Permission.maskOf(permissions));
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+            RequestAuthorizationContext context) {
+        return authentication.get() instanceof PermissionAuthenticationToken token
+                && (token.getPermissions() & required) == required ? GRANTED : DENIED;
+    }
+}
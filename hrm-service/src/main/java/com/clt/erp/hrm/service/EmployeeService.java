@@ -1,168 +1,107 @@
 package com.clt.erp.hrm.service;
 
+import com.clt.erp.hrm.dto.ChangeWatermark;
+import com.clt.erp.hrm.dto.EmployeeChangeDto;
+import com.clt.erp.hrm.dto.EmployeeChangesDto;
 import com.clt.erp.hrm.dto.EmployeeDto;
+import com.clt.erp.hrm.dto.EmployeeField;
+import com.clt.erp.hrm.mapper.EmployeeMapper;
+import com.clt.erp.hrm.utils.CommonFunction;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for managing employee data.
- * Currently returns sample data for demonstration purposes.
+ * Employees are stored per company (HRM_EMP, keyed by CO_ID); every lookup is scoped to the
+ * company of the authenticated user.
  */
 @Service
+@Transactional(readOnly = true)
 public class EmployeeService {
 
+    private final EmployeeMapper employeeMapper;
+    private final double settleSeconds;
+
+    /**
+     * @param settleWindow changes younger than this are held back from the change feed
+     *                     (erp.employees.changes.settle-window)
+     */
+    public EmployeeService(EmployeeMapper employeeMapper,
+            @Value("${erp.employees.changes.settle-window:15s}") Duration settleWindow) {
+        this.employeeMapper = employeeMapper;
+        this.settleSeconds = settleWindow.toMillis() / 1000.0;
+    }
+
     /**
-     * Retrieves a list of all employees.
-     * 
-     * @return List of employee DTOs
+     * Retrieves the active employees of the current user's company.
+     * With fields, only the selected fields are populated and only their columns are read.
+     *
+     * @param fields Fields to return (see EmployeeField.parse); null for every field
+     * @return List of employee DTOs; EmployeeProjectionDto (unselected properties omitted) for a projection
      */
-    public List<EmployeeDto> getAllEmployees() {
-        List<EmployeeDto> employees = new ArrayList<>();
-        
-        employees.add(new EmployeeDto(
-            1L,
-            "EMP001",
-            "John",
-            "Doe",
-            "john.doe@company.com",
-            "+1-555-0101",
-            "Engineering",
-            "Senior Software Engineer",
-            LocalDate.of(2020, 3, 15),
-            new BigDecimal("95000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            2L,
-            "EMP002",
-            "Jane",
-            "Smith",
-            "jane.smith@company.com",
-            "+1-555-0102",
-            "Marketing",
-            "Marketing Manager",
-            LocalDate.of(2019, 6, 20),
-            new BigDecimal("85000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            3L,
-            "EMP003",
-            "Michael",
-            "Johnson",
-            "michael.johnson@company.com",
-            "+1-555-0103",
-            "Sales",
-            "Sales Representative",
-            LocalDate.of(2021, 1, 10),
-            new BigDecimal("65000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            4L,
-            "EMP004",
-            "Emily",
-            "Williams",
-            "emily.williams@company.com",
-            "+1-555-0104",
-            "Human Resources",
-            "HR Specialist",
-            LocalDate.of(2018, 9, 5),
-            new BigDecimal("70000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            5L,
-            "EMP005",
-            "David",
-            "Brown",
-            "david.brown@company.com",
-            "+1-555-0105",
-            "Finance",
-            "Financial Analyst",
-            LocalDate.of(2022, 2, 28),
-            new BigDecimal("72000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            6L,
-            "EMP006",
-            "Sarah",
-            "Davis",
-            "sarah.davis@company.com",
-            "+1-555-0106",
-            "Engineering",
-            "Software Engineer",
-            LocalDate.of(2021, 8, 12),
-            new BigDecimal("80000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            7L,
-            "EMP007",
-            "Robert",
-            "Miller",
-            "robert.miller@company.com",
-            "+1-555-0107",
-            "Operations",
-            "Operations Manager",
-            LocalDate.of(2017, 11, 30),
-            new BigDecimal("90000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            8L,
-            "EMP008",
-            "Lisa",
-            "Wilson",
-            "lisa.wilson@company.com",
-            "+1-555-0108",
-            "Engineering",
-            "DevOps Engineer",
-            LocalDate.of(2020, 4, 22),
-            new BigDecimal("88000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            9L,
-            "EMP009",
-            "James",
-            "Moore",
-            "james.moore@company.com",
-            "+1-555-0109",
-            "Sales",
-            "Sales Manager",
-            LocalDate.of(2019, 2, 14),
-            new BigDecimal("92000.00"),
-            "ACTIVE"
-        ));
-        
-        employees.add(new EmployeeDto(
-            10L,
-            "EMP010",
-            "Patricia",
-            "Taylor",
-            "patricia.taylor@company.com",
-            "+1-555-0110",
-            "Marketing",
-            "Content Writer",
-            LocalDate.of(2023, 1, 5),
-            new BigDecimal("60000.00"),
-            "ACTIVE"
-        ));
-        
-        return employees;
+    public List<? extends EmployeeDto> getAllEmployees(Set<EmployeeField> fields) {
+        String companyId = CommonFunction.getCompanyId();
+        return fields == null
+                ? employeeMapper.selectEmployees(companyId, EnumSet.allOf(EmployeeField.class))
+                : employeeMapper.selectEmployeeProjection(companyId, fields);
+    }
+
+    /**
+     * Employees of the current user's company created, updated or deleted after the watermark,
+     * oldest change first. Deleted employees come as tombstones carrying only id and employee code.
+     *
+     * @param since Watermark of the previous call; null for a full initial sync
+     * @param limit Maximum number of changes in this page
+     * @return The changes and the watermark to pass on the next call
+     * @throws IllegalArgumentException if the watermark is malformed
+     */
+    public EmployeeChangesDto getEmployeeChanges(String since, int limit) {
+        ChangeWatermark watermark = ChangeWatermark.parse(since);
+        // one extra row tells whether another page follows
+        List<EmployeeChangeDto> changes = employeeMapper.selectEmployeeChanges(CommonFunction.getCompanyId(),
+                watermark.updDt(), watermark.id(), settleSeconds, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        changes.replaceAll(change -> change.isDeleted() ? tombstone(change) : change);
+        if (!changes.isEmpty()) {
+            EmployeeChangeDto last = changes.get(changes.size() - 1);
+            watermark = new ChangeWatermark(last.getUpdDt(), last.getId());
+        }
+        return new EmployeeChangesDto(changes, watermark.format(), hasMore);
+    }
+
+    /**
+     * Current state of the given employees of a company, for pushing to change streams; deleted employees
+     * come as tombstones. Runs outside a transaction, so it reads the primary: the rows were just committed
+     * and a read replica may not have them yet.
+     *
+     * @param coId   Company of the employees (there is no authenticated user on the push path)
+     * @param empIds Employee ids
+     * @return The changes, oldest first
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EmployeeChangeDto> getEmployeeChanges(String coId, Collection<Long> empIds) {
+        List<EmployeeChangeDto> changes = employeeMapper.selectEmployeeChangesByIds(coId, empIds);
+        changes.replaceAll(change -> change.isDeleted() ? tombstone(change) : change);
+        return changes;
+    }
+
+    private static EmployeeChangeDto tombstone(EmployeeChangeDto change) {
+        EmployeeChangeDto tombstone = new EmployeeChangeDto();
+        tombstone.setId(change.getId());
+        tombstone.setEmployeeCode(change.getEmployeeCode());
+        tombstone.setUpdDt(change.getUpdDt());
+        tombstone.setDeleted(true);
+        return tombstone;
     }
 }
@@ -0,0 +1,259 @@
+package com.clt.erp.hrm.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.clt.erp.common.lifecycle.GracefulShutdown;
+import com.clt.erp.hrm.config.EmployeeStreamProperties;
+import com.clt.erp.hrm.dto.EmployeeChangeDto;
+import com.clt.erp.hrm.service.EmployeeService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Fans employee changes out to the open streams of their company. Announced ids are collected per company
+ * and loaded by one fetch at a time, so a burst of writes costs a few primary key lookups however many
+ * streams are open, and companies without open streams cost nothing. Each change is serialized once and
+ * queued on every stream of the company (see EmployeeChangeSubscription).
+ *
+ * Metrics: erp.employees.stream.connections (open streams), erp.employees.stream.events (tag outcome:
+ * queued, or dropped when a slow stream was switched to resync).
+ *
+ * On shutdown the streams end once the instance is deregistered (GracefulShutdown.STREAMS_PHASE), before
+ * in-flight requests are drained: an open stream would otherwise hold up the drain until its timeout.
+ */
+@Slf4j
+public class EmployeeChangeHub implements SmartLifecycle, AutoCloseable {
+
+    /** Ids per primary key lookup */
+    static final int FETCH_BATCH = 500;
+
+    private final EmployeeService employeeService;
+    private final JsonMapper jsonMapper;
+    private final EmployeeStreamProperties properties;
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService fetchers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-stream-fetch-", 0).factory());
+    private final Counter queued;
+    private final Counter dropped;
+    private volatile boolean closing;
+
+    public EmployeeChangeHub(EmployeeService employeeService, JsonMapper jsonMapper,
+            EmployeeStreamProperties properties, MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        Gauge.builder("erp.employees.stream.connections", connections, AtomicInteger::get)
+                .description("Open employee change streams")
+                .register(meterRegistry);
+        this.queued = events(meterRegistry, "queued");
+        this.dropped = events(meterRegistry, "dropped");
+    }
+
+    /**
+     * Opens a stream of the company's employee changes.
+     *
+     * @throws TooManyStreamsException if this instance already serves max-connections streams
+     */
+    public SseEmitter subscribe(String coId) {
+        if (closing) {
+            // shutting down: the client reconnects, through the gateway, to another instance
+            SseEmitter ended = new SseEmitter();
+            ended.complete();
+            return ended;
+        }
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new TooManyStreamsException(properties.getMaxConnections());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        EmployeeChangeSubscription subscription = new EmployeeChangeSubscription(emitter,
+                properties.getBufferSize(), properties.getHeartbeatInterval(),
+                ended -> unsubscribe(coId, ended));
+        tenants.compute(coId, (key, tenant) -> {
+            Tenant target = tenant != null ? tenant : new Tenant(key);
+            target.subscriptions.add(subscription);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(coId, subscription));
+        emitter.onError(e -> unsubscribe(coId, subscription));
+        emitter.onTimeout(emitter::complete);
+        subscription.start();
+        if (closing) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Employees of a company were inserted or updated (called with committed changes only).
+     */
+    public void changed(String coId, Collection<Long> empIds) {
+        Tenant tenant = tenants.get(coId);
+        if (tenant != null) {
+            tenant.changed(empIds);
+        }
+    }
+
+    /**
+     * Announcements may have been lost (listener reconnected): every open stream gets a "resync" event.
+     */
+    public void resyncAll() {
+        for (Tenant tenant : tenants.values()) {
+            tenant.subscriptions.forEach(EmployeeChangeSubscription::resync);
+        }
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void start() {
+        closing = false;
+    }
+
+    /**
+     * Ends all streams (clients reconnect to another instance); streams opened from now on end at once.
+     */
+    @Override
+    public void stop() {
+        closing = true;
+        endStreams();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !closing;
+    }
+
+    @Override
+    public int getPhase() {
+        return GracefulShutdown.STREAMS_PHASE;
+    }
+
+    /**
+     * Ends all streams and stops the fetchers.
+     */
+    @Override
+    public void close() {
+        closing = true;
+        fetchers.shutdownNow();
+        endStreams();
+    }
+
+    private void endStreams() {
+        for (Tenant tenant : tenants.values()) {
+            tenant.subscriptions.forEach(subscription -> subscription.getEmitter().complete());
+        }
+    }
+
+    private void unsubscribe(String coId, EmployeeChangeSubscription subscription) {
+        // the writer may have stopped on its own (failed send): close() no longer tells whether this ran
+        subscription.close();
+        if (!subscription.remove()) {
+            return;
+        }
+        connections.decrementAndGet();
+        tenants.computeIfPresent(coId, (key, tenant) -> {
+            tenant.subscriptions.remove(subscription);
+            return tenant.subscriptions.isEmpty() ? null : tenant;
+        });
+    }
+
+    private void publish(Tenant tenant, List<Long> empIds) {
+        List<String> changes = new ArrayList<>(empIds.size());
+        try {
+            for (EmployeeChangeDto change : employeeService.getEmployeeChanges(tenant.coId, empIds)) {
+                changes.add(jsonMapper.writeValueAsString(change));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Loading changed employees of company {} failed, resyncing its streams", tenant.coId, e);
+            tenant.subscriptions.forEach(EmployeeChangeSubscription::resync);
+            return;
+        }
+        for (EmployeeChangeSubscription subscription : tenant.subscriptions) {
+            for (String change : changes) {
+                if (!subscription.offer(change)) {
+                    dropped.increment();
+                    break;
+                }
+                queued.increment();
+            }
+        }
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("erp.employees.stream.events")
+                .description("Employee changes handed to open streams")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open streams of one company and the announced ids not loaded yet.
+     */
+    private final class Tenant {
+
+        private final String coId;
+        private final Set<EmployeeChangeSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+        private final Set<Long> pending = new LinkedHashSet<>();
+        private boolean draining;
+
+        private Tenant(String coId) {
+            this.coId = coId;
+        }
+
+        synchronized void changed(Collection<Long> empIds) {
+            pending.addAll(empIds);
+            if (!draining) {
+                draining = true;
+                fetchers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<Long> batch = new ArrayList<>(FETCH_BATCH);
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                    Iterator<Long> ids = pending.iterator();
+                    while (ids.hasNext() && batch.size() < FETCH_BATCH) {
+                        batch.add(ids.next());
+                        ids.remove();
+                    }
+                }
+                publish(this, batch);
+            }
+        }
+    }
+
+    /**
+     * The instance is at erp.employees.stream.max-connections.
+     */
+    public static class TooManyStreamsException extends RuntimeException {
+        public TooManyStreamsException(int maxConnections) {
+            super("Too many open employee streams (max " + maxConnections + ")");
+        }
+    }
+}
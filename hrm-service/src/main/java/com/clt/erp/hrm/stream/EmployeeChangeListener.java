@@ -0,0 +1,164 @@
+package com.clt.erp.hrm.stream;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import com.clt.erp.common.lifecycle.GracefulShutdown;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives the "CO_ID:EMP_ID" announcements of the HRM_EMP_NOTIFY trigger (LISTEN hrm_emp_changed) and
+ * hands them to the EmployeeChangeHub. Uses its own connection to the primary, outside the pool: a
+ * listening session stays open for the life of the service, and notifications are not sent to replicas.
+ * After a lost connection it reconnects with backoff and has all streams resync, as changes committed in
+ * between were announced to nobody.
+ */
+@Slf4j
+public class EmployeeChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "hrm_emp_changed";
+
+    /** Longest wait for notifications before the connection is checked */
+    private static final int POLL_MILLIS = 30_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final String url;
+    private final Properties connectionProperties = new Properties();
+    private final EmployeeChangeHub hub;
+    private final long retryDelayMillis;
+    /** Current backoff, only used by the listener thread */
+    private long delayMillis;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public EmployeeChangeListener(String url, String username, String password, EmployeeChangeHub hub,
+            Duration retryDelay) {
+        this.url = url;
+        if (username != null) {
+            connectionProperties.setProperty("user", username);
+        }
+        if (password != null) {
+            connectionProperties.setProperty("password", password);
+        }
+        connectionProperties.setProperty("ApplicationName", "hrm-service change listener");
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        this.hub = hub;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.delayMillis = retryDelayMillis;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (thread == null) {
+            running = true;
+            thread = Thread.ofPlatform().name("employee-change-listener").daemon().start(this::run);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (thread != null) {
+            running = false;
+            closeConnection();
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Stops after the hub has ended the streams on shutdown, so they miss no change while deregistration
+     * propagates.
+     */
+    @Override
+    public int getPhase() {
+        return GracefulShutdown.STREAMS_PHASE - 1;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                listen();
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Employee change listener disconnected, reconnecting in {} ms: {}", delayMillis,
+                        e.getMessage());
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            delayMillis = Math.min(delayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private void listen() throws SQLException {
+        try (Connection listening = DriverManager.getConnection(url, connectionProperties)) {
+            connection = listening;
+            try (Statement statement = listening.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            PGConnection pgConnection = listening.unwrap(PGConnection.class);
+            log.info("Listening for employee changes on {}", CHANNEL);
+            delayMillis = retryDelayMillis;
+            hub.resyncAll();
+            while (running) {
+                PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                if (notifications != null && notifications.length > 0) {
+                    dispatch(notifications);
+                } else if (!listening.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+            }
+        } finally {
+            connection = null;
+        }
+    }
+
+    private void dispatch(PGNotification[] notifications) {
+        Map<String, Set<Long>> changed = new HashMap<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.lastIndexOf(':');
+            try {
+                changed.computeIfAbsent(payload.substring(0, separator), coId -> new LinkedHashSet<>())
+                        .add(Long.parseLong(payload.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                log.debug("Ignoring malformed employee change notification: {}", payload);
+            }
+        }
+        changed.forEach(hub::changed);
+    }
+
+    private void closeConnection() {
+        Connection listening = connection;
+        if (listening != null) {
+            try {
+                listening.close();
+            } catch (SQLException e) {
+                log.debug("Closing the employee change listener connection failed", e);
+            }
+        }
+    }
+}
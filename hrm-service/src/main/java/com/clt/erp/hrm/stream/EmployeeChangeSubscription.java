@@ -0,0 +1,122 @@
+package com.clt.erp.hrm.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open stream: a bounded queue of serialized changes and a virtual thread writing them to the client.
+ * Publishers only enqueue and never wait for the network. When the queue is full the pending changes are
+ * dropped and the client gets a "resync" event, telling it to catch up through GET /employees/changes.
+ */
+final class EmployeeChangeSubscription {
+
+    static final String EVENT_READY = "ready";
+    static final String EVENT_EMPLOYEE = "employee";
+    static final String EVENT_RESYNC = "resync";
+
+    /** Wakes the writer for a resync without queueing a change */
+    private static final String WAKE_UP = new String();
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<String> queue;
+    private final long heartbeatMillis;
+    private final AtomicBoolean resync = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean removed = new AtomicBoolean();
+    private final Consumer<EmployeeChangeSubscription> onEnd;
+    private Thread writer;
+
+    /**
+     * @param onEnd called when a send fails (the client is gone), whether or not the container reports it too
+     */
+    EmployeeChangeSubscription(SseEmitter emitter, int bufferSize, Duration heartbeatInterval,
+            Consumer<EmployeeChangeSubscription> onEnd) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.onEnd = onEnd;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    synchronized void start() {
+        writer = Thread.ofVirtual().name("employee-stream").start(this::write);
+    }
+
+    /**
+     * Queues a change (JSON) for this client.
+     *
+     * @return false if the queue was full and the client will be told to resync instead
+     */
+    boolean offer(String change) {
+        if (queue.offer(change)) {
+            return true;
+        }
+        resync();
+        return false;
+    }
+
+    /**
+     * Replaces whatever is queued by a single "resync" event.
+     */
+    void resync() {
+        resync.set(true);
+        queue.offer(WAKE_UP);
+    }
+
+    /**
+     * Stops the writer; the emitter is completed by the container or by whoever ended the stream.
+     *
+     * @return true on the first call
+     */
+    synchronized boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (writer != null) {
+            writer.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Marks the subscription as removed from its hub, independently of the writer having stopped.
+     *
+     * @return true on the first call
+     */
+    boolean remove() {
+        return removed.compareAndSet(false, true);
+    }
+
+    private void write() {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_READY).data(""));
+            while (!closed.get()) {
+                String change = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (resync.getAndSet(false)) {
+                    queue.clear();
+                    emitter.send(SseEmitter.event().name(EVENT_RESYNC).data(""));
+                } else if (change == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else if (change != WAKE_UP) {
+                    emitter.send(SseEmitter.event().name(EVENT_EMPLOYEE).data(change));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // client gone or stream already completed; the container may report it to the emitter later or not at all
+            close();
+            onEnd.accept(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package db.migration;
+
+import com.clt.erp.common.migration.ConcurrentIndexMigration;
+
+/**
+ * Keyset index of the change feed: EmployeeMapper.selectEmployeeChanges reads
+ * (UPD_DT, EMP_ID) > watermark within one company as a range scan, in index order.
+ */
+public class V4__hrm_emp_change_feed_index extends ConcurrentIndexMigration {
+
+    @Override
+    protected String table() {
+        return "HRM_EMP";
+    }
+
+    @Override
+    protected String indexName() {
+        return "HRM_EMP_IX2";
+    }
+
+    @Override
+    protected String definition() {
+        return "(CO_ID, UPD_DT, EMP_ID)";
+    }
+}
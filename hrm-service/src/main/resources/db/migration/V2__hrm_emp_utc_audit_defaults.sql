@@ -0,0 +1,6 @@
+-- Audit timestamps are UTC (read and written as Instant by UtcInstantTypeHandler). now() in a TIMESTAMP
+-- column would store the session's local time, and the JDBC driver sets the session time zone to the
+-- JVM's, so the defaults convert explicitly. Changing a default only touches the catalog.
+ALTER TABLE HRM_EMP
+    ALTER COLUMN CRE_DT SET DEFAULT (now() AT TIME ZONE 'UTC'),
+    ALTER COLUMN UPD_DT SET DEFAULT (now() AT TIME ZONE 'UTC');
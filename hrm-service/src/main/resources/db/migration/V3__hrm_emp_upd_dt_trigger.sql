@@ -0,0 +1,12 @@
+-- UPD_DT is the change feed's watermark (GET /employees/changes), so every update must move it,
+-- whichever code or script writes the row. Soft deletes (USE_FLG = 'N') are updates too and reach sync
+-- clients as tombstones. Rows are never hard-deleted.
+CREATE OR REPLACE FUNCTION HRM_EMP_SET_UPD_DT() RETURNS trigger AS $$
+BEGIN
+    NEW.UPD_DT := now() AT TIME ZONE 'UTC';
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER HRM_EMP_UPD_DT BEFORE UPDATE ON HRM_EMP
+    FOR EACH ROW EXECUTE FUNCTION HRM_EMP_SET_UPD_DT();
@@ -0,0 +1,12 @@
+-- Push channel for GET /employees/stream: every committed insert or update announces "CO_ID:EMP_ID" on
+-- hrm_emp_changed. PostgreSQL delivers notifications on commit (none for rolled back transactions) and folds
+-- identical ones within a transaction, so a row updated repeatedly is announced once.
+CREATE OR REPLACE FUNCTION HRM_EMP_NOTIFY_CHANGE() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('hrm_emp_changed', NEW.CO_ID || ':' || NEW.EMP_ID);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER HRM_EMP_NOTIFY AFTER INSERT OR UPDATE ON HRM_EMP
+    FOR EACH ROW EXECUTE FUNCTION HRM_EMP_NOTIFY_CHANGE();
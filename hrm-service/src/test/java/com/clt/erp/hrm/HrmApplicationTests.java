@@ -3,7 +3,8 @@ package com.clt.erp.hrm;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No database here: Flyway would fail the context at startup
+@SpringBootTest(properties = "spring.flyway.enabled=false")
 class HrmApplicationTests {
 
 	@Test
@@ -0,0 +1,107 @@
+package com.clt.erp.hrm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.clt.erp.common.audit.AuditInterceptor;
+import com.clt.erp.common.audit.AuditRecord;
+import com.clt.erp.common.audit.AuditWriter;
+import com.clt.erp.common.lifecycle.GracefulShutdown;
+import com.clt.erp.common.lifecycle.PoolShutdown;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Starts hrm-service against a real Postgres (embedded, as in load-test) with migrations, warmup, startup report,
+ * audit writer and shutdown lifecycle enabled. common-libs is compiled against Spring Framework 6 / Boot 3.5 and
+ * runs here on Spring Framework 7 / Boot 4: this is where an SPI change between the two shows up.
+ * The server is stopped by embedded-postgres' own shutdown hook.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HrmStartupTests {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private ApplicationAvailability availability;
+
+	@Autowired
+	private AuditWriter auditWriter;
+
+	@Autowired
+	private GracefulShutdown gracefulShutdown;
+
+	@Autowired
+	private PoolShutdown poolShutdown;
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	private HikariDataSource primaryDataSource;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		if (postgres == null) {
+			try {
+				postgres = EmbeddedPostgres.start();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.hikari.minimum-idle", () -> "2");
+		registry.add("eureka.client.enabled", () -> "false");
+		registry.add("erp.warmup.timeout", () -> "10s");
+		registry.add("erp.warmup.requests", () -> "5");
+		registry.add("erp.warmup.tenants", () -> "T0001");
+		registry.add("erp.warmup.tenant-requests", () -> "2");
+	}
+
+	@Test
+	void startsWithMigrationsAndWarmup() {
+		assertEquals(0, flyway.info().pending().length);
+		// Warmup and the startup report run as ApplicationReadyEvent listeners, before traffic is accepted
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+		assertTrue(gracefulShutdown.isRunning());
+		assertTrue(poolShutdown.isRunning());
+	}
+
+	@Test
+	void auditRecordsReachTheAuditTable() throws InterruptedException {
+		assertTrue(auditWriter.isRunning());
+		assertTrue(sqlSessionFactory.getConfiguration().getInterceptors().stream()
+				.anyMatch(AuditInterceptor.class::isInstance));
+
+		auditWriter.record(new AuditRecord("T0001", "startup-test", Instant.now(),
+				"com.clt.erp.hrm.HrmStartupTests", "UPDATE", 1, null));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		int written = 0;
+		while (written == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+			written = jdbcTemplate.queryForObject(
+					"SELECT count(*) FROM HRM_AUDIT_LOG WHERE USR_ID = 'startup-test'", Integer.class);
+		}
+		assertEquals(1, written);
+	}
+}
@@ -0,0 +1,109 @@
+package com.clt.erp.hrm.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.converter.AbstractJacksonHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+import com.clt.erp.hrm.dto.EmployeeChangeDto;
+import com.clt.erp.hrm.dto.EmployeeDto;
+import com.clt.erp.hrm.dto.EmployeeProjectionDto;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+class WebConfigTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+			.withUserConfiguration(WebConfig.class);
+
+	@Test
+	void projectedEmployeeRoundTripsIdenticallyInEveryFormat() {
+		contextRunner.run(context -> {
+			List<ObjectMapper> mappers = mappers(context);
+			assertEquals(3, mappers.size());
+			for (EmployeeDto employee : List.of(projection(), change())) {
+				Map<?, ?> expected = properties(mappers.get(0), employee);
+				for (ObjectMapper mapper : mappers) {
+					byte[] encoded = mapper.writeValueAsBytes(employee);
+					assertEquals(employee, mapper.readValue(encoded, employee.getClass()), mapper.getClass().getName());
+					assertEquals(expected, mapper.readValue(encoded, Map.class), mapper.getClass().getName());
+				}
+			}
+		});
+	}
+
+	@Test
+	void jacksonPropertiesApplyToEveryFormat() {
+		contextRunner.withPropertyValues("spring.jackson.datatype.datetime.write-dates-as-timestamps=true")
+				.run(context -> {
+					for (ObjectMapper mapper : mappers(context)) {
+						Map<?, ?> properties = properties(mapper, change());
+						assertInstanceOf(List.class, properties.get("hireDate"), mapper.getClass().getName());
+						assertEquals(change(),
+								mapper.readValue(mapper.writeValueAsBytes(change()), EmployeeChangeDto.class));
+					}
+				});
+	}
+
+	/**
+	 * The auto-configured JsonMapper, then the mappers of the CBOR and Smile converters WebConfig registers.
+	 */
+	private static List<ObjectMapper> mappers(ApplicationContext context) {
+		HttpMessageConverters.ServerBuilder builder = HttpMessageConverters.forServer().registerDefaults();
+		context.getBean(WebConfig.class).configureMessageConverters(builder);
+		List<ObjectMapper> mappers = new ArrayList<>();
+		mappers.add(context.getBean(JsonMapper.class));
+		for (HttpMessageConverter<?> converter : builder.build()) {
+			if (converter instanceof JacksonCborHttpMessageConverter
+					|| converter instanceof JacksonSmileHttpMessageConverter) {
+				mappers.add(((AbstractJacksonHttpMessageConverter<?>) converter).getMapper());
+			}
+		}
+		assertEquals(Set.of(JsonMapper.class, CBORMapper.class, SmileMapper.class),
+				mappers.stream().map(Object::getClass).collect(Collectors.toSet()));
+		return mappers;
+	}
+
+	private static Map<?, ?> properties(ObjectMapper mapper, EmployeeDto employee) {
+		return mapper.readValue(mapper.writeValueAsBytes(employee), Map.class);
+	}
+
+	private static EmployeeProjectionDto projection() {
+		EmployeeProjectionDto employee = new EmployeeProjectionDto();
+		employee.setId(1L);
+		employee.setEmployeeCode("EMP001");
+		employee.setHireDate(LocalDate.of(2024, 3, 1));
+		return employee;
+	}
+
+	private static EmployeeChangeDto change() {
+		EmployeeChangeDto employee = new EmployeeChangeDto();
+		employee.setId(1L);
+		employee.setEmployeeCode("EMP001");
+		employee.setLastName("Nguyen");
+		employee.setHireDate(LocalDate.of(2024, 3, 1));
+		employee.setUpdDt(Instant.parse("2025-06-30T08:15:30.123456Z"));
+		return employee;
+	}
+}
@@ -0,0 +1,94 @@
+package com.clt.erp.hrm.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replicaPool = mock(DataSource.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ReplicaLagMonitor.Replica replica = new ReplicaLagMonitor.Replica("replica-0", replicaPool);
+	private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(replica), Duration.ofSeconds(5),
+			Duration.ofSeconds(2), meterRegistry);
+	private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+	private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, monitor, tracker,
+			() -> "T0001::alice", meterRegistry);
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replicaPool.getConnection()).thenReturn(replicaConnection);
+		replica.update(0, true);
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToHealthyReplica() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertSame(replicaConnection, routing.getConnection());
+
+		replica.update(30, false);
+		assertSame(primaryConnection, routing.getConnection());
+		assertEquals(1, meterRegistry.get("erp.datasource.route").tag("reason", "no-replica").counter().count());
+	}
+
+	@Test
+	void writerReadsFromPrimaryAfterCommit() throws SQLException {
+		assertSame(primaryConnection, routing.getConnection());
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertSame(primaryConnection, routing.getConnection());
+		assertEquals(1, meterRegistry.get("erp.datasource.route").tag("reason", "read-your-writes").counter()
+				.count());
+	}
+
+	@Test
+	void failingReplicaFallsBackToPrimary() throws SQLException {
+		when(replicaPool.getConnection()).thenThrow(new SQLException("connection refused"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(primaryConnection, routing.getConnection());
+		assertFalse(replica.isHealthy());
+	}
+
+	@Test
+	void explicitCredentialsAreRoutedToo() throws SQLException {
+		when(replicaPool.getConnection("report", "secret")).thenReturn(replicaConnection);
+		when(primary.getConnection("report", "secret")).thenReturn(primaryConnection);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertSame(replicaConnection, routing.getConnection("report", "secret"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		assertSame(primaryConnection, routing.getConnection("report", "secret"));
+	}
+}
@@ -0,0 +1,29 @@
+package com.clt.erp.hrm.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeWatermarkTests {
+
+	@Test
+	void roundTripsWithMicrosecondPrecision() {
+		ChangeWatermark watermark = new ChangeWatermark(Instant.parse("2025-01-31T08:15:30.123456Z"), 42);
+		assertEquals(watermark, ChangeWatermark.parse(watermark.format()));
+	}
+
+	@Test
+	void missingWatermarkStartsFromTheBeginning() {
+		assertEquals(ChangeWatermark.START, ChangeWatermark.parse(null));
+		assertEquals(ChangeWatermark.START, ChangeWatermark.parse(""));
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertThrows(IllegalArgumentException.class, () -> ChangeWatermark.parse("not-a-watermark"));
+		assertThrows(IllegalArgumentException.class, () -> ChangeWatermark.parse("!!"));
+	}
+}
@@ -0,0 +1,36 @@
+package com.clt.erp.hrm.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class EmployeeDtoTests {
+
+	private final JsonMapper json = JsonMapper.builder().build();
+
+	@Test
+	void fullResponseKeepsNullProperties() {
+		EmployeeDto employee = new EmployeeDto();
+		employee.setId(1L);
+		employee.setEmployeeCode("EMP001");
+		assertEquals(Set.of("id", "employeeCode", "firstName", "lastName", "email", "phoneNumber", "department",
+				"position", "hireDate", "salary", "status"), properties(employee));
+	}
+
+	@Test
+	void projectionOmitsUnselectedProperties() {
+		EmployeeProjectionDto employee = new EmployeeProjectionDto();
+		employee.setId(1L);
+		employee.setEmployeeCode("EMP001");
+		assertEquals(Set.of("id", "employeeCode"), properties(employee));
+	}
+
+	private Set<?> properties(EmployeeDto employee) {
+		return json.readValue(json.writeValueAsString(employee), Map.class).keySet();
+	}
+}
@@ -0,0 +1,29 @@
+package com.clt.erp.hrm.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class EmployeeFieldTests {
+
+	@Test
+	void blankSelectsAllFields() {
+		assertEquals(EnumSet.allOf(EmployeeField.class), EmployeeField.parse(null));
+		assertEquals(EnumSet.allOf(EmployeeField.class), EmployeeField.parse(" "));
+	}
+
+	@Test
+	void parseAlwaysIncludesId() {
+		Set<EmployeeField> fields = EmployeeField.parse("firstName, lastName");
+		assertEquals(EnumSet.of(EmployeeField.ID, EmployeeField.FIRST_NAME, EmployeeField.LAST_NAME), fields);
+	}
+
+	@Test
+	void parseRejectsUnknownField() {
+		assertThrows(IllegalArgumentException.class, () -> EmployeeField.parse("firstName,password"));
+	}
+}
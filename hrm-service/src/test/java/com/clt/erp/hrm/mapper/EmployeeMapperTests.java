@@ -0,0 +1,57 @@
+package com.clt.erp.hrm.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import com.clt.erp.hrm.dto.EmployeeField;
+
+class EmployeeMapperTests {
+
+	private static final String SELECT_EMPLOYEES = "com.clt.erp.hrm.mapper.EmployeeMapper.selectEmployees";
+
+	@Test
+	void selectEmployeesReadsOnlyTheSelectedColumns() throws Exception {
+		assertEquals("SELECT EMP_ID AS ID , EMP_CD AS EMPLOYEE_CODE , SAL_AMT AS SALARY FROM HRM_EMP"
+				+ " WHERE CO_ID = ? AND USE_FLG = 'Y' ORDER BY EMP_ID",
+				selectEmployees(EnumSet.of(EmployeeField.ID, EmployeeField.EMPLOYEE_CODE, EmployeeField.SALARY)));
+	}
+
+	@Test
+	void parsedFieldsSelectTheirColumnsOnly() throws Exception {
+		assertEquals("SELECT EMP_ID AS ID , EMP_CD AS EMPLOYEE_CODE FROM HRM_EMP"
+				+ " WHERE CO_ID = ? AND USE_FLG = 'Y' ORDER BY EMP_ID",
+				selectEmployees(EmployeeField.parse("employeeCode")));
+	}
+
+	@Test
+	void selectEmployeesAlwaysReadsTheId() throws Exception {
+		assertEquals("SELECT EMP_ID AS ID FROM HRM_EMP WHERE CO_ID = ? AND USE_FLG = 'Y' ORDER BY EMP_ID",
+				selectEmployees(EnumSet.noneOf(EmployeeField.class)));
+		assertEquals("SELECT EMP_ID AS ID , EMP_CD AS EMPLOYEE_CODE , FIRST_NM AS FIRST_NAME , LAST_NM AS LAST_NAME"
+				+ " , EML AS EMAIL , PHN_NO AS PHONE_NUMBER , DEPT_NM AS DEPARTMENT , POS_NM AS POSITION"
+				+ " , HIRE_DT AS HIRE_DATE , SAL_AMT AS SALARY , STS_CD AS STATUS FROM HRM_EMP"
+				+ " WHERE CO_ID = ? AND USE_FLG = 'Y' ORDER BY EMP_ID",
+				selectEmployees(EnumSet.allOf(EmployeeField.class)));
+	}
+
+	private static String selectEmployees(Set<EmployeeField> fields) throws Exception {
+		Configuration configuration = new Configuration();
+		String resource = "mapper/EmployeeMapper.xml";
+		try (InputStream mapper = Resources.getResourceAsStream(resource)) {
+			new XMLMapperBuilder(mapper, configuration, resource, configuration.getSqlFragments()).parse();
+		}
+		String sql = configuration.getMappedStatement(SELECT_EMPLOYEES)
+				.getBoundSql(Map.of("coId", "T0001", "fields", fields))
+				.getSql();
+		return sql.replaceAll("\\s+", " ").trim();
+	}
+}
@@ -0,0 +1,45 @@
+package com.clt.erp.hrm.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.clt.erp.common.security.Permission;
+
+class RequirePermissionsTests {
+
+	private final PermissionJwtAuthenticationConverter converter = new PermissionJwtAuthenticationConverter();
+
+	@Test
+	void grantsOnlyWhenEveryRequiredBitIsSet() {
+		RequirePermissions read = RequirePermissions.of(Permission.HRM_EMPLOYEE_READ);
+		RequirePermissions readWrite = RequirePermissions.of(Permission.HRM_EMPLOYEE_READ,
+				Permission.HRM_EMPLOYEE_WRITE);
+		Authentication reader = converter.convert(jwt(Permission.HRM_EMPLOYEE_READ.mask()));
+
+		assertTrue(read.authorize(() -> reader, null).isGranted());
+		assertFalse(readWrite.authorize(() -> reader, null).isGranted());
+	}
+
+	@Test
+	void tokensWithoutPermissionClaimAreDenied() {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256").subject("CLT::admin")
+				.issuedAt(Instant.now()).build();
+
+		assertFalse(RequirePermissions.of(Permission.HRM_EMPLOYEE_READ)
+				.authorize(() -> converter.convert(jwt), null).isGranted());
+		assertFalse(RequirePermissions.of(Permission.HRM_EMPLOYEE_READ)
+				.authorize(() -> new JwtAuthenticationToken(jwt(-1L)), null).isGranted());
+	}
+
+	private static Jwt jwt(long permissions) {
+		return Jwt.withTokenValue("token").header("alg", "RS256").subject("CLT::admin")
+				.claim(Permission.CLAIM, permissions).issuedAt(Instant.now()).build();
+	}
+}
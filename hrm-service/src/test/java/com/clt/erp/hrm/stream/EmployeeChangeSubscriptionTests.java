@@ -0,0 +1,119 @@
+package com.clt.erp.hrm.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.clt.erp.hrm.config.EmployeeStreamProperties;
+import com.clt.erp.hrm.service.EmployeeService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+class EmployeeChangeSubscriptionTests {
+
+	@Test
+	void slowClientGetsResyncInsteadOfBacklog() throws Exception {
+		RecordingEmitter emitter = new RecordingEmitter();
+		EmployeeChangeSubscription subscription = new EmployeeChangeSubscription(emitter, 2, Duration.ofMinutes(1),
+				ended -> {});
+		subscription.start();
+		assertEquals("ready", emitter.next());
+
+		// the writer blocks on the first change, the queue holds two more, the fourth overflows
+		emitter.blockWrites();
+		assertTrue(subscription.offer("{\"id\":1}"));
+		assertEquals("employee {\"id\":1}", emitter.next());
+		assertTrue(subscription.offer("{\"id\":2}"));
+		assertTrue(subscription.offer("{\"id\":3}"));
+		assertFalse(subscription.offer("{\"id\":4}"));
+		emitter.unblockWrites();
+
+		assertEquals("resync", emitter.next());
+		assertTrue(subscription.offer("{\"id\":5}"));
+		assertEquals("employee {\"id\":5}", emitter.next());
+		assertTrue(subscription.close());
+		assertFalse(subscription.close());
+	}
+
+	@Test
+	void failedSendReleasesTheConnection() throws Exception {
+		EmployeeStreamProperties properties = new EmployeeStreamProperties();
+		properties.setHeartbeatInterval(Duration.ofMillis(20));
+		EmployeeChangeHub hub = new EmployeeChangeHub(mock(EmployeeService.class), JsonMapper.builder().build(),
+				properties, new SimpleMeterRegistry());
+		try {
+			SseEmitter emitter = hub.subscribe("T0001");
+			assertEquals(1, hub.getConnections());
+
+			// completed outside the container: no completion callback, the next heartbeat send fails
+			emitter.complete();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (hub.getConnections() != 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, hub.getConnections());
+		} finally {
+			hub.close();
+		}
+	}
+
+	/**
+	 * Records "event data" per send; writes can be held to simulate a client that stopped reading.
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+		private volatile CountDownLatch writable = new CountDownLatch(0);
+
+		void blockWrites() {
+			writable = new CountDownLatch(1);
+		}
+
+		void unblockWrites() {
+			writable.countDown();
+		}
+
+		String next() throws InterruptedException {
+			return sent.poll(5, TimeUnit.SECONDS);
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			StringBuilder text = new StringBuilder();
+			for (DataWithMediaType part : builder.build()) {
+				text.append(part.getData());
+			}
+			String event = null;
+			String data = "";
+			for (String line : text.toString().split("\n")) {
+				if (line.startsWith("event:")) {
+					event = line.substring(6);
+				} else if (line.startsWith("data:") && line.length() > 5) {
+					data = " " + line.substring(5);
+				}
+			}
+			if (event == null) {
+				return;
+			}
+			CountDownLatch latch = writable;
+			sent.add(event + data);
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
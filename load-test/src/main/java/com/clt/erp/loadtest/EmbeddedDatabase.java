@@ -0,0 +1,169 @@
+package com.clt.erp.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Embedded Postgres (real server binaries, no Docker) with the schema and seed data the services expect.
+ *
+ * Seeds N tenants (T0001..), each with an ADMIN role holding all permissions, users user01.. and M employees.
+ * Employees are loaded with COPY so large seeds (1000 tenants x 1000 employees) take seconds.
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Marketing", "Finance", "HR", "Operations"};
+    private static final String[] POSITIONS = {"Engineer", "Manager", "Analyst", "Specialist", "Director"};
+    private static final String[] STATUSES = {"ACTIVE", "ACTIVE", "ACTIVE", "INACTIVE", "ON_LEAVE"};
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedDatabase start(int port, Path dataDirectory) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setPort(port)
+                .setDataDirectory(dataDirectory)
+                .setCleanDataDirectory(true)
+                .start();
+        return new EmbeddedDatabase(postgres);
+    }
+
+    public String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    /**
+     * Creates the tables auth-service reads (schema.sql). Tables owned by a service, such as HRM_EMP or ADM_ROLE_PERM,
+     * come from that service's migrations when it starts.
+     */
+    public void createSchema() throws IOException, SQLException {
+        String ddl;
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream("/schema.sql")) {
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+        }
+    }
+
+    /**
+     * @return the seeded users as login names (CO_ID::USR_ID), in tenant order
+     */
+    public List<String> seed(LoadTestConfig.Seed seed) throws SQLException, IOException {
+        String passwordHash = new BCryptPasswordEncoder().encode(seed.password());
+        List<String> usernames = new ArrayList<>();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement company = connection.prepareStatement(
+                    "INSERT INTO ADM_COMPANY (CO_ID, CO_NM, TM_ZN, USE_FLG) VALUES (?, ?, 'UTC', 'Y')");
+                    PreparedStatement role = connection.prepareStatement(
+                            "INSERT INTO ADM_ROLE (CO_ID, ROLE_ID, ROLE_NM) VALUES (?, 'ADMIN', 'Administrator')");
+                    PreparedStatement permissions = connection.prepareStatement(
+                            "INSERT INTO ADM_ROLE_PERM (CO_ID, ROLE_ID, PERM_CD)"
+                                    + " SELECT ?, 'ADMIN', PERM_CD"
+                                    + " FROM (VALUES ('HRM_EMPLOYEE_READ'), ('HRM_EMPLOYEE_WRITE'), ('ADM_TOKEN_REVOKE'))"
+                                    + " AS perm (PERM_CD)");
+                    PreparedStatement user = connection.prepareStatement(
+                            "INSERT INTO ADM_USR (CO_ID, USR_ID, USR_NM, USR_EML, USE_FLG, USR_PWD, ROLE_ID,"
+                                    + " LANG_VAL, SYS_MOD_VAL, DT_FMT_VAL, SYS_COLR_VAL)"
+                                    + " VALUES (?, ?, ?, ?, 'Y', ?, 'ADMIN', 'en', 'light', 'yyyy-MM-dd', '#1677ff')")) {
+                for (int t = 1; t <= seed.tenants(); t++) {
+                    String coId = tenantId(t);
+                    company.setString(1, coId);
+                    company.setString(2, "Load Test Company " + t);
+                    company.addBatch();
+                    role.setString(1, coId);
+                    role.addBatch();
+                    permissions.setString(1, coId);
+                    permissions.addBatch();
+                    for (int u = 1; u <= seed.usersPerTenant(); u++) {
+                        String usrId = String.format("user%02d", u);
+                        user.setString(1, coId);
+                        user.setString(2, usrId);
+                        user.setString(3, "User " + u + " of " + coId);
+                        user.setString(4, usrId + "@" + coId.toLowerCase() + ".example.com");
+                        user.setString(5, passwordHash);
+                        user.addBatch();
+                        usernames.add(coId + "::" + usrId);
+                    }
+                }
+                company.executeBatch();
+                role.executeBatch();
+                permissions.executeBatch();
+                user.executeBatch();
+            }
+            copyEmployees(connection, seed);
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        return usernames;
+    }
+
+    private void copyEmployees(Connection connection, LoadTestConfig.Seed seed) throws SQLException, IOException {
+        String copy = "COPY HRM_EMP (CO_ID, EMP_ID, EMP_CD, FIRST_NM, LAST_NM, EML, PHN_NO, DEPT_NM, POS_NM,"
+                + " HIRE_DT, SAL_AMT, STS_CD) FROM STDIN WITH (FORMAT csv)";
+        LocalDate firstHire = LocalDate.of(2010, 1, 1);
+        for (int t = 1; t <= seed.tenants(); t++) {
+            String coId = tenantId(t);
+            StringBuilder rows = new StringBuilder(seed.employeesPerTenant() * 128);
+            for (int e = 1; e <= seed.employeesPerTenant(); e++) {
+                rows.append(coId).append(',')
+                        .append(e).append(',')
+                        .append(String.format("EMP%06d", e)).append(',')
+                        .append("First").append(e).append(',')
+                        .append("Last").append(e).append(',')
+                        .append("emp").append(e).append('@').append(coId.toLowerCase()).append(".example.com,")
+                        .append("+1-555-").append(1000 + e % 9000).append(',')
+                        .append(DEPARTMENTS[e % DEPARTMENTS.length]).append(',')
+                        .append(POSITIONS[e % POSITIONS.length]).append(',')
+                        .append(firstHire.plusDays(e % 5000)).append(',')
+                        .append(BigDecimal.valueOf(40000 + (e % 600) * 100L, 0).setScale(2)).append(',')
+                        .append(STATUSES[e % STATUSES.length]).append('\n');
+            }
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copy, new StringReader(rows.toString()));
+        }
+    }
+
+    /**
+     * Updates one employee in its own transaction (StreamProbe).
+     */
+    public void touchEmployee(String coId, long empId) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE HRM_EMP SET SAL_AMT = SAL_AMT + 1 WHERE CO_ID = ? AND EMP_ID = ?")) {
+            update.setString(1, coId);
+            update.setLong(2, empId);
+            update.executeUpdate();
+        }
+    }
+
+    static String tenantId(int index) {
+        return String.format("T%04d", index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,165 @@
+package com.clt.erp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one load profile against the gateway with one virtual thread per virtual user.
+ *
+ * Closed model (rate = 0): each user sends the next request as soon as the previous one is answered.
+ * Open model (rate > 0): each user sends on a fixed schedule (rate / concurrency per user) and latency is
+ * measured from the scheduled send time, so a slow server shows up as latency instead of fewer requests
+ * (no coordinated omission).
+ */
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String gatewayBaseUrl;
+    private final List<RouteStats> routes;
+    private final List<String> tokens;
+    private final int totalWeight;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    public LoadDriver(String gatewayBaseUrl, List<LoadTestConfig.Route> routes, List<String> tokens) {
+        this.gatewayBaseUrl = gatewayBaseUrl;
+        this.routes = routes.stream().map(RouteStats::new).toList();
+        this.tokens = tokens;
+        this.totalWeight = routes.stream().mapToInt(LoadTestConfig.Route::weight).sum();
+    }
+
+    public List<RouteStats> routes() {
+        return routes;
+    }
+
+    /**
+     * Sends one request per route until each answers 2xx, i.e. the gateway has discovered hrm-service.
+     */
+    public void awaitRoutable(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (RouteStats stats : routes) {
+            int status = -1;
+            while (System.nanoTime() < deadline) {
+                try {
+                    status = httpClient.send(request(stats.route(), tokens.get(0)),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                if (status / 100 == 2) {
+                    break;
+                }
+                Thread.sleep(1000);
+            }
+            if (status / 100 != 2) {
+                throw new IllegalStateException("Route " + stats.route().name() + " not routable (last status "
+                        + status + ")");
+            }
+        }
+    }
+
+    /**
+     * Runs warmup (discarded) then the measured phase.
+     *
+     * @return the measured wall-clock duration
+     */
+    public Duration run(LoadTestConfig.Profile profile) throws InterruptedException {
+        System.out.printf("Warmup  %s: %d users, %s%n", profile.name(), profile.concurrency(), profile.warmup());
+        phase(profile, profile.warmup());
+        routes.forEach(RouteStats::reset);
+
+        System.out.printf("Measure %s: %d users, rate=%s, %s%n", profile.name(), profile.concurrency(),
+                profile.rate() > 0 ? profile.rate() + "/s" : "closed", profile.duration());
+        long start = System.nanoTime();
+        phase(profile, profile.duration());
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void phase(LoadTestConfig.Profile profile, Duration duration) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        // Per-user interval for the open model; 0 = closed model
+        long intervalNanos = profile.rate() > 0
+                ? TimeUnit.SECONDS.toNanos(profile.concurrency()) / profile.rate()
+                : 0;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < profile.concurrency(); u++) {
+                String token = tokens.get(u % tokens.size());
+                // Spread users over the first interval so they do not fire in lockstep
+                long offset = intervalNanos > 0 ? intervalNanos * u / profile.concurrency() : 0;
+                users.submit(() -> user(token, end, intervalNanos, offset));
+            }
+            users.shutdown();
+            if (!users.awaitTermination(duration.toNanos() + REQUEST_TIMEOUT.toNanos() * 2, TimeUnit.NANOSECONDS)) {
+                users.shutdownNow();
+            }
+        }
+    }
+
+    private void user(String token, long end, long intervalNanos, long offsetNanos) {
+        long next = System.nanoTime() + offsetNanos;
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                next = System.nanoTime();
+            }
+            if (next >= end || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            RouteStats stats = pick();
+            String status;
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = httpClient.send(request(stats.route(), token),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                status = Integer.toString(response.statusCode());
+                success = response.statusCode() / 100 == 2;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                status = e.getClass().getSimpleName();
+                success = false;
+            }
+            stats.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - next), status, success);
+            next += intervalNanos;
+        }
+    }
+
+    private RouteStats pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (RouteStats stats : routes) {
+            roll -= stats.route().weight();
+            if (roll < 0) {
+                return stats;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    private HttpRequest request(LoadTestConfig.Route route, String token) {
+        return HttpRequest.newBuilder(URI.create(gatewayBaseUrl + route.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", route.accept())
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.clt.erp.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per-route throughput and latency percentiles of a measured phase, printed as a table and written as
+ * <work-dir>/reports/<profile>-<timestamp>.json (machine readable, for comparing runs).
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestConfig.Profile profile;
+    private final LoadTestConfig.Seed seed;
+    private final Duration elapsed;
+    private final List<RouteStats> routes;
+
+    public LoadReport(LoadTestConfig.Profile profile, LoadTestConfig.Seed seed, Duration elapsed,
+            List<RouteStats> routes) {
+        this.profile = profile;
+        this.seed = seed;
+        this.elapsed = elapsed;
+        this.routes = routes;
+    }
+
+    public void print() {
+        double seconds = elapsed.toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("Profile %s: %d users, rate=%s, %.1fs measured, %d tenants x %d employees%n",
+                profile.name(), profile.concurrency(), profile.rate() > 0 ? profile.rate() + "/s" : "closed",
+                seconds, seed.tenants(), seed.employeesPerTenant());
+        String format = "%-20s %9s %8s %9s %9s %9s %9s %9s %9s%n";
+        System.out.printf(format, "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (RouteStats stats : routes) {
+            Histogram latency = stats.latency().copy();
+            total.add(latency);
+            totalErrors += stats.errors();
+            printRow(format, stats.route().name(), latency, stats.errors(), seconds);
+        }
+        printRow(format, "TOTAL", total, totalErrors, seconds);
+        for (RouteStats stats : routes) {
+            if (stats.errors() > 0) {
+                System.out.printf("  %s statuses: %s%n", stats.route().name(), stats.statuses());
+            }
+        }
+    }
+
+    private void printRow(String format, String name, Histogram latency, long errors, double seconds) {
+        System.out.printf(format, name, latency.getTotalCount(), errors,
+                String.format("%.1f", latency.getTotalCount() / seconds),
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    public Path write(Path directory) throws IOException {
+        double seconds = elapsed.toNanos() / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", profile.name());
+        report.put("timestamp", Instant.now().toString());
+        report.put("concurrency", profile.concurrency());
+        report.put("targetRate", profile.rate());
+        report.put("durationSeconds", seconds);
+        report.put("tenants", seed.tenants());
+        report.put("employeesPerTenant", seed.employeesPerTenant());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (RouteStats stats : routes) {
+            Histogram latency = stats.latency();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("route", stats.route().name());
+            row.put("path", stats.route().path());
+            row.put("requests", latency.getTotalCount());
+            row.put("errors", stats.errors());
+            row.put("throughput", latency.getTotalCount() / seconds);
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double p : PERCENTILES) {
+                percentiles.put(p == Math.rint(p) ? "p" + (int) p : "p" + p, latency.getValueAtPercentile(p) / 1000.0);
+            }
+            percentiles.put("max", latency.getMaxValue() / 1000.0);
+            row.put("latencyMs", percentiles);
+            row.put("statuses", stats.statuses());
+            rows.add(row);
+        }
+        report.put("routes", rows);
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve(profile.name() + "-" + System.currentTimeMillis() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
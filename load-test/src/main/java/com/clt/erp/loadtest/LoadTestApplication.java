@@ -0,0 +1,84 @@
+package com.clt.erp.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * End-to-end load test: gateway -> hrm-service -> Postgres on a single machine.
+ *
+ * 1. Embedded Postgres with the tables the services do not migrate themselves
+ * 2. service-registry, auth-service, hrm-service, api-gateway from their boot jars (applying their migrations),
+ *    then seed data (N tenants, M employees each)
+ * 3. One access token per seeded user through the real OAuth2 login flow
+ * 4. Warmup + measured phase of the selected profile; per-route p50/p99 and throughput
+ * 5. Optionally, N open event streams and the push latency of employee updates (StreamProbe)
+ * 6. Optionally, how fast a token revocation reaches api-gateway and hrm-service (RevocationProbe)
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        Path workDir = config.workDir();
+        Files.createDirectories(workDir);
+        List<LoadTestConfig.Service> services = config.services();
+        LoadTestConfig.Seed seed = config.seed();
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(config.dbPort(), workDir.resolve("pgdata"));
+                ServiceLauncher launcher = new ServiceLauncher(workDir, database.jdbcUrl())) {
+            // Stop the services even when the run is interrupted (Ctrl+C)
+            Thread shutdown = new Thread(launcher::close);
+            Runtime.getRuntime().addShutdownHook(shutdown);
+
+            database.createSchema();
+            // The services apply their migrations (e.g. HRM_EMP) at startup, so seed once they are up
+            launcher.startAll(services);
+
+            long seedStart = System.nanoTime();
+            List<String> usernames = database.seed(seed);
+            System.out.printf("Seeded %d tenants, %d users, %d employees in %d ms%n", seed.tenants(), usernames.size(),
+                    (long) seed.tenants() * seed.employeesPerTenant(), (System.nanoTime() - seedStart) / 1_000_000);
+
+            String authUrl = baseUrl(services, "auth-service");
+            long mintStart = System.nanoTime();
+            List<String> tokens = new TokenMinter(authUrl, config.tokenFlow(), seed.password()).mintAll(usernames);
+            System.out.printf("Minted %d tokens in %d ms%n", tokens.size(), (System.nanoTime() - mintStart) / 1_000_000);
+
+            LoadDriver driver = new LoadDriver(baseUrl(services, "api-gateway"), config.routes(), tokens);
+            driver.awaitRoutable(Duration.ofMinutes(2));
+            LoadTestConfig.Profile profile = config.profile();
+            Duration elapsed = driver.run(profile);
+
+            LoadReport report = new LoadReport(profile, seed, elapsed, driver.routes());
+            report.print();
+            System.out.println("Report: " + report.write(workDir.resolve("reports")));
+
+            LoadTestConfig.Stream stream = config.stream();
+            if (stream.connections() > 0) {
+                try (StreamProbe probe = new StreamProbe(baseUrl(services, "api-gateway"))) {
+                    probe.open(usernames, tokens, stream.connections(), stream.timeout());
+                    probe.measure(database, seed, stream.updatesPerTenant(), stream.timeout())
+                            .forEach(System.out::println);
+                }
+            }
+
+            LoadTestConfig.Revocation revocation = config.revocation();
+            if (revocation.enabled()) {
+                new RevocationProbe(authUrl, baseUrl(services, "api-gateway"), baseUrl(services, "hrm-service"))
+                        .measure(usernames, tokens, revocation.timeout())
+                        .forEach(System.out::println);
+            }
+
+            Runtime.getRuntime().removeShutdownHook(shutdown);
+        }
+    }
+
+    private static String baseUrl(List<LoadTestConfig.Service> services, String id) {
+        return services.stream()
+                .filter(service -> service.id().equals(id))
+                .findFirst()
+                .map(LoadTestConfig.Service::baseUrl)
+                .orElseThrow(() -> new IllegalStateException("Service " + id + " is not configured"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.clt.erp.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Harness configuration: loadtest.properties from the classpath, then an optional file
+ * (-Dloadtest.config=path), then system properties. Later sources win.
+ */
+public class LoadTestConfig {
+
+    private static final String PREFIX = "loadtest.";
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static LoadTestConfig load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        String external = System.getProperty(PREFIX + "config");
+        if (external != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(external))) {
+                properties.load(reader);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith(PREFIX))
+                .forEach(key -> properties.setProperty(key, System.getProperty(key)));
+        return new LoadTestConfig(properties);
+    }
+
+    public Path workDir() {
+        return Path.of(get("work-dir", "build/load-test")).toAbsolutePath();
+    }
+
+    public int dbPort() {
+        return getInt("db.port", 54329);
+    }
+
+    public Seed seed() {
+        return new Seed(getInt("seed.tenants", 20), getInt("seed.users-per-tenant", 1),
+                getInt("seed.employees-per-tenant", 500), get("seed.password", "LoadTest#1"));
+    }
+
+    public TokenFlow tokenFlow() {
+        return new TokenFlow(get("token.client-id", "erp-frontend"),
+                get("token.redirect-uri", "http://localhost:3000/callback"),
+                getInt("token.concurrency", 8));
+    }
+
+    public List<Service> services() {
+        String defaultJvmArgs = get("service.jvm-args", "");
+        Duration startupTimeout = getDuration("service.startup-timeout", Duration.ofMinutes(3));
+        List<Service> services = new ArrayList<>();
+        for (String id : getList("services")) {
+            String key = "service." + id + ".";
+            services.add(new Service(id, Path.of(require(key + "jar")), getInt(key + "port", 0),
+                    get(key + "ready-path", "/"), split(get(key + "jvm-args", defaultJvmArgs), " "),
+                    startupTimeout));
+        }
+        return services;
+    }
+
+    public List<Route> routes() {
+        List<Route> routes = new ArrayList<>();
+        for (String name : getList("routes")) {
+            String key = "route." + name + ".";
+            routes.add(new Route(name, require(key + "path"), get(key + "accept", "application/json"),
+                    getInt(key + "weight", 1)));
+        }
+        return routes;
+    }
+
+    public Profile profile() {
+        String name = get("profile", "steady");
+        String key = "profile." + name + ".";
+        return new Profile(name, getInt(key + "concurrency", 10), getInt(key + "rate", 0),
+                getDuration(key + "warmup", Duration.ofSeconds(10)),
+                getDuration(key + "duration", Duration.ofSeconds(60)));
+    }
+
+    /**
+     * Event streams opened after the load phase; connections = 0 skips the stream probe.
+     */
+    public Stream stream() {
+        return new Stream(getInt("stream.connections", 0), getInt("stream.updates-per-tenant", 5),
+                getDuration("stream.timeout", Duration.ofSeconds(30)));
+    }
+
+    /**
+     * Revocation check after the load phase (RevocationProbe).
+     */
+    public Revocation revocation() {
+        return new Revocation(Boolean.parseBoolean(get("revocation.enabled", "false")),
+                getDuration("revocation.timeout", Duration.ofSeconds(30)));
+    }
+
+    private String get(String key, String defaultValue) {
+        return properties.getProperty(PREFIX + key, defaultValue).trim();
+    }
+
+    private String require(String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Missing property " + PREFIX + key);
+        }
+        return value.trim();
+    }
+
+    private int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(PREFIX + key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Durations as 30s, 2m, 500ms or plain seconds.
+     */
+    private Duration getDuration(String key, Duration defaultValue) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null) {
+            return defaultValue;
+        }
+        value = value.trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private List<String> getList(String key) {
+        return split(require(key), ",");
+    }
+
+    private static List<String> split(String value, String separator) {
+        return Arrays.stream(value.split(separator)).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    public record Seed(int tenants, int usersPerTenant, int employeesPerTenant, String password) {
+    }
+
+    public record TokenFlow(String clientId, String redirectUri, int concurrency) {
+    }
+
+    public record Service(String id, Path jar, int port, String readyPath, List<String> jvmArgs,
+            Duration startupTimeout) {
+
+        public String baseUrl() {
+            return "http://localhost:" + port;
+        }
+    }
+
+    public record Route(String name, String path, String accept, int weight) {
+    }
+
+    public record Stream(int connections, int updatesPerTenant, Duration timeout) {
+    }
+
+    public record Revocation(boolean enabled, Duration timeout) {
+    }
+
+    public record Profile(String name, int concurrency, int rate, Duration warmup, Duration duration) {
+    }
+}
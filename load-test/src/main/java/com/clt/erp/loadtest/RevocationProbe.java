@@ -0,0 +1,96 @@
+package com.clt.erp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revocation check after the load phase: revokes one seeded user ("sub") through auth-service's POST /revocations,
+ * with another user's token (seeded users hold ADM_TOKEN_REVOKE), then measures how long the revoked token keeps
+ * being accepted by api-gateway and by hrm-service directly. A token of another user must stay valid.
+ */
+public class RevocationProbe {
+
+    private static final String EMPLOYEES_PATH = "/api/hrm/employees?fields=id";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final String authBaseUrl;
+    private final String gatewayBaseUrl;
+    private final String hrmBaseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public RevocationProbe(String authBaseUrl, String gatewayBaseUrl, String hrmBaseUrl) {
+        this.authBaseUrl = authBaseUrl;
+        this.gatewayBaseUrl = gatewayBaseUrl;
+        this.hrmBaseUrl = hrmBaseUrl;
+    }
+
+    /**
+     * @param usernames seeded users (CO_ID::USR_ID), same order as tokens; at least two
+     * @return the report lines
+     */
+    public List<String> measure(List<String> usernames, List<String> tokens, Duration timeout) throws Exception {
+        List<String> lines = new ArrayList<>();
+        if (usernames.size() < 2) {
+            lines.add("Revocation probe: needs at least two seeded users, skipped");
+            return lines;
+        }
+        String adminToken = tokens.get(0);
+        String revokedUser = usernames.get(usernames.size() - 1);
+        String revokedToken = tokens.get(tokens.size() - 1);
+        if (status(gatewayBaseUrl, revokedToken) != 200) {
+            lines.add("Revocation probe: token of " + revokedUser + " rejected before revocation, skipped");
+            return lines;
+        }
+
+        HttpRequest revoke = HttpRequest.newBuilder(URI.create(authBaseUrl + "/revocations"))
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"type\":\"sub\",\"value\":\"" + revokedUser
+                        + "\",\"reason\":\"load test revocation probe\"}"))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(revoke, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            lines.add("Revocation probe: POST /revocations returned " + response.statusCode() + " " + response.body());
+            return lines;
+        }
+
+        long deadline = start + timeout.toNanos();
+        long gatewayMillis = -1;
+        long hrmMillis = -1;
+        while ((gatewayMillis < 0 || hrmMillis < 0) && System.nanoTime() < deadline) {
+            if (gatewayMillis < 0 && status(gatewayBaseUrl, revokedToken) == 401) {
+                gatewayMillis = (System.nanoTime() - start) / 1_000_000;
+            }
+            if (hrmMillis < 0 && status(hrmBaseUrl, revokedToken) == 401) {
+                hrmMillis = (System.nanoTime() - start) / 1_000_000;
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        lines.add(String.format("Revocation probe: revoked %s, rejected by api-gateway after %s, by hrm-service after %s",
+                revokedUser, millis(gatewayMillis, timeout), millis(hrmMillis, timeout)));
+        lines.add("Revocation probe: token of another user " + (status(gatewayBaseUrl, adminToken) == 200
+                ? "still accepted" : "REJECTED"));
+        return lines;
+    }
+
+    private int status(String baseUrl, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + EMPLOYEES_PATH))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String millis(long millis, Duration timeout) {
+        return millis < 0 ? "NOT within " + timeout.toSeconds() + " s" : millis + " ms";
+    }
+}
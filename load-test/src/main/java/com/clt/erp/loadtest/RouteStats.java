@@ -0,0 +1,65 @@
+package com.clt.erp.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits, up to 1 minute) and status counts of one route.
+ */
+public class RouteStats {
+
+    private static final long MAX_TRACKABLE_MICROS = 60_000_000L;
+
+    private final LoadTestConfig.Route route;
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    public RouteStats(LoadTestConfig.Route route) {
+        this.route = route;
+    }
+
+    public LoadTestConfig.Route route() {
+        return route;
+    }
+
+    /**
+     * @param status HTTP status, or an exception name when no response was received
+     */
+    public void record(long latencyMicros, String status, boolean success) {
+        latency.recordValue(Math.min(Math.max(latencyMicros, 1), MAX_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latency.reset();
+        statuses.clear();
+        errors.reset();
+    }
+
+    public Histogram latency() {
+        return latency;
+    }
+
+    public long count() {
+        return latency.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public Map<String, Long> statuses() {
+        Map<String, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,141 @@
+package com.clt.erp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the services as separate JVMs from their boot jars (they run on different Spring Boot
+ * generations and cannot share one JVM) and points them at the embedded database, the local
+ * registry and the local auth-service.
+ *
+ * Output of each service goes to <work-dir>/logs/<service>.log. Services are stopped in reverse order.
+ */
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final String REGISTRY = "service-registry";
+    private static final String AUTH = "auth-service";
+
+    private final Path workDir;
+    private final String jdbcUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final Deque<Process> processes = new ArrayDeque<>();
+
+    public ServiceLauncher(Path workDir, String jdbcUrl) {
+        this.workDir = workDir;
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    public void startAll(List<LoadTestConfig.Service> services) throws IOException, InterruptedException {
+        Files.createDirectories(workDir.resolve("logs"));
+        String registryUrl = find(services, REGISTRY).baseUrl() + "/eureka/";
+        String issuerUri = find(services, AUTH).baseUrl();
+        for (LoadTestConfig.Service service : services) {
+            start(service, registryUrl, issuerUri);
+            awaitReady(service);
+        }
+    }
+
+    private void start(LoadTestConfig.Service service, String registryUrl, String issuerUri) throws IOException {
+        if (!Files.isRegularFile(service.jar())) {
+            throw new IllegalStateException("Boot jar not found for " + service.id() + ": " + service.jar());
+        }
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(service.jvmArgs());
+        command.add("-jar");
+        command.add(service.jar().toString());
+        command.add("--server.port=" + service.port());
+        command.addAll(overrides(service, registryUrl, issuerUri));
+
+        Path log = workDir.resolve("logs").resolve(service.id() + ".log");
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.push(process);
+        System.out.printf("Started %-16s pid=%d port=%d log=%s%n", service.id(), process.pid(), service.port(), log);
+    }
+
+    /**
+     * Replaces the dev environment settings (shared DB, fixed issuer/registry) with the local stand-ins.
+     */
+    private List<String> overrides(LoadTestConfig.Service service, String registryUrl, String issuerUri) {
+        List<String> args = new ArrayList<>();
+        // Registry and clients with short leases and fetch intervals, so the gateway sees instances come and go
+        // within seconds (application-failover.properties of each service)
+        args.add("--spring.profiles.active=failover");
+        if (!REGISTRY.equals(service.id())) {
+            args.add("--eureka.client.service-url.defaultZone=" + registryUrl);
+            args.add("--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuerUri);
+            args.add("--spring.datasource.url=" + jdbcUrl);
+        }
+        if (AUTH.equals(service.id())) {
+            args.add("--oauth2.server.issuer-uri=" + issuerUri);
+            args.add("--spring.security.oauth2.authorizationserver.jwt.issuer-uri=" + issuerUri);
+            args.add("--jwt.key-pair.path=" + workDir.resolve("keys/jwt-keypair.pem"));
+        }
+        return args;
+    }
+
+    private void awaitReady(LoadTestConfig.Service service) throws InterruptedException {
+        URI uri = URI.create(service.baseUrl() + service.readyPath());
+        long deadline = System.nanoTime() + service.startupTimeout().toNanos();
+        Process process = processes.peek();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.id() + " exited with code " + process.exitValue()
+                        + ", see logs/" + service.id() + ".log");
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) {
+                    System.out.printf("Ready   %-16s (%s -> %d)%n", service.id(), uri, response.statusCode());
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(service.id() + " not ready within " + service.startupTimeout());
+    }
+
+    private static LoadTestConfig.Service find(List<LoadTestConfig.Service> services, String id) {
+        return services.stream()
+                .filter(service -> service.id().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Service " + id + " is not configured"));
+    }
+
+    @Override
+    public void close() {
+        while (!processes.isEmpty()) {
+            Process process = processes.pop();
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
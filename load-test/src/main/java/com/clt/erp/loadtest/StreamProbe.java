@@ -0,0 +1,188 @@
+package com.clt.erp.loadtest;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Push check of GET /employees/stream through the gateway: opens N event streams (spread over the seeded
+ * users, so over tenants), updates a few employees per tenant in the database and measures the time from the
+ * update to the change arriving on each stream of that tenant. Streams of other tenants must see nothing.
+ */
+public class StreamProbe implements AutoCloseable {
+
+    private static final String STREAM_PATH = "/api/hrm/employees/stream";
+    private static final Pattern EMPLOYEE_ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final String gatewayBaseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<InputStream> bodies = Collections.synchronizedList(new ArrayList<>());
+    /** Open streams per tenant */
+    private final Map<String, AtomicInteger> streamsByTenant = new ConcurrentHashMap<>();
+    /** Update start (nanoTime) per "CO_ID:EMP_ID" */
+    private final Map<String, Long> updatedAt = new ConcurrentHashMap<>();
+    private final List<Long> latenciesMicros = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger foreign = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public StreamProbe(String gatewayBaseUrl) {
+        this.gatewayBaseUrl = gatewayBaseUrl;
+    }
+
+    /**
+     * Opens the streams and waits for their "ready" event.
+     *
+     * @param usernames seeded users (CO_ID::USR_ID), same order as tokens
+     */
+    public void open(List<String> usernames, List<String> tokens, int connections, Duration timeout)
+            throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            String coId = usernames.get(i % usernames.size()).split("::")[0];
+            String token = tokens.get(i % tokens.size());
+            readers.submit(() -> read(coId, token, ready));
+        }
+        if (!ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.printf("Stream probe: only %d of %d streams ready (%d failed)%n",
+                    connections - ready.getCount(), connections, failed.get());
+        }
+    }
+
+    /**
+     * Updates employees of each tenant with open streams, one at a time. Tenants update different employee
+     * ids, so a change pushed to another tenant's stream is counted as foreign.
+     *
+     * @return the report lines
+     */
+    public List<String> measure(EmbeddedDatabase database, LoadTestConfig.Seed seed, int updatesPerTenant,
+            Duration timeout) throws Exception {
+        long expected = 0;
+        int ordinal = 0;
+        for (Map.Entry<String, AtomicInteger> tenant : streamsByTenant.entrySet()) {
+            for (int e = 0; e < updatesPerTenant; e++) {
+                long empId = 1 + (ordinal * updatesPerTenant + e) % seed.employeesPerTenant();
+                updatedAt.put(tenant.getKey() + ":" + empId, System.nanoTime());
+                database.touchEmployee(tenant.getKey(), empId);
+                expected += tenant.getValue().get();
+            }
+            ordinal++;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (latenciesMicros.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        List<Long> sorted;
+        synchronized (latenciesMicros) {
+            sorted = new ArrayList<>(latenciesMicros);
+        }
+        Collections.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("streams", streamsByTenant.values().stream().mapToInt(AtomicInteger::get).sum());
+        summary.put("tenants", streamsByTenant.size());
+        summary.put("updates", streamsByTenant.size() * updatesPerTenant);
+        summary.put("delivered", sorted.size() + "/" + expected);
+        summary.put("foreign", foreign.get());
+        summary.put("failed", failed.get());
+        List<String> lines = new ArrayList<>();
+        lines.add("Stream probe " + summary);
+        if (!sorted.isEmpty()) {
+            lines.add(String.format("Stream push latency: p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0,
+                    sorted.get(sorted.size() - 1) / 1000.0));
+        }
+        return lines;
+    }
+
+    private void read(String coId, String token, CountDownLatch ready) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayBaseUrl + STREAM_PATH))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        boolean opened = false;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request,
+                    HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                throw new IllegalStateException("status " + response.statusCode());
+            }
+            bodies.add(response.body());
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+            String event = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:") && "ready".equals(event) && !opened) {
+                    opened = true;
+                    streamsByTenant.computeIfAbsent(coId, key -> new AtomicInteger()).incrementAndGet();
+                    ready.countDown();
+                } else if (line.startsWith("data:") && "employee".equals(event)) {
+                    received(coId, line);
+                } else if (line.isEmpty()) {
+                    event = null;
+                }
+            }
+        } catch (Exception e) {
+            if (!opened) {
+                failed.incrementAndGet();
+                ready.countDown();
+            }
+        }
+    }
+
+    private void received(String coId, String data) {
+        long now = System.nanoTime();
+        Matcher id = EMPLOYEE_ID.matcher(data);
+        Long start = id.find() ? updatedAt.get(coId + ":" + id.group(1)) : null;
+        if (start == null) {
+            foreign.incrementAndGet();
+        } else {
+            latenciesMicros.add(TimeUnit.NANOSECONDS.toMicros(now - start));
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    @Override
+    public void close() {
+        synchronized (bodies) {
+            for (InputStream body : bodies) {
+                try {
+                    body.close();
+                } catch (Exception e) {
+                    // already closed by the server
+                }
+            }
+        }
+        readers.shutdownNow();
+    }
+}
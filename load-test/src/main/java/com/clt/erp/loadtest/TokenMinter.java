@@ -0,0 +1,198 @@
+package com.clt.erp.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Mints access tokens through the same flow the frontend uses, so token issuing, the user lookup
+ * and the token customizer are exercised for real:
+ * GET /oauth2/authorize (PKCE) -> GET /login -> POST /login -> GET /oauth2/authorize -> POST /oauth2/token
+ */
+public class TokenMinter {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String authBaseUrl;
+    private final LoadTestConfig.TokenFlow flow;
+    private final String password;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TokenMinter(String authBaseUrl, LoadTestConfig.TokenFlow flow, String password) {
+        this.authBaseUrl = authBaseUrl;
+        this.flow = flow;
+        this.password = password;
+    }
+
+    /**
+     * Logs in every user (bounded concurrency; password hashing dominates) and returns their access tokens.
+     */
+    public List<String> mintAll(List<String> usernames) throws Exception {
+        Semaphore permits = new Semaphore(flow.concurrency());
+        List<Future<String>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String username : usernames) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return mint(username);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<String> tokens = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            tokens.add(future.get());
+        }
+        return tokens;
+    }
+
+    public String mint(String username) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String verifier = randomUrlSafe(32);
+        String state = randomUrlSafe(16);
+
+        // 1. Authorization request: no session yet, auth-service saves the request and redirects to /login
+        String authorize = authBaseUrl + "/oauth2/authorize?" + form(Map.of(
+                "response_type", "code",
+                "client_id", flow.clientId(),
+                "scope", "openid profile email",
+                "redirect_uri", flow.redirectUri(),
+                "state", state,
+                "code_challenge", challenge(verifier),
+                "code_challenge_method", "S256"));
+        expectRedirect(client.send(get(authorize), HttpResponse.BodyHandlers.discarding()), "authorize");
+
+        // 2. Login page for the CSRF token
+        HttpResponse<String> loginPage = client.send(get(authBaseUrl + "/login"), HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF.matcher(loginPage.body());
+        if (!csrf.find()) {
+            throw new IllegalStateException("No CSRF token on the login page (HTTP " + loginPage.statusCode() + ")");
+        }
+
+        // 3. Form login; redirects back to the saved authorization request
+        Map<String, String> credentials = new LinkedHashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+        credentials.put("_csrf", csrf.group(1));
+        HttpResponse<Void> login = client.send(post(authBaseUrl + "/login", form(credentials)),
+                HttpResponse.BodyHandlers.discarding());
+        String savedRequest = expectRedirect(login, "login");
+        if (savedRequest.contains("error")) {
+            throw new IllegalStateException("Login failed for " + username);
+        }
+
+        // 4. Authorization request again, now authenticated: redirect to the client with the code
+        String callback = expectRedirect(client.send(get(resolve(savedRequest)), HttpResponse.BodyHandlers.discarding()),
+                "authorize (authenticated)");
+        String code = queryParameter(callback, "code");
+        if (code == null) {
+            throw new IllegalStateException("No authorization code for " + username + ": " + callback);
+        }
+
+        // 5. Token request
+        Map<String, String> tokenRequest = new LinkedHashMap<>();
+        tokenRequest.put("grant_type", "authorization_code");
+        tokenRequest.put("code", code);
+        tokenRequest.put("redirect_uri", flow.redirectUri());
+        tokenRequest.put("client_id", flow.clientId());
+        tokenRequest.put("code_verifier", verifier);
+        HttpResponse<String> token = client.send(post(authBaseUrl + "/oauth2/token", form(tokenRequest)),
+                HttpResponse.BodyHandlers.ofString());
+        if (token.statusCode() != 200) {
+            throw new IllegalStateException("Token request failed for " + username + ": HTTP " + token.statusCode()
+                    + " " + token.body());
+        }
+        JsonNode json = objectMapper.readTree(token.body());
+        return json.get("access_token").asText();
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private HttpRequest post(String uri, String formBody) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formBody))
+                .build();
+    }
+
+    private String resolve(String location) {
+        return location.startsWith("http") ? location : authBaseUrl + location;
+    }
+
+    private static String expectRedirect(HttpResponse<?> response, String step) {
+        return response.headers().firstValue("Location")
+                .filter(location -> response.statusCode() / 100 == 3)
+                .orElseThrow(() -> new IllegalStateException("Expected a redirect from " + step + " but got HTTP "
+                        + response.statusCode()));
+    }
+
+    private static String queryParameter(String uri, String name) {
+        String query = URI.create(uri).getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String form(Map<String, String> parameters) {
+        return parameters.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String randomUrlSafe(int bytes) {
+        byte[] buffer = new byte[bytes];
+        RANDOM.nextBytes(buffer);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer);
+    }
+
+    private static String challenge(String verifier) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(verifier.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- Minimal schema used by auth-service (AuthMapper); HRM_EMP comes from hrm-service's own migrations
+CREATE TABLE IF NOT EXISTS ADM_COMPANY (
+    CO_ID    VARCHAR(20)  NOT NULL PRIMARY KEY,
+    CO_NM    VARCHAR(200) NOT NULL,
+    TM_ZN    VARCHAR(50)  NOT NULL,
+    USE_FLG  CHAR(1)      NOT NULL DEFAULT 'Y'
+);
+
+CREATE TABLE IF NOT EXISTS ADM_ROLE (
+    CO_ID    VARCHAR(20)  NOT NULL,
+    ROLE_ID  VARCHAR(20)  NOT NULL,
+    ROLE_NM  VARCHAR(200) NOT NULL,
+    PRIMARY KEY (CO_ID, ROLE_ID)
+);
+
+CREATE TABLE IF NOT EXISTS ADM_USR (
+    CO_ID        VARCHAR(20)  NOT NULL,
+    USR_ID       VARCHAR(50)  NOT NULL,
+    USR_NM       VARCHAR(200) NOT NULL,
+    USR_EML      VARCHAR(200),
+    USE_FLG      CHAR(1)      NOT NULL DEFAULT 'Y',
+    USR_PWD      VARCHAR(100) NOT NULL,
+    ROLE_ID      VARCHAR(20)  NOT NULL,
+    LANG_VAL     VARCHAR(10),
+    SYS_MOD_VAL  VARCHAR(10),
+    DT_FMT_VAL   VARCHAR(20),
+    SYS_COLR_VAL VARCHAR(20),
+    CRE_DT       TIMESTAMP    NOT NULL DEFAULT now(),
+    UPD_DT       TIMESTAMP    NOT NULL DEFAULT now(),
+    PRIMARY KEY (CO_ID, USR_ID)
+);
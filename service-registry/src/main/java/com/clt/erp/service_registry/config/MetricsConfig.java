@@ -0,0 +1,36 @@
+package com.clt.erp.service_registry.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.clt.erp.service_registry.metrics.RegistryFetchMetricsFilter;
+import com.clt.erp.service_registry.metrics.RegistryMetrics;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registry metrics (erp.registry.*), exported through /actuator/prometheus like the services' metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public RegistryMetrics registryMetrics(PeerAwareInstanceRegistry registry, MeterRegistry meterRegistry) {
+        return new RegistryMetrics(registry, meterRegistry);
+    }
+
+    /**
+     * Runs just before Eureka's Jersey filter, which serves /eureka/* and ends the chain.
+     */
+    @Bean
+    public FilterRegistrationBean<RegistryFetchMetricsFilter> registryFetchMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RegistryFetchMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RegistryFetchMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/eureka/apps/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,60 @@
+package com.clt.erp.service_registry.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Time to serve registry fetches (GET /eureka/apps..., erp.registry.fetch), tagged by type:
+ * - full: the whole registry (first fetch of a client, or after its delta did not reconcile)
+ * - delta: changes since the client's previous fetch, the steady-state request of every client
+ * - app: one application or instance
+ * The Eureka endpoints are served by a Jersey filter rather than Spring MVC, so http.server.requests
+ * cannot tell these apart.
+ */
+public class RegistryFetchMetricsFilter extends OncePerRequestFilter {
+
+    private static final String APPS_PATH = "/eureka/apps";
+
+    private final MeterRegistry meterRegistry;
+
+    public RegistryFetchMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Timer.builder(RegistryMetrics.FETCH)
+                    .description("Registry fetches served")
+                    .tag("type", type(request.getRequestURI()))
+                    .tag("outcome", response.getStatus() < 400 ? "success" : "error")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String type(String uri) {
+        if (uri.endsWith("/delta")) {
+            return "delta";
+        }
+        return uri.equals(APPS_PATH) || uri.equals(APPS_PATH + "/") ? "full" : "app";
+    }
+}
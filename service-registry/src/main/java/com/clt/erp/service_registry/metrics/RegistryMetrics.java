@@ -0,0 +1,91 @@
+package com.clt.erp.service_registry.metrics;
+
+import java.util.Locale;
+
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registry state and instance churn, from the registry itself and from Spring Cloud's registry events:
+ * - erp.registry.instances (tag status): registered instances per status
+ * - erp.registry.instance.changes (tags service, change=registered|canceled): registrations, and cancellations
+ *   (deregistered on shutdown or evicted after a missed lease); replicated copies from peers are not counted
+ * - erp.registry.renews / erp.registry.renews.threshold: heartbeats in the last minute and the count below which
+ *   self-preservation stops evictions
+ * - erp.registry.self.preservation: 1 while evictions are suspended, i.e. dead instances stay registered
+ *   (always 0 when self-preservation is disabled, as in the failover profile)
+ */
+public class RegistryMetrics {
+
+    public static final String INSTANCES = "erp.registry.instances";
+    public static final String INSTANCE_CHANGES = "erp.registry.instance.changes";
+    public static final String RENEWS = "erp.registry.renews";
+    public static final String RENEWS_THRESHOLD = "erp.registry.renews.threshold";
+    public static final String SELF_PRESERVATION = "erp.registry.self.preservation";
+    /** Timer: registry fetches served (RegistryFetchMetricsFilter). Tags: type (full|delta|app), outcome */
+    public static final String FETCH = "erp.registry.fetch";
+
+    public static final String TAG_SERVICE = "service";
+    public static final String TAG_CHANGE = "change";
+
+    private final MeterRegistry meterRegistry;
+
+    public RegistryMetrics(PeerAwareInstanceRegistry registry, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (InstanceStatus status : InstanceStatus.values()) {
+            Gauge.builder(INSTANCES, registry, instances -> count(instances, status))
+                    .description("Instances registered with this registry")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder(RENEWS, registry, PeerAwareInstanceRegistry::getNumOfRenewsInLastMin)
+                .description("Lease renewals (heartbeats) received in the last minute")
+                .register(meterRegistry);
+        Gauge.builder(RENEWS_THRESHOLD, registry, PeerAwareInstanceRegistry::getNumOfRenewsPerMinThreshold)
+                .description("Renewals per minute below which self-preservation suspends evictions")
+                .register(meterRegistry);
+        Gauge.builder(SELF_PRESERVATION, registry,
+                        instances -> instances.isSelfPreservationModeEnabled() && !instances.isLeaseExpirationEnabled() ? 1 : 0)
+                .description("1 while self-preservation suspends the eviction of expired leases")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        if (!event.isReplication()) {
+            changes(event.getInstanceInfo().getAppName(), "registered").increment();
+        }
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        if (!event.isReplication()) {
+            changes(event.getAppName(), "canceled").increment();
+        }
+    }
+
+    private Counter changes(String appName, String change) {
+        return Counter.builder(INSTANCE_CHANGES)
+                .description("Instances registered with or removed from this registry")
+                .tag(TAG_SERVICE, appName.toLowerCase(Locale.ROOT))
+                .tag(TAG_CHANGE, change)
+                .register(meterRegistry);
+    }
+
+    private static long count(PeerAwareInstanceRegistry registry, InstanceStatus status) {
+        return registry.getApplications().getRegisteredApplications().stream()
+                .flatMap(application -> application.getInstances().stream())
+                .map(InstanceInfo::getStatus)
+                .filter(status::equals)
+                .count();
+    }
+}